@@ -1,10 +1,16 @@
 package com.milestonemania.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.milestonemania.model.id.TimeOrderedIdGenerator;
+import com.milestonemania.model.id.TimeOrderedIds;
+
 /**
  * Database configuration for the Milestone Mania application.
  */
@@ -13,5 +19,26 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories(basePackages = "com.milestonemania.repository")
 @EnableTransactionManagement
 public class DatabaseConfig {
-  // Additional database-specific beans can be added here if needed
+
+  /**
+   * The same generator the entities use, for IDs assigned outside JPA. Two instances with the
+   * same node ID can issue the same IDs, so the node ID has no default outside the dev profile.
+   */
+  @Bean
+  public TimeOrderedIds timeOrderedIds(@Value("${milestone-mania.ids.node-id:}") String nodeId) {
+    if (nodeId.isBlank()) {
+      throw new IllegalStateException(
+          "milestone-mania.ids.node-id (NODE_ID) must be set to a node ID between 0 and "
+              + TimeOrderedIds.MAX_NODE_ID
+              + " that no other running instance uses");
+    }
+    return TimeOrderedIds.forNode(Integer.parseInt(nodeId.trim()));
+  }
+
+  /** Hands this instance's node ID to the entity ID generator. */
+  @Bean
+  public HibernatePropertiesCustomizer timeOrderedIdCustomizer(TimeOrderedIds timeOrderedIds) {
+    return properties ->
+        properties.put(TimeOrderedIdGenerator.NODE_ID_SETTING, timeOrderedIds.nodeId());
+  }
 }
@@ -0,0 +1,11 @@
+package com.milestonemania.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as milestone catalog refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -0,0 +1,78 @@
+package com.milestonemania.importing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.service.importing.ImportResult;
+import com.milestonemania.service.importing.MilestoneImporter;
+
+/**
+ * Command-line entry point for bulk milestone imports.
+ * <p>
+ * Started with {@code --milestone-mania.milestone-import.file=<path>}, the application imports
+ * the CSV or NDJSON file once it is ready, reports the counts and throughput, and exits. Running
+ * the same command again after a failure resumes where the import stopped:
+ *
+ * <pre>
+ * java -jar milestone-mania-application.jar --spring.main.web-application-type=none \
+ *     --milestone-mania.milestone-import.file=milestones.ndjson
+ * </pre>
+ */
+@Component
+public class MilestoneImportCommand {
+
+  private static final Logger log = LoggerFactory.getLogger(MilestoneImportCommand.class);
+
+  private final MilestoneImporter milestoneImporter;
+  private final ConfigurableApplicationContext context;
+  private final String file;
+  private final boolean exitWhenDone;
+
+  public MilestoneImportCommand(
+      MilestoneImporter milestoneImporter,
+      ConfigurableApplicationContext context,
+      @Value("${milestone-mania.milestone-import.file:}") String file,
+      @Value("${milestone-mania.milestone-import.exit-when-done:true}") boolean exitWhenDone) {
+    this.milestoneImporter = milestoneImporter;
+    this.context = context;
+    this.file = file;
+    this.exitWhenDone = exitWhenDone;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void run() {
+    if (file.isBlank()) {
+      return;
+    }
+    log.info("Importing milestones from {}", file);
+    int exitCode = 0;
+    try {
+      ImportResult result = milestoneImporter.importFile(Path.of(file));
+      log.info(
+          "Imported {} records in {} ({} rows/s): {} new, {} duplicates, {} invalid{}",
+          result.read(),
+          result.elapsed(),
+          Math.round(result.rowsPerSecond()),
+          result.inserted(),
+          result.duplicates(),
+          result.invalid(),
+          result.resumedAt() > 0 ? ", resumed after record " + result.resumedAt() : "");
+    } catch (IOException | RuntimeException e) {
+      log.error("Milestone import from {} failed: {}", file, e.getMessage(), e);
+      exitCode = 1;
+    }
+    if (exitWhenDone) {
+      int code = exitCode;
+      System.exit(SpringApplication.exit(context, () -> code));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.milestonemania.provisioning;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.service.provisioning.GameProvisioner;
+import com.milestonemania.service.provisioning.ProvisioningResult;
+
+/**
+ * Command-line entry point for bulk game provisioning.
+ * <p>
+ * Started with {@code --milestone-mania.provisioning.games=<count>}, the application creates
+ * that many games once it is ready, appends the slugs of each committed chunk to
+ * {@code milestone-mania.provisioning.output} (one per line) if set, reports the throughput
+ * and exits. A run that fails part way leaves the slugs of the games it did create in the
+ * file. For a pure batch run, add {@code --spring.main.web-application-type=none}:
+ *
+ * <pre>
+ * java -jar milestone-mania-application.jar --spring.main.web-application-type=none \
+ *     --milestone-mania.provisioning.games=50000 --milestone-mania.provisioning.output=slugs.txt
+ * </pre>
+ */
+@Component
+public class GameProvisioningCommand {
+
+  private static final Logger log = LoggerFactory.getLogger(GameProvisioningCommand.class);
+
+  private final GameProvisioner gameProvisioner;
+  private final ConfigurableApplicationContext context;
+  private final int games;
+  private final String output;
+  private final boolean exitWhenDone;
+
+  public GameProvisioningCommand(
+      GameProvisioner gameProvisioner,
+      ConfigurableApplicationContext context,
+      @Value("${milestone-mania.provisioning.games:0}") int games,
+      @Value("${milestone-mania.provisioning.output:}") String output,
+      @Value("${milestone-mania.provisioning.exit-when-done:true}") boolean exitWhenDone) {
+    this.gameProvisioner = gameProvisioner;
+    this.context = context;
+    this.games = games;
+    this.output = output;
+    this.exitWhenDone = exitWhenDone;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void run() {
+    if (games <= 0) {
+      return;
+    }
+    log.info("Provisioning {} games", games);
+    int exitCode = 0;
+    try (BufferedWriter slugs =
+        output.isBlank()
+            ? null
+            : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+      ProvisioningResult result = gameProvisioner.provision(games, chunk -> write(slugs, chunk));
+      if (slugs != null) {
+        log.info("Wrote {} slugs to {}", result.games(), output);
+      }
+      log.info(
+          "Provisioned {} games in {} ({} games/s)",
+          result.games(),
+          result.elapsed(),
+          Math.round(result.gamesPerSecond()));
+    } catch (IOException | UncheckedIOException e) {
+      log.error("Could not write provisioned slugs to {}", output, e);
+      exitCode = 1;
+    } catch (RuntimeException e) {
+      log.error("Game provisioning failed: {}", e.getMessage(), e);
+      exitCode = 1;
+    }
+    if (exitWhenDone) {
+      int code = exitCode;
+      System.exit(SpringApplication.exit(context, () -> code));
+    }
+  }
+
+  /** Appends a committed chunk's slugs and flushes them, so they survive a later failure. */
+  private static void write(BufferedWriter slugs, List<String> chunk) {
+    if (slugs == null) {
+      return;
+    }
+    try {
+      for (String slug : chunk) {
+        slugs.write(slug);
+        slugs.newLine();
+      }
+      slugs.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
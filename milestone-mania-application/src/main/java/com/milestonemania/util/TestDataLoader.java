@@ -6,6 +6,7 @@ package com.milestonemania.util;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.model.entity.Tag;
 import com.milestonemania.repository.MilestoneRepository;
+import com.milestonemania.repository.TagRepository;
 
 /**
  * Loads test data on application startup for development and testing.
@@ -25,8 +28,83 @@ public class TestDataLoader {
 
   private static final Logger log = LoggerFactory.getLogger(TestDataLoader.class);
 
+  /** Test tags by name, each with the titles of the milestones carrying it. */
+  private static final Map<String, List<String>> TEST_TAGS =
+      Map.of(
+          "ai",
+          List.of(
+              "ChatGPT-4 Turbo Released",
+              "OpenAI GPT-4 Turbo",
+              "Meta Llama 3 Release",
+              "Microsoft Copilot for Microsoft 365",
+              "ChatGPT Reaches 100M Users",
+              "Google Bard Released",
+              "OpenAI GPT-4 Launch",
+              "Microsoft Bing AI",
+              "ChatGPT Public Release",
+              "GitHub Copilot Launch"),
+          "space",
+          List.of(
+              "SpaceX Starship Test Flight",
+              "NASA JWST First Images",
+              "SpaceX Crew Dragon Success",
+              "Mars Perseverance Landing",
+              "Ingenuity Mars Helicopter",
+              "Blue Origin Space Tourism",
+              "Virgin Galactic Space Flight",
+              "SpaceX Dragon Crew"),
+          "science",
+          List.of(
+              "NASA JWST First Images",
+              "Mars Perseverance Landing",
+              "Ingenuity Mars Helicopter",
+              "COVID-19 Vaccine Rollout",
+              "WHO Declares COVID-19 Pandemic",
+              "SpaceX Starship Test Flight"),
+          "apple",
+          List.of(
+              "Apple Vision Pro 2 Launch",
+              "Apple Vision Pro Launch",
+              "Apple iPhone 15 Launch",
+              "iPhone 14 Launch",
+              "Apple M1 Chip",
+              "Epic vs Apple Trial",
+              "iPhone 12 Launch"),
+          "finance",
+          List.of(
+              "Silicon Valley Bank Collapse",
+              "Tesla Stock Split",
+              "GameStop Stock Surge",
+              "Bitcoin Hits $60K",
+              "NFT Market Boom",
+              "Robinhood IPO",
+              "Dogecoin Surge",
+              "Zoom IPO Success",
+              "Tesla Joins S&P 500",
+              "Netflix Loses Subscribers"),
+          "politics",
+          List.of(
+              "Russia Invades Ukraine",
+              "Queen Elizabeth II Dies",
+              "Biden Inauguration",
+              "George Floyd Protests",
+              "TikTok Nearly Banned",
+              "US Election 2020"),
+          "social-media",
+          List.of(
+              "Threads App Launch",
+              "Twitter Rebrand to X",
+              "Elon Musk Buys Twitter",
+              "Instagram Reels Launch",
+              "Clubhouse App Popularity",
+              "TikTok Nearly Banned",
+              "Signal App Downloads Surge"),
+          "sports",
+          List.of("2024 Paris Olympics", "FIFA World Cup Qatar", "Tokyo Olympics"));
+
   @Bean
-  public ApplicationRunner loadTestData(MilestoneRepository milestoneRepository) {
+  public ApplicationRunner loadTestData(
+      MilestoneRepository milestoneRepository, TagRepository tagRepository) {
     return args -> {
       if (milestoneRepository.count() > 0) {
         log.info("Test data already exists, skipping data load");
@@ -36,6 +114,7 @@ public class TestDataLoader {
       log.info("Loading test milestone data...");
 
       List<Milestone> testMilestones = createTestMilestones();
+      assignTestTags(testMilestones, tagRepository);
       milestoneRepository.saveAll(testMilestones);
 
       log.info("Successfully loaded {} test milestones", testMilestones.size());
@@ -279,6 +358,17 @@ public class TestDataLoader {
             LocalDate.of(2020, 10, 23)));
   }
 
+  private void assignTestTags(List<Milestone> milestones, TagRepository tagRepository) {
+    TEST_TAGS.forEach(
+        (name, titles) -> {
+          Tag tag =
+              tagRepository.findByName(name).orElseGet(() -> tagRepository.save(new Tag(name)));
+          milestones.stream()
+              .filter(milestone -> titles.contains(milestone.getTitle()))
+              .forEach(milestone -> milestone.getTags().add(tag));
+        });
+  }
+
   private Milestone createMilestone(String title, String description, LocalDate date) {
     Milestone milestone = new Milestone();
     milestone.setTitle(title);
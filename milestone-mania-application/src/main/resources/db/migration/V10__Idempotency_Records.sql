@@ -0,0 +1,11 @@
+-- Create idempotency_records table (responses of requests made with an Idempotency-Key header)
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(100) NOT NULL,
+    endpoint VARCHAR(150) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(65535) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (idempotency_key, endpoint)
+);
+
+CREATE INDEX idx_idempotency_records_created_at ON idempotency_records(created_at);
@@ -0,0 +1,10 @@
+-- Create outbox_events table (game events written with their attempt change, until relayed)
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(20) NOT NULL,
+    game_slug VARCHAR(100) NOT NULL,
+    attempt_id BIGINT NOT NULL,
+    player_name VARCHAR(100),
+    attempt_count INTEGER NOT NULL,
+    occurred_at TIMESTAMP NOT NULL
+);
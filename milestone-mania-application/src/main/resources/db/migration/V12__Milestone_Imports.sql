@@ -0,0 +1,11 @@
+-- Hash of normalized title and date, to skip milestones that were imported before
+ALTER TABLE milestones ADD COLUMN content_hash BIGINT;
+
+CREATE INDEX idx_milestones_content_hash ON milestones(content_hash);
+
+-- Create import_checkpoints table (records processed per import source, for resuming)
+CREATE TABLE import_checkpoints (
+    source VARCHAR(255) PRIMARY KEY,
+    position BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
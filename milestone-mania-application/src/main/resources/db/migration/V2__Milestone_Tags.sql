@@ -0,0 +1,15 @@
+-- Create tags table
+CREATE TABLE tags (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+-- Create milestone_tags table (junction table)
+CREATE TABLE milestone_tags (
+    milestone_id BIGINT NOT NULL REFERENCES milestones(id) ON DELETE CASCADE,
+    tag_id BIGINT NOT NULL REFERENCES tags(id) ON DELETE CASCADE,
+    PRIMARY KEY (milestone_id, tag_id)
+);
+
+-- Tag lookups for the catalog's tag index rebuild
+CREATE INDEX idx_milestone_tags_tag_id ON milestone_tags(tag_id);
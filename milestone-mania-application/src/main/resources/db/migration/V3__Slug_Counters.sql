@@ -0,0 +1,6 @@
+-- Create slug_counters table (one row per slug space, created on first allocation)
+CREATE TABLE slug_counters (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    permutation_key BIGINT NOT NULL
+);
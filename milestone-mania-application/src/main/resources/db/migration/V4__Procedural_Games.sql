@@ -0,0 +1,14 @@
+-- Create catalog_versions table (immutable catalog snapshots for procedural games)
+CREATE TABLE catalog_versions (
+    id BIGSERIAL PRIMARY KEY,
+    content_hash VARCHAR(64) NOT NULL UNIQUE,
+    milestone_count INTEGER NOT NULL,
+    content BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Attempts of procedural games reference their game by slug until it is materialized
+ALTER TABLE game_attempts ADD COLUMN game_slug VARCHAR(100);
+ALTER TABLE game_attempts ALTER COLUMN game_id DROP NOT NULL;
+
+CREATE INDEX idx_game_attempts_game_slug ON game_attempts(game_slug);
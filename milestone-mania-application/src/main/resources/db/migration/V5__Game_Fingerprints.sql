@@ -0,0 +1,13 @@
+-- Canonical fingerprint of each game's milestone set, used to reuse identical games
+ALTER TABLE games ADD COLUMN fingerprint BIGINT;
+
+CREATE INDEX idx_games_fingerprint ON games(fingerprint);
+
+-- Create game_slug_aliases table (extra slugs resolving to a reused game)
+CREATE TABLE game_slug_aliases (
+    slug VARCHAR(100) PRIMARY KEY,
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_game_slug_aliases_game_id ON game_slug_aliases(game_id);
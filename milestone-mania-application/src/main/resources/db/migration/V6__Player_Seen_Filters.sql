@@ -0,0 +1,7 @@
+-- Create player_seen_filters table (Bloom filter of milestones each player has been dealt)
+CREATE TABLE player_seen_filters (
+    player_name VARCHAR(100) PRIMARY KEY,
+    bits BYTEA NOT NULL,
+    generation INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,15 @@
+-- Create milestone_ratings table (Elo-style difficulty per milestone)
+CREATE TABLE milestone_ratings (
+    milestone_id BIGINT PRIMARY KEY REFERENCES milestones(id) ON DELETE CASCADE,
+    rating DOUBLE PRECISION NOT NULL,
+    games INTEGER NOT NULL
+);
+
+-- Create milestone_pair_ratings table (difficulty of ordering two milestones, lower ID first)
+CREATE TABLE milestone_pair_ratings (
+    first_milestone_id BIGINT NOT NULL REFERENCES milestones(id) ON DELETE CASCADE,
+    second_milestone_id BIGINT NOT NULL REFERENCES milestones(id) ON DELETE CASCADE,
+    rating DOUBLE PRECISION NOT NULL,
+    games INTEGER NOT NULL,
+    PRIMARY KEY (first_milestone_id, second_milestone_id)
+);
@@ -0,0 +1,4 @@
+-- H2 names identity sequences itself, so the pooled ID sequences are separate ones here
+CREATE SEQUENCE IF NOT EXISTS games_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS game_milestones_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS game_attempts_id_seq START WITH 1 INCREMENT BY 50;
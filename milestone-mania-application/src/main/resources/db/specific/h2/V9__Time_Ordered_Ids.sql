@@ -0,0 +1,4 @@
+-- Entity IDs are now assigned by the application; the pooled ID sequences are unused
+DROP SEQUENCE IF EXISTS games_id_seq;
+DROP SEQUENCE IF EXISTS game_milestones_id_seq;
+DROP SEQUENCE IF EXISTS game_attempts_id_seq;
@@ -0,0 +1,6 @@
+-- Games, game milestones and attempts take IDs from their sequences in blocks of 50
+-- (Hibernate pooled optimizer), so the inserts of a new game can be sent as one batch.
+-- The next value lies above every ID handed out so far, so existing rows are unaffected.
+ALTER SEQUENCE games_id_seq INCREMENT BY 50;
+ALTER SEQUENCE game_milestones_id_seq INCREMENT BY 50;
+ALTER SEQUENCE game_attempts_id_seq INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Entity IDs are now assigned by the application (time, node, sequence). Existing rows keep
+-- their IDs: sequence values stay far below time-ordered IDs, which exceed 10^14 since 2025.
+-- The sequences remain as column defaults for manual inserts and no longer need blocks.
+ALTER SEQUENCE games_id_seq INCREMENT BY 1;
+ALTER SEQUENCE game_milestones_id_seq INCREMENT BY 1;
+ALTER SEQUENCE game_attempts_id_seq INCREMENT BY 1;
@@ -1,8 +1,18 @@
 package com.milestonemania.controller;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +23,20 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.milestonemania.controller.dto.request.CreateGameRequest;
 import com.milestonemania.controller.dto.request.StartGameRequest;
+import com.milestonemania.controller.render.RenderedGame;
+import com.milestonemania.controller.render.RenderedGames;
 import com.milestonemania.controller.util.CorrelationIdUtil;
 import com.milestonemania.service.api.GameService;
+import com.milestonemania.service.api.IdempotencyService;
+import com.milestonemania.service.api.dto.AttemptStatusDto;
+import com.milestonemania.service.api.dto.DifficultyBand;
 import com.milestonemania.service.api.dto.GameAttemptDto;
+import com.milestonemania.service.api.dto.GameCreationOptions;
 import com.milestonemania.service.api.dto.GameDto;
 import com.milestonemania.service.api.dto.SubmitAttemptRequest;
 import com.milestonemania.service.api.dto.SubmitAttemptResponse;
@@ -44,14 +63,33 @@ public class GameController {
 
   private static final Logger logger = LoggerFactory.getLogger(GameController.class);
 
+  private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
   private final GameService gameService;
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
+  private final RenderedGames renderedGames;
+  private final CacheControl storedGameCacheControl;
 
   /**
    * Constructor with dependency injection
    * @param gameService Service for game operations
+   * @param idempotencyService Service deduplicating retried requests
+   * @param objectMapper Mapper serializing requests and responses of idempotent requests
+   * @param renderedGames Cache of rendered game responses
+   * @param gameMaxAge How long clients may reuse a stored game without revalidating
    */
-  public GameController(GameService gameService) {
+  public GameController(
+      GameService gameService,
+      IdempotencyService idempotencyService,
+      ObjectMapper objectMapper,
+      RenderedGames renderedGames,
+      @Value("${milestone-mania.game-responses.max-age:P30D}") Duration gameMaxAge) {
     this.gameService = gameService;
+    this.idempotencyService = idempotencyService;
+    this.objectMapper = objectMapper;
+    this.renderedGames = renderedGames;
+    this.storedGameCacheControl = CacheControl.maxAge(gameMaxAge).cachePublic().immutable();
   }
 
   /**
@@ -116,7 +154,11 @@ public class GameController {
       })
   public ResponseEntity<GameAttemptDto> createNewGame(
       @RequestBody @Valid CreateGameRequest request,
-      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
+      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          @Parameter(
+              description = "Client-chosen key; retries with the same key get the first response")
+          String idempotencyKey) {
 
     correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
     logger.info(
@@ -124,7 +166,23 @@ public class GameController {
         correlationId,
         request.getPlayerName());
 
-    GameAttemptDto gameAttempt = gameService.createNewGame(request.getPlayerName());
+    GameCreationOptions options =
+        GameCreationOptions.builder()
+            .fromDate(request.getFromDate())
+            .toDate(request.getToDate())
+            .tags(request.getTags())
+            .difficulty(
+                request.getDifficulty() == null
+                    ? null
+                    : DifficultyBand.valueOf(request.getDifficulty().toUpperCase(Locale.ROOT)))
+            .build();
+    GameAttemptDto gameAttempt =
+        idempotent(
+            idempotencyKey,
+            "POST /games",
+            request,
+            GameAttemptDto.class,
+            () -> gameService.createNewGame(request.getPlayerName(), options));
 
     logger.info(
         "New game created - CorrelationId: {}, GameSlug: {}, AttemptId: {}",
@@ -202,7 +260,11 @@ public class GameController {
           @Parameter(description = "Game slug identifier", example = "adventure-timeline-abc123")
           String slug,
       @RequestBody @Valid StartGameRequest request,
-      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
+      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          @Parameter(
+              description = "Client-chosen key; retries with the same key get the first response")
+          String idempotencyKey) {
 
     correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
     logger.info(
@@ -211,7 +273,18 @@ public class GameController {
         slug,
         request.getPlayerName());
 
-    GameAttemptDto gameAttempt = gameService.startGameFromSlug(slug, request.getPlayerName());
+    GameAttemptDto gameAttempt =
+        idempotent(
+            idempotencyKey,
+            "POST /games/" + slug + "/start",
+            request,
+            GameAttemptDto.class,
+            () -> {
+              GameAttemptDto started = gameService.startGameFromSlug(slug, request.getPlayerName());
+              // The game's shared milestone list; written from its cached rendering
+              renderedGames.renderMilestones(started.getMilestones());
+              return started;
+            });
 
     logger.info(
         "Game started - CorrelationId: {}, Slug: {}, AttemptId: {}",
@@ -264,7 +337,7 @@ public class GameController {
                     })),
         @ApiResponse(
             responseCode = "400",
-            description = "Invalid request data or validation errors",
+            description = "Invalid request data, validation errors or an invalid or expired token",
             content =
                 @Content(
                     mediaType = "application/json",
@@ -295,16 +368,31 @@ public class GameController {
       })
   public ResponseEntity<SubmitAttemptResponse> submitAttempt(
       @RequestBody @Valid SubmitAttemptRequest request,
-      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
+      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          @Parameter(
+              description = "Client-chosen key; retries with the same key get the first response")
+          String idempotencyKey) {
 
     correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
     logger.info(
-        "Submitting attempt - CorrelationId: {}, AttemptId: {}, MilestoneIds: {}",
+        "Submitting attempt - CorrelationId: {}, AttemptId: {}",
         correlationId,
-        request.getAttemptId(),
-        request.getOrderedMilestoneIds());
+        request.getAttemptId());
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Submitted milestone order - CorrelationId: {}, MilestoneIds: {}",
+          correlationId,
+          Arrays.toString(request.getOrderedMilestoneIds()));
+    }
 
-    SubmitAttemptResponse response = gameService.submitAttempt(request);
+    SubmitAttemptResponse response =
+        idempotent(
+            idempotencyKey,
+            "POST /games/attempts/submit",
+            request,
+            SubmitAttemptResponse.class,
+            () -> gameService.submitAttempt(request));
 
     logger.info(
         "Attempt submitted - CorrelationId: {}, IsCorrect: {}, AttemptNumber: {}",
@@ -316,12 +404,66 @@ public class GameController {
   }
 
   /**
-   * Get game information by slug
+   * Get the status of an attempt
+   */
+  @GetMapping("/attempts/{attemptId}")
+  @Operation(
+      summary = "Get attempt status",
+      description = "Retrieve the status and attempt count of a game attempt")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attempt status retrieved successfully",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AttemptStatusDto.class),
+                    examples =
+                        @ExampleObject(
+                            name = "Attempt Status",
+                            value =
+                                """
+                    {
+                        "attemptId": 124,
+                        "gameSlug": "adventure-timeline-abc123",
+                        "status": "IN_PROGRESS",
+                        "attemptCount": 2
+                    }
+                    """))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Attempt not found",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema =
+                        @Schema(
+                            implementation =
+                                com.milestonemania.controller.dto.response.ErrorResponse.class)))
+      })
+  public ResponseEntity<AttemptStatusDto> getAttemptStatus(
+      @PathVariable @Parameter(description = "Attempt identifier", example = "124") Long attemptId,
+      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
+
+    correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
+    logger.info(
+        "Getting attempt status - CorrelationId: {}, AttemptId: {}", correlationId, attemptId);
+
+    AttemptStatusDto status = gameService.getAttemptStatus(attemptId);
+
+    return ResponseEntity.ok().header("X-Correlation-ID", correlationId).body(status);
+  }
+
+  /**
+   * Get game information by slug, written from its cached rendering with a strong ETag
    */
   @GetMapping("/{slug}")
   @Operation(
       summary = "Get game information",
-      description = "Retrieve game information including milestones by slug")
+      description =
+          "Retrieve game information including milestones by slug. Responses carry an ETag;"
+              + " a request whose If-None-Match matches it gets 304 Not Modified")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -355,6 +497,9 @@ public class GameController {
                         ]
                     }
                     """))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The game is unchanged since the ETag in If-None-Match"),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid slug format",
@@ -376,12 +521,14 @@ public class GameController {
                             implementation =
                                 com.milestonemania.controller.dto.response.ErrorResponse.class)))
       })
-  public ResponseEntity<GameDto> getGameBySlug(
+  public ResponseEntity<byte[]> getGameBySlug(
       @PathVariable
           @Pattern(regexp = "^[a-zA-Z0-9\\-]{3,50}$", message = "Invalid slug format")
           @Parameter(description = "Game slug identifier", example = "adventure-timeline-abc123")
           String slug,
-      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
+      @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
     correlationId = CorrelationIdUtil.getOrGenerateCorrelationId(correlationId);
     logger.info("Getting game by slug - CorrelationId: {}, Slug: {}", correlationId, slug);
@@ -394,6 +541,98 @@ public class GameController {
         slug,
         game.getId());
 
-    return ResponseEntity.ok().header("X-Correlation-ID", correlationId).body(game);
+    RenderedGame rendered = renderedGames.render(game);
+    boolean gzipped = acceptsGzip(acceptEncoding);
+    // A procedural game nobody shared yet gets its game ID once shared, so clients revalidate
+    CacheControl cacheControl =
+        game.getId() != null ? storedGameCacheControl : CacheControl.noCache();
+    if (rendered.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .header("X-Correlation-ID", correlationId)
+          .eTag(rendered.etag(gzipped))
+          .cacheControl(cacheControl)
+          .varyBy(HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .header("X-Correlation-ID", correlationId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(rendered.etag(gzipped))
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzipped) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.gzippedJson());
+    }
+    return response.body(rendered.json());
+  }
+
+  /** Whether an Accept-Encoding header admits gzip, i.e. lists gzip or * without q=0 */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+        continue;
+      }
+      double quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(parameter.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      return quality > 0;
+    }
+    return false;
+  }
+
+  /**
+   * Runs a writing request once per idempotency key, answering retries with the stored
+   * response. The first run returns the action's own result; only replays parse the stored JSON
+   */
+  private <T> T idempotent(
+      String idempotencyKey,
+      String endpoint,
+      Object request,
+      Class<T> responseType,
+      Supplier<T> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    AtomicReference<T> result = new AtomicReference<>();
+    String response =
+        idempotencyService.execute(
+            idempotencyKey,
+            endpoint,
+            toJson(request),
+            () -> {
+              result.set(action.get());
+              return toJson(result.get());
+            });
+    if (result.get() != null) {
+      return result.get();
+    }
+    try {
+      return objectMapper.readValue(response, responseType);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(
+          "Stored response is not a " + responseType.getSimpleName(), e);
+    }
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+    }
   }
 }
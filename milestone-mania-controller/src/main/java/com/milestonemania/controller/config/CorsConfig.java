@@ -37,6 +37,7 @@ public class CorsConfig {
             "Accept",
             "Authorization",
             "X-Correlation-ID",
+            "Idempotency-Key",
             "X-Requested-With",
             "Cache-Control"));
 
@@ -1,6 +1,10 @@
 package com.milestonemania.controller.dto.request;
 
+import java.time.LocalDate;
+import java.util.Set;
+
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -13,6 +17,31 @@ public class CreateGameRequest {
   @Schema(description = "Optional player name", example = "Alice", maxLength = 100)
   private String playerName;
 
+  @Schema(
+      description = "Optional first date (inclusive) of the era milestones are drawn from",
+      example = "1900-01-01")
+  private LocalDate fromDate;
+
+  @Schema(
+      description = "Optional last date (inclusive) of the era milestones are drawn from",
+      example = "1999-12-31")
+  private LocalDate toDate;
+
+  @Size(max = 10, message = "At most 10 tags may be combined")
+  @Schema(
+      description = "Optional tags every milestone must carry (combined with AND)",
+      example = "[\"science\", \"space\"]")
+  private Set<String> tags;
+
+  @Pattern(
+      regexp = "(?i)easy|medium|hard",
+      message = "Difficulty must be one of easy, medium or hard")
+  @Schema(
+      description = "Optional target difficulty, based on how often players misplace milestones",
+      example = "hard",
+      allowableValues = {"easy", "medium", "hard"})
+  private String difficulty;
+
   // Default constructor
   public CreateGameRequest() {}
 
@@ -21,13 +50,45 @@ public class CreateGameRequest {
     this.playerName = playerName;
   }
 
-  // Getter
+  // Getters
   public String getPlayerName() {
     return playerName;
   }
 
-  // Setter
+  public LocalDate getFromDate() {
+    return fromDate;
+  }
+
+  public LocalDate getToDate() {
+    return toDate;
+  }
+
+  public Set<String> getTags() {
+    return tags;
+  }
+
+  public String getDifficulty() {
+    return difficulty;
+  }
+
+  // Setters
   public void setPlayerName(String playerName) {
     this.playerName = playerName;
   }
+
+  public void setFromDate(LocalDate fromDate) {
+    this.fromDate = fromDate;
+  }
+
+  public void setToDate(LocalDate toDate) {
+    this.toDate = toDate;
+  }
+
+  public void setTags(Set<String> tags) {
+    this.tags = tags;
+  }
+
+  public void setDifficulty(String difficulty) {
+    this.difficulty = difficulty;
+  }
 }
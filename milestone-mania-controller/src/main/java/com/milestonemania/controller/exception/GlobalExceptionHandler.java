@@ -2,6 +2,7 @@ package com.milestonemania.controller.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,9 +13,11 @@ import org.springframework.web.context.request.WebRequest;
 import com.milestonemania.controller.dto.response.ErrorResponse;
 import com.milestonemania.controller.util.CorrelationIdUtil;
 import com.milestonemania.service.api.exception.AttemptNotFoundException;
+import com.milestonemania.service.api.exception.GameLoadTimeoutException;
 import com.milestonemania.service.api.exception.GameNotFoundException;
 import com.milestonemania.service.api.exception.InsufficientMilestonesException;
 import com.milestonemania.service.api.exception.InvalidAttemptStateException;
+import com.milestonemania.service.api.exception.InvalidAttemptTokenException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -100,6 +103,31 @@ public class GlobalExceptionHandler {
         .body(errorResponse);
   }
 
+  /**
+   * Handle InvalidAttemptTokenException - 400 BAD_REQUEST
+   */
+  @ExceptionHandler(InvalidAttemptTokenException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidAttemptTokenException(
+      InvalidAttemptTokenException ex, HttpServletRequest request) {
+
+    String correlationId = CorrelationIdUtil.generateCorrelationId();
+    logger.warn(
+        "Invalid attempt token - CorrelationId: {}, Message: {}", correlationId, ex.getMessage());
+
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(request.getRequestURI())
+            .correlationId(correlationId)
+            .build();
+
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .header("X-Correlation-ID", correlationId)
+        .body(errorResponse);
+  }
+
   /**
    * Handle InsufficientMilestonesException - 503 SERVICE_UNAVAILABLE
    */
@@ -125,6 +153,32 @@ public class GlobalExceptionHandler {
         .body(errorResponse);
   }
 
+  /**
+   * Handle GameLoadTimeoutException - 503 SERVICE_UNAVAILABLE
+   */
+  @ExceptionHandler(GameLoadTimeoutException.class)
+  public ResponseEntity<ErrorResponse> handleGameLoadTimeoutException(
+      GameLoadTimeoutException ex, HttpServletRequest request) {
+
+    String correlationId = CorrelationIdUtil.generateCorrelationId();
+    logger.warn(
+        "Game load timed out - CorrelationId: {}, Message: {}", correlationId, ex.getMessage());
+
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(request.getRequestURI())
+            .correlationId(correlationId)
+            .build();
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header("X-Correlation-ID", correlationId)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(errorResponse);
+  }
+
   /**
    * Handle IllegalArgumentException - 400 BAD_REQUEST
    */
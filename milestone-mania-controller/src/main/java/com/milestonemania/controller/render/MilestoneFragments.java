@@ -0,0 +1,114 @@
+package com.milestonemania.controller.render;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.milestonemania.service.api.dto.MilestoneDto;
+
+/**
+ * Jackson module writing cached milestone lists as pre-rendered JSON.
+ * <p>
+ * The service hands out the same unmodifiable milestone list for every response about a game,
+ * so a list's rendering is cached by identity: once {@link RenderedGames} rendered a list, any
+ * response containing it, such as a started attempt, copies the bytes instead of serializing
+ * the milestones again. Entries are weakly keyed, so they go when the service drops the list.
+ * Other lists are serialized as usual.
+ */
+@Component
+public class MilestoneFragments extends SimpleModule {
+
+  private final Cache<List<MilestoneDto>, SerializableString> fragments =
+      Caffeine.newBuilder().weakKeys().build();
+
+  public MilestoneFragments() {
+    super(MilestoneFragments.class.getSimpleName());
+    setSerializerModifier(
+        new BeanSerializerModifier() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public JsonSerializer<?> modifyCollectionSerializer(
+              SerializationConfig config,
+              CollectionType valueType,
+              BeanDescription beanDesc,
+              JsonSerializer<?> serializer) {
+            if (!valueType.getContentType().hasRawClass(MilestoneDto.class)) {
+              return serializer;
+            }
+            return new FragmentSerializer((JsonSerializer<Object>) serializer);
+          }
+        });
+  }
+
+  /**
+   * Returns the JSON array of a shared milestone list, rendering it on a miss.
+   *
+   * @param milestones a milestone list handed out by the service
+   * @param renderer renders the list as a JSON array
+   * @return the rendered list
+   */
+  SerializableString get(
+      List<MilestoneDto> milestones, Function<List<MilestoneDto>, String> renderer) {
+    return fragments.get(milestones, list -> new SerializedString(renderer.apply(list)));
+  }
+
+  /** Writes a cached list as its rendering and any other list with Jackson's serializer. */
+  private final class FragmentSerializer extends JsonSerializer<Object>
+      implements ContextualSerializer {
+
+    private final JsonSerializer<Object> delegate;
+
+    FragmentSerializer(JsonSerializer<Object> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+        throws JsonMappingException {
+      if (!(delegate instanceof ContextualSerializer contextual)) {
+        return this;
+      }
+      JsonSerializer<?> resolved = contextual.createContextual(provider, property);
+      return resolved == delegate
+          ? this
+          : new FragmentSerializer((JsonSerializer<Object>) resolved);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      SerializableString fragment =
+          value instanceof List<?> list ? fragments.getIfPresent((List<MilestoneDto>) list) : null;
+      if (fragment != null) {
+        generator.writeRawValue(fragment);
+      } else {
+        delegate.serialize(value, generator, provider);
+      }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+      return delegate.isEmpty(provider, value);
+    }
+  }
+}
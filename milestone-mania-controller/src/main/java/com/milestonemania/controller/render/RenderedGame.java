@@ -0,0 +1,45 @@
+package com.milestonemania.controller.render;
+
+/**
+ * A game response rendered once: its JSON and the gzip-compressed JSON.
+ *
+ * @param json the response body as UTF-8 JSON
+ * @param gzippedJson the same body compressed with gzip
+ * @param hash hash of the JSON, the basis of both entity tags
+ */
+public record RenderedGame(byte[] json, byte[] gzippedJson, String hash) {
+
+  /**
+   * Returns the strong entity tag of one representation. The compressed representation has
+   * its own tag, since its bytes differ.
+   *
+   * @param gzipped whether the tag is for the compressed representation
+   * @return the quoted entity tag
+   */
+  public String etag(boolean gzipped) {
+    return gzipped ? "\"" + hash + "-gzip\"" : "\"" + hash + "\"";
+  }
+
+  /**
+   * Returns whether an {@code If-None-Match} header matches either representation.
+   *
+   * @param ifNoneMatch the header value; may be null
+   * @return whether the client's copy is current
+   */
+  public boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      // If-None-Match compares weakly
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag(false)) || tag.equals(etag(true))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,102 @@
+package com.milestonemania.controller.render;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.milestonemania.service.api.dto.GameDto;
+import com.milestonemania.service.api.dto.MilestoneDto;
+
+/**
+ * Renders game responses once and keeps the bytes for as long as the service keeps the game.
+ * <p>
+ * A game's content is immutable and the service returns the same milestone list for every
+ * lookup of a slug, so the list's identity stands for the whole response: renderings are
+ * weakly keyed by it and go when the service drops the game, e.g. after a milestone edit.
+ * Rendering a game also caches its milestones as a {@link MilestoneFragments fragment}, which
+ * other responses containing the list reuse.
+ */
+@Component
+public class RenderedGames {
+
+  private static final int HASH_BYTES = 16;
+
+  private final ObjectMapper objectMapper;
+  private final MilestoneFragments fragments;
+  private final Cache<List<MilestoneDto>, RenderedGame> games =
+      Caffeine.newBuilder().weakKeys().build();
+
+  public RenderedGames(ObjectMapper objectMapper, MilestoneFragments fragments) {
+    this.objectMapper = objectMapper;
+    this.fragments = fragments;
+  }
+
+  /**
+   * Returns the rendering of a game, rendering it on a miss.
+   *
+   * @param game a game returned by the service for its slug
+   * @return the rendered game
+   */
+  public RenderedGame render(GameDto game) {
+    return games.get(
+        game.getMilestones(),
+        milestones -> {
+          renderMilestones(milestones);
+          byte[] json = toJson(game);
+          return new RenderedGame(json, gzip(json), hash(json));
+        });
+  }
+
+  /**
+   * Caches the rendering of a milestone list handed out by the service, so responses
+   * containing it copy the rendered JSON.
+   *
+   * @param milestones the shared milestone list of a game
+   */
+  public void renderMilestones(List<MilestoneDto> milestones) {
+    fragments.get(milestones, list -> new String(toJson(list), StandardCharsets.UTF_8));
+  }
+
+  private byte[] toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static String hash(byte[] json) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(Arrays.copyOf(digest, HASH_BYTES));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.milestonemania.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.milestonemania.model.id.TimeOrderedId;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Immutable, persisted copy of the milestone catalog's (id, actual date) index.
+ * <p>
+ * Procedural games are identified by a catalog version and a seed, so the exact catalog a game
+ * was drawn from must stay resolvable after milestones change. Rows are deduplicated by a hash
+ * of their content, which lets every node agree on the same version ID for the same catalog.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = {"content"})
+public class CatalogVersion {
+
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
+
+  /** Hex-encoded SHA-256 of the uncompressed content. */
+  @NotBlank
+  @Size(max = 64)
+  @Column(nullable = false, unique = true, length = 64)
+  private String contentHash;
+
+  @NotNull
+  @Column(nullable = false)
+  private Integer milestoneCount;
+
+  /** Deflate-compressed (id, epoch day) pairs in catalog ordinal order. */
+  @NotNull
+  @Column(nullable = false, length = 1_000_000_000)
+  private byte[] content;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  public CatalogVersion(String contentHash, Integer milestoneCount, byte[] content) {
+    this.contentHash = contentHash;
+    this.milestoneCount = milestoneCount;
+    this.content = content;
+    this.createdAt = LocalDateTime.now();
+  }
+}
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.milestonemania.model.id.TimeOrderedId;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +15,10 @@ import lombok.*;
 @Entity
 @Table(
     name = "games",
-    indexes = {@Index(name = "idx_game_slug", columnList = "slug", unique = true)})
+    indexes = {
+      @Index(name = "idx_game_slug", columnList = "slug", unique = true),
+      @Index(name = "idx_games_fingerprint", columnList = "fingerprint")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,10 +26,7 @@ import lombok.*;
 @ToString(exclude = {"gameMilestones", "gameAttempts"})
 public class Game {
 
-  @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
-  @EqualsAndHashCode.Include
-  private Long id;
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
 
   @NotBlank
   @Size(max = 100)
@@ -39,6 +41,9 @@ public class Game {
   @Column(nullable = false)
   private LocalDateTime createdAt;
 
+  /** 64-bit hash of the sorted milestone IDs; null for games created before fingerprinting. */
+  private Long fingerprint;
+
   @Version private Long version;
 
   @OneToMany(
@@ -3,6 +3,7 @@ package com.milestonemania.model.entity;
 import java.time.LocalDateTime;
 
 import com.milestonemania.model.enums.AttemptStatus;
+import com.milestonemania.model.id.TimeOrderedId;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +13,10 @@ import lombok.*;
 @Entity
 @Table(
     name = "game_attempts",
-    indexes = {@Index(name = "idx_attempt_status_created", columnList = "status, createdAt")})
+    indexes = {
+      @Index(name = "idx_attempt_status_created", columnList = "status, createdAt"),
+      @Index(name = "idx_game_attempts_game_slug", columnList = "gameSlug")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,16 +24,18 @@ import lombok.*;
 @ToString(exclude = {"game"})
 public class GameAttempt {
 
-  @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
-  @EqualsAndHashCode.Include
-  private Long id;
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
 
+  /** The game row; null for procedural games that have not been materialized yet. */
   @ManyToOne(fetch = FetchType.LAZY)
-  @JoinColumn(name = "game_id", nullable = false)
-  @NotNull
+  @JoinColumn(name = "game_id")
   private Game game;
 
+  /** Slug of the game, also set for procedural games without a game row. */
+  @Size(max = 100)
+  @Column(length = 100)
+  private String gameSlug;
+
   @Size(max = 100)
   @Column(length = 100)
   private String playerName;
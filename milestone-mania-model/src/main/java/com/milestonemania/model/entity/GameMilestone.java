@@ -1,5 +1,7 @@
 package com.milestonemania.model.entity;
 
+import com.milestonemania.model.id.TimeOrderedId;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -22,10 +24,7 @@ import lombok.*;
 @ToString(exclude = {"game", "milestone"})
 public class GameMilestone {
 
-  @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
-  @EqualsAndHashCode.Include
-  private Long id;
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "game_id", nullable = false)
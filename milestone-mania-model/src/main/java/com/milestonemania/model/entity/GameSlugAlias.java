@@ -0,0 +1,45 @@
+package com.milestonemania.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Additional slug resolving to an existing game. Created when a new game would have the same
+ * milestones as an existing one and game deduplication hands out a fresh slug for it.
+ */
+@Entity
+@Table(name = "game_slug_aliases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = {"game"})
+public class GameSlugAlias {
+
+  @Id
+  @NotBlank
+  @Size(max = 100)
+  @Column(length = 100)
+  @EqualsAndHashCode.Include
+  private String slug;
+
+  @NotNull
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "game_id", nullable = false)
+  private Game game;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  public GameSlugAlias(String slug, Game game) {
+    this.slug = slug;
+    this.game = game;
+    this.createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,59 @@
+package com.milestonemania.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Serialized response of a request made with an idempotency key, so a client retry gets the
+ * same response instead of repeating the request's writes, also after a restart.
+ */
+@Entity
+@Table(name = "idempotency_records")
+@IdClass(IdempotencyRecord.RecordId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = {"responseBody"})
+public class IdempotencyRecord {
+
+  @Id
+  @Size(max = 100)
+  @Column(length = 100)
+  @EqualsAndHashCode.Include
+  private String idempotencyKey;
+
+  /** Method and path of the request, e.g. {@code POST /games/{slug}/start} with the slug. */
+  @Id
+  @Size(max = 150)
+  @Column(length = 150)
+  @EqualsAndHashCode.Include
+  private String endpoint;
+
+  /** SHA-256 of the serialized request, to tell a retry from a reused key. */
+  @NotNull
+  @Column(nullable = false, length = 64)
+  private String requestHash;
+
+  @NotNull
+  @Column(nullable = false, length = 65535)
+  private String responseBody;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  /** Composite primary key of an idempotency record. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RecordId implements Serializable {
+    private String idempotencyKey;
+    private String endpoint;
+  }
+}
@@ -0,0 +1,38 @@
+package com.milestonemania.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Progress of a bulk milestone import, committed with each chunk of imported rows, so an
+ * interrupted import resumes after the last committed record. Deleted when the import
+ * completes.
+ */
+@Entity
+@Table(name = "import_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ImportCheckpoint {
+
+  /** Identifies the imported file: its absolute path, size and modification time. */
+  @Id
+  @Size(max = 255)
+  @Column(length = 255)
+  @EqualsAndHashCode.Include
+  private String source;
+
+  /** Records of the source processed so far, counting skipped ones. */
+  @NotNull
+  @Column(nullable = false)
+  private Long position;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+}
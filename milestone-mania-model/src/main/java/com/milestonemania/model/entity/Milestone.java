@@ -1,6 +1,12 @@
 package com.milestonemania.model.entity;
 
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.milestonemania.model.id.TimeOrderedId;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -11,7 +17,10 @@ import lombok.*;
 @Entity
 @Table(
     name = "milestones",
-    indexes = {@Index(name = "idx_milestone_actual_date", columnList = "actualDate")})
+    indexes = {
+      @Index(name = "idx_milestone_actual_date", columnList = "actualDate"),
+      @Index(name = "idx_milestones_content_hash", columnList = "contentHash")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,10 +28,7 @@ import lombok.*;
 @ToString
 public class Milestone {
 
-  @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
-  @EqualsAndHashCode.Include
-  private Long id;
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
 
   @NotBlank
   @Size(max = 255)
@@ -37,8 +43,22 @@ public class Milestone {
   @Column(nullable = false)
   private LocalDate actualDate;
 
+  /**
+   * Hash of the normalized title and the date, see {@link #contentHashOf}; identifies the same
+   * milestone across imports. Null only for rows written before hashing, until backfilled.
+   */
+  private Long contentHash;
+
   @Version private Long version;
 
+  @ManyToMany(fetch = FetchType.LAZY)
+  @JoinTable(
+      name = "milestone_tags",
+      joinColumns = @JoinColumn(name = "milestone_id"),
+      inverseJoinColumns = @JoinColumn(name = "tag_id"))
+  @ToString.Exclude
+  private Set<Tag> tags = new HashSet<>();
+
   public Milestone(String title, String description, LocalDate actualDate) {
     this.title = title;
     this.description = description;
@@ -49,4 +69,40 @@ public class Milestone {
     this.title = title;
     this.actualDate = actualDate;
   }
+
+  /**
+   * Computes the content hash of a milestone. Titles are compared after Unicode NFKC
+   * normalization, lower-casing and collapsing whitespace, so "Moon  Landing" and
+   * "moon landing" on the same date are the same milestone.
+   *
+   * @param title the title
+   * @param actualDate the date
+   * @return a 64-bit hash
+   */
+  public static long contentHashOf(String title, LocalDate actualDate) {
+    String normalized =
+        Normalizer.normalize(title, Normalizer.Form.NFKC)
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("\\s+", " ")
+            .trim();
+    // FNV-1a over the characters, then the date, then the MurmurHash3 fmix64 finalizer
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < normalized.length(); i++) {
+      hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+    }
+    hash = (hash ^ actualDate.toEpochDay()) * 0x100000001b3L;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  @PrePersist
+  @PreUpdate
+  protected void updateContentHash() {
+    if (title != null && actualDate != null) {
+      contentHash = contentHashOf(title, actualDate);
+    }
+  }
 }
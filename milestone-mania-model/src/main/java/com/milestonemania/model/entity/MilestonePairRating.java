@@ -0,0 +1,44 @@
+package com.milestonemania.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Elo-style rating of how hard it is to put two milestones in the right relative order.
+ * The pair is stored once, with the lower milestone ID first.
+ */
+@Entity
+@Table(name = "milestone_pair_ratings")
+@IdClass(MilestonePairRating.PairId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class MilestonePairRating {
+
+  @Id @EqualsAndHashCode.Include private Long firstMilestoneId;
+
+  @Id @EqualsAndHashCode.Include private Long secondMilestoneId;
+
+  @NotNull
+  @Column(nullable = false)
+  private Double rating;
+
+  /** Number of submissions the rating is based on. */
+  @NotNull
+  @Column(nullable = false)
+  private Integer games;
+
+  /** Composite primary key of a pair rating. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class PairId implements Serializable {
+    private Long firstMilestoneId;
+    private Long secondMilestoneId;
+  }
+}
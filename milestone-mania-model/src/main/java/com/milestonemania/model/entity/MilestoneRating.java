@@ -0,0 +1,30 @@
+package com.milestonemania.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Elo-style difficulty rating of a milestone. A milestone "wins" a submission when the player
+ * misplaces it, so higher ratings mean milestones that are harder to place.
+ */
+@Entity
+@Table(name = "milestone_ratings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class MilestoneRating {
+
+  @Id @EqualsAndHashCode.Include private Long milestoneId;
+
+  @NotNull
+  @Column(nullable = false)
+  private Double rating;
+
+  /** Number of submissions the rating is based on. */
+  @NotNull
+  @Column(nullable = false)
+  private Integer games;
+}
@@ -0,0 +1,52 @@
+package com.milestonemania.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.milestonemania.model.enums.GameEventType;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Game event written in the transaction of the attempt change it describes, and removed once
+ * the outbox relay has handed it to all subscribers.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OutboxEvent {
+
+  /** Time-ordered, assigned when the event is written; the relay dispatches in this order. */
+  @Id @EqualsAndHashCode.Include private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @NotNull
+  @Column(nullable = false, length = 20)
+  private GameEventType eventType;
+
+  @NotNull
+  @Size(max = 100)
+  @Column(nullable = false, length = 100)
+  private String gameSlug;
+
+  @NotNull
+  @Column(nullable = false)
+  private Long attemptId;
+
+  @Size(max = 100)
+  @Column(length = 100)
+  private String playerName;
+
+  @NotNull
+  @Column(nullable = false)
+  private Integer attemptCount;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime occurredAt;
+}
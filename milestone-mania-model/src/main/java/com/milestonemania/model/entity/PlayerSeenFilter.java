@@ -0,0 +1,44 @@
+package com.milestonemania.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Persisted Bloom filter over the milestones a player has been dealt, used to steer new games
+ * away from repeats without querying the player's attempt history.
+ */
+@Entity
+@Table(name = "player_seen_filters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = {"bits"})
+public class PlayerSeenFilter {
+
+  @Id
+  @NotBlank
+  @Size(max = 100)
+  @Column(length = 100)
+  @EqualsAndHashCode.Include
+  private String playerName;
+
+  /** Filter bits as big-endian 64-bit words. */
+  @NotNull
+  @Column(nullable = false, length = 1_000_000)
+  private byte[] bits;
+
+  /** Incremented whenever the filter is cleared, so stale copies are not merged back in. */
+  @NotNull
+  @Column(nullable = false)
+  private Integer generation;
+
+  @NotNull
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+}
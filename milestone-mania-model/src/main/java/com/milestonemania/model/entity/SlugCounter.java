@@ -0,0 +1,34 @@
+package com.milestonemania.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Cluster-wide counter from which nodes reserve blocks of slug indexes, together with the
+ * key of the permutation that maps counter values onto slugs. Both must stay stable for the
+ * lifetime of the database, otherwise new slugs could repeat already issued ones.
+ */
+@Entity
+@Table(name = "slug_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class SlugCounter {
+
+  @Id
+  @Column(length = 50)
+  @EqualsAndHashCode.Include
+  private String name;
+
+  /** First counter value not yet reserved by any node. */
+  @NotNull
+  @Column(nullable = false)
+  private Long nextValue;
+
+  @NotNull
+  @Column(nullable = false)
+  private Long permutationKey;
+}
@@ -0,0 +1,30 @@
+package com.milestonemania.model.entity;
+
+import com.milestonemania.model.id.TimeOrderedId;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Entity
+@Table(name = "tags")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class Tag {
+
+  @Id @TimeOrderedId @EqualsAndHashCode.Include private Long id;
+
+  /** Lower-case tag name, e.g. "science" or "20th-century". */
+  @NotBlank
+  @Size(max = 50)
+  @Column(nullable = false, unique = true, length = 50)
+  private String name;
+
+  public Tag(String name) {
+    this.name = name;
+  }
+}
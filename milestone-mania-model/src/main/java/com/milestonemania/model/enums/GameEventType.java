@@ -0,0 +1,6 @@
+package com.milestonemania.model.enums;
+
+public enum GameEventType {
+  STARTED,
+  COMPLETED
+}
@@ -0,0 +1,36 @@
+package com.milestonemania.model.id;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * Hibernate generator behind {@link TimeOrderedId}. The node ID is read from the
+ * {@value #NODE_ID_SETTING} Hibernate setting and defaults to 0.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+  /** Hibernate setting holding this instance's node ID. */
+  public static final String NODE_ID_SETTING = "milestone-mania.ids.node-id";
+
+  private final TimeOrderedIds ids;
+
+  public TimeOrderedIdGenerator(
+      TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+    int nodeId =
+        ConfigurationHelper.getInt(
+            NODE_ID_SETTING,
+            context.getServiceRegistry().requireService(ConfigurationService.class).getSettings(),
+            0);
+    this.ids = TimeOrderedIds.forNode(nodeId);
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    return ids.next();
+  }
+}
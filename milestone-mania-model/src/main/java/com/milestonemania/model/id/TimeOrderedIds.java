@@ -0,0 +1,138 @@
+package com.milestonemania.model.id;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates k-sortable 64-bit IDs on each node without coordination.
+ * <p>
+ * An ID packs, from high to low bits, the milliseconds since {@link #EPOCH_MILLIS} (41 bits,
+ * enough until 2093), the node ID (5 bits) and a per-millisecond sequence (7 bits). IDs use
+ * 53 bits in total, so they stay exact as JSON numbers in JavaScript clients. IDs of one node
+ * are strictly increasing; IDs of different nodes sort by creation time to within clock skew.
+ * <p>
+ * When a node uses up the sequence of a millisecond, it waits for the wall clock to reach the
+ * next one, so bulk writers are slowed down to 128 IDs per millisecond rather than run ahead of
+ * the clock. When the wall clock moves backwards, e.g. after an NTP correction, IDs continue
+ * from the last issued millisecond until the clock catches up. Only when it moved back further
+ * than {@link #MAX_CLOCK_DRIFT_MILLIS} does generation fail rather than wait that long; a failed
+ * call leaves the generator's state untouched.
+ */
+public final class TimeOrderedIds {
+
+  /** 2024-01-01T00:00:00Z; the timestamp bits count milliseconds from here. */
+  public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+  public static final int NODE_BITS = 5;
+  public static final int SEQUENCE_BITS = 7;
+  public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+  static final long MAX_CLOCK_DRIFT_MILLIS = 1_000;
+
+  private static final int TIMESTAMP_BITS = 41;
+  private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+  private static final int SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1;
+  private static final TimeOrderedIds[] NODES = new TimeOrderedIds[MAX_NODE_ID + 1];
+
+  private final int nodeId;
+  private final LongSupplier clock;
+  private long lastTimestamp = -1;
+  private int sequence;
+
+  TimeOrderedIds(int nodeId, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException(
+          "Node ID must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+    }
+    this.nodeId = nodeId;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the generator of a node. All callers in a JVM share one generator per node, so
+   * entities of every type draw from the same sequence.
+   *
+   * @param nodeId the node ID, unique among running instances
+   * @return the node's generator
+   */
+  public static TimeOrderedIds forNode(int nodeId) {
+    synchronized (NODES) {
+      if (nodeId >= 0 && nodeId < NODES.length && NODES[nodeId] != null) {
+        return NODES[nodeId];
+      }
+      TimeOrderedIds ids = new TimeOrderedIds(nodeId, System::currentTimeMillis);
+      NODES[nodeId] = ids;
+      return ids;
+    }
+  }
+
+  public int nodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Returns the next ID of this node. Blocks until the next millisecond when the sequence of the
+   * current one is used up.
+   *
+   * @return a positive ID, greater than every ID this node issued before
+   * @throws IllegalStateException if the clock moved back further than the tolerated drift; the
+   *     generator stays usable and continues once the clock is back within it
+   */
+  public synchronized long next() {
+    long now = currentMillis();
+    long timestamp = now;
+    int nextSequence = 0;
+    if (now <= lastTimestamp) {
+      timestamp = lastTimestamp;
+      nextSequence = (sequence + 1) & SEQUENCE_MASK;
+      if (nextSequence == 0) {
+        timestamp = awaitMillisAfter(lastTimestamp);
+      }
+    }
+    if (timestamp > MAX_TIMESTAMP) {
+      throw new IllegalStateException("Timestamp bits of time-ordered IDs are exhausted");
+    }
+    // Only written once the ID is certain to be issued, so a failed call cannot reuse one
+    lastTimestamp = timestamp;
+    sequence = nextSequence;
+    return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | ((long) nodeId << SEQUENCE_BITS) | sequence;
+  }
+
+  /** Reads the clock, failing if it is further behind the last issued ID than tolerated. */
+  private long currentMillis() {
+    long now = clock.getAsLong() - EPOCH_MILLIS;
+    if (lastTimestamp - now > MAX_CLOCK_DRIFT_MILLIS) {
+      throw new IllegalStateException(
+          "Clock of node "
+              + nodeId
+              + " is "
+              + (lastTimestamp - now)
+              + " ms behind the last issued ID, refusing to generate IDs");
+    }
+    return now;
+  }
+
+  /** Waits until the clock passes a millisecond whose sequence is used up. */
+  private long awaitMillisAfter(long timestamp) {
+    long now = currentMillis();
+    while (now <= timestamp) {
+      if (now < timestamp) {
+        LockSupport.parkNanos((timestamp - now) * 1_000_000);
+      } else {
+        Thread.onSpinWait();
+      }
+      now = currentMillis();
+    }
+    return now;
+  }
+
+  /**
+   * Returns the creation time encoded in an ID.
+   *
+   * @param id an ID issued by this class
+   * @return milliseconds since the Unix epoch
+   */
+  public static long epochMillisOf(long id) {
+    return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+  }
+}
@@ -0,0 +1,141 @@
+package com.milestonemania.model.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdsTest {
+
+  private static final long NOW = TimeOrderedIds.EPOCH_MILLIS + 86_400_000L;
+  private static final int IDS_PER_MILLI = 1 << TimeOrderedIds.SEQUENCE_BITS;
+
+  private final AtomicLong clock = new AtomicLong(NOW);
+
+  /** Readings returned before falling back to {@link #clock}, one per read. */
+  private final Deque<Long> readings = new ArrayDeque<>();
+
+  private final TimeOrderedIds ids =
+      new TimeOrderedIds(1, () -> readings.isEmpty() ? clock.get() : readings.poll());
+
+  @Test
+  void next_ShouldEncodeTimeNodeAndSequence() {
+    // Given
+    TimeOrderedIds ids = new TimeOrderedIds(7, clock::get);
+
+    // When
+    long first = ids.next();
+    long second = ids.next();
+
+    // Then
+    assertThat(TimeOrderedIds.epochMillisOf(first)).isEqualTo(NOW);
+    assertThat(nodeOf(first)).isEqualTo(7);
+    assertThat(sequenceOf(first)).isZero();
+    assertThat(sequenceOf(second)).isEqualTo(1);
+    assertThat(first).isPositive().isLessThan(1L << 53);
+  }
+
+  @Test
+  void next_ShouldWaitForNextMillisecondWhenSequenceIsUsedUp() {
+    // Given
+    long last = 0;
+    for (int i = 0; i < IDS_PER_MILLI; i++) {
+      long id = ids.next();
+      assertThat(id).isGreaterThan(last);
+      last = id;
+    }
+    assertThat(sequenceOf(last)).isEqualTo(IDS_PER_MILLI - 1);
+
+    // When: the clock stays in the used-up millisecond for a few more reads
+    readings.addAll(List.of(NOW, NOW, NOW));
+    clock.set(NOW + 1);
+    long waited = ids.next();
+
+    // Then
+    assertThat(readings).isEmpty();
+    assertThat(waited).isGreaterThan(last);
+    assertThat(TimeOrderedIds.epochMillisOf(waited)).isEqualTo(NOW + 1);
+    assertThat(sequenceOf(waited)).isZero();
+  }
+
+  @Test
+  void next_ShouldContinueFromLastMillisecondWhenClockMovesBackWithinDrift() {
+    // Given
+    long before = ids.next();
+
+    // When
+    clock.set(NOW - TimeOrderedIds.MAX_CLOCK_DRIFT_MILLIS);
+    long after = ids.next();
+
+    // Then
+    assertThat(after).isGreaterThan(before);
+    assertThat(TimeOrderedIds.epochMillisOf(after)).isEqualTo(NOW);
+  }
+
+  @Test
+  void next_ShouldFailWhileClockIsBackBeyondDriftAndRecoverAfterwards() {
+    // Given
+    long before = ids.next();
+
+    // When / Then
+    clock.set(NOW - TimeOrderedIds.MAX_CLOCK_DRIFT_MILLIS - 1);
+    assertThatThrownBy(ids::next)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Clock of node 1");
+
+    clock.set(NOW + 1);
+    long recovered = ids.next();
+    assertThat(recovered).isGreaterThan(before);
+    assertThat(TimeOrderedIds.epochMillisOf(recovered)).isEqualTo(NOW + 1);
+  }
+
+  @Test
+  void next_ShouldKeepIdsUniqueAfterFailingWhileSequenceIsUsedUp() {
+    // Given: a used-up millisecond
+    Set<Long> issued = new HashSet<>();
+    long last = 0;
+    for (int i = 0; i < IDS_PER_MILLI; i++) {
+      last = ids.next();
+      issued.add(last);
+    }
+
+    // When: the clock jumps back beyond the drift while waiting for the next millisecond
+    readings.add(NOW);
+    clock.set(NOW - TimeOrderedIds.MAX_CLOCK_DRIFT_MILLIS - 1);
+    assertThatThrownBy(ids::next).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(ids::next).isInstanceOf(IllegalStateException.class);
+
+    // Then: once the clock is back, no ID is issued twice or out of order
+    readings.addAll(List.of(NOW, NOW));
+    clock.set(NOW + 1);
+    for (int i = 0; i < IDS_PER_MILLI; i++) {
+      long id = ids.next();
+      assertThat(id).isGreaterThan(last);
+      assertThat(issued.add(id)).isTrue();
+      last = id;
+    }
+  }
+
+  @Test
+  void constructor_ShouldRejectNodeIdOutOfRange() {
+    assertThatThrownBy(() -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID + 1, clock::get))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TimeOrderedIds(-1, clock::get))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static int nodeOf(long id) {
+    return (int) (id >>> TimeOrderedIds.SEQUENCE_BITS) & TimeOrderedIds.MAX_NODE_ID;
+  }
+
+  private static int sequenceOf(long id) {
+    return (int) id & (IDS_PER_MILLI - 1);
+  }
+}
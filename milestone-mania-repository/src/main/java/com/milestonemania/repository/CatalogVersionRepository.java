@@ -0,0 +1,28 @@
+package com.milestonemania.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.CatalogVersion;
+
+/**
+ * Repository interface for CatalogVersion entities.
+ * Stores the immutable catalog snapshots procedural games are derived from.
+ */
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+  /**
+   * Finds the ID of the catalog version with the given content hash without loading
+   * its content.
+   *
+   * @param contentHash hex-encoded SHA-256 of the catalog content
+   * @return Optional containing the version ID if the content is already stored
+   */
+  @Query("SELECT cv.id FROM CatalogVersion cv WHERE cv.contentHash = :contentHash")
+  Optional<Long> findIdByContentHash(@Param("contentHash") String contentHash);
+}
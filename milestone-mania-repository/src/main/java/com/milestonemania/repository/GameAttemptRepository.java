@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -134,4 +135,18 @@ public interface GameAttemptRepository extends JpaRepository<GameAttempt, Long>
           + "ORDER BY ga.attemptCount ASC, ga.completedAt ASC "
           + "LIMIT :limit")
   List<GameAttempt> findTopAttemptsByGame(@Param("game") Game game, @Param("limit") int limit);
+
+  /**
+   * Attaches attempts of a procedural game to its newly materialized game row, so
+   * game-based queries such as leaderboards include attempts made before materialization.
+   *
+   * @param game the materialized game
+   * @param slug the game slug
+   * @return number of attempts attached
+   */
+  @Modifying
+  @Query(
+      "UPDATE GameAttempt ga SET ga.game = :game "
+          + "WHERE ga.gameSlug = :slug AND ga.game IS NULL")
+  int attachToGame(@Param("game") Game game, @Param("slug") String slug);
 }
@@ -1,5 +1,6 @@
 package com.milestonemania.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.milestonemania.model.entity.Game;
 import com.milestonemania.model.entity.GameMilestone;
 import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.repository.projection.GameMilestoneIdRow;
 
 /**
  * Repository interface for GameMilestone entities.
@@ -88,4 +90,16 @@ public interface GameMilestoneRepository extends JpaRepository<GameMilestone, Lo
       @Param("game") Game game,
       @Param("minOrder") Integer minOrder,
       @Param("maxOrder") Integer maxOrder);
+
+  /**
+   * Finds the milestone IDs of several games at once, without loading entities.
+   *
+   * @param gameIds the game IDs
+   * @return one row per game milestone, in no particular order
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.GameMilestoneIdRow("
+          + "gm.game.id, gm.milestone.id) "
+          + "FROM GameMilestone gm WHERE gm.game.id IN :gameIds")
+  List<GameMilestoneIdRow> findMilestoneIdsByGameIds(@Param("gameIds") Collection<Long> gameIds);
 }
@@ -1,15 +1,21 @@
 package com.milestonemania.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.milestonemania.model.entity.Game;
+import com.milestonemania.repository.projection.GameFingerprintRow;
+import com.milestonemania.repository.projection.GameMilestoneRow;
 
 /**
  * Repository interface for Game entities.
@@ -66,4 +72,72 @@ public interface GameRepository extends JpaRepository<Game, Long> {
   @Query("SELECT COUNT(g) FROM Game g WHERE g.createdAt BETWEEN :startDate AND :endDate")
   long countByCreatedAtBetween(
       @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+  /**
+   * Streams the fingerprints of all fingerprinted games with an ID above the given one, so
+   * an in-memory fingerprint index can be loaded and then kept up to date incrementally.
+   * Must be consumed inside a transaction and closed.
+   *
+   * @param afterId only games with a greater ID are returned
+   * @return stream of fingerprint rows ordered by game ID
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.GameFingerprintRow(g.id, g.fingerprint) "
+          + "FROM Game g WHERE g.fingerprint IS NOT NULL AND g.id > :afterId ORDER BY g.id ASC")
+  Stream<GameFingerprintRow> streamFingerprintsAfter(@Param("afterId") long afterId);
+
+  /**
+   * Finds IDs of games created before fingerprinting, for backfilling.
+   *
+   * @param pageable page of IDs to return
+   * @return IDs of games without a fingerprint, in ascending order
+   */
+  @Query("SELECT g.id FROM Game g WHERE g.fingerprint IS NULL ORDER BY g.id ASC")
+  List<Long> findIdsWithoutFingerprint(Pageable pageable);
+
+  /**
+   * Sets the fingerprint of a game without loading it.
+   *
+   * @param id the game ID
+   * @param fingerprint the fingerprint of the game's milestone set
+   * @return number of games updated
+   */
+  @Modifying
+  @Query("UPDATE Game g SET g.fingerprint = :fingerprint WHERE g.id = :id")
+  int updateFingerprint(@Param("id") Long id, @Param("fingerprint") long fingerprint);
+
+  /**
+   * Finds a game by its slug, or by an alias slug of a deduplicated game, together with its
+   * milestones in one fetch-joined SELECT, without loading entities.
+   *
+   * @param slug the game slug or alias slug
+   * @return one row per milestone in correct chronological order; empty if no game matches
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.GameMilestoneRow("
+          + "g.id, g.name, g.createdAt, m.id, m.title, m.description) "
+          + "FROM GameMilestone gm JOIN gm.game g JOIN gm.milestone m "
+          + "WHERE g.id = COALESCE("
+          + "(SELECT s.id FROM Game s WHERE s.slug = :slug), "
+          + "(SELECT a.game.id FROM GameSlugAlias a WHERE a.slug = :slug)) "
+          + "ORDER BY gm.correctOrder ASC")
+  List<GameMilestoneRow> findMilestoneRowsBySlug(@Param("slug") String slug);
+
+  /**
+   * Finds milestones by ID together with the game row of a slug, if there is one, in one
+   * SELECT without loading entities. Used for procedural games, whose milestones follow from
+   * the slug and whose game row only exists once the game was shared.
+   *
+   * @param milestoneIds the milestone IDs
+   * @param slug the game slug
+   * @return one row per milestone found, in no particular order; game columns are null if
+   *     the slug has no game row
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.GameMilestoneRow("
+          + "g.id, g.name, g.createdAt, m.id, m.title, m.description) "
+          + "FROM Milestone m LEFT JOIN Game g ON g.slug = :slug "
+          + "WHERE m.id IN :milestoneIds")
+  List<GameMilestoneRow> findMilestoneRowsByIds(
+      @Param("milestoneIds") Collection<Long> milestoneIds, @Param("slug") String slug);
 }
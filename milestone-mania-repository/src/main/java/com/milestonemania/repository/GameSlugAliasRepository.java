@@ -0,0 +1,28 @@
+package com.milestonemania.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.Game;
+import com.milestonemania.model.entity.GameSlugAlias;
+
+/**
+ * Repository interface for GameSlugAlias entities.
+ * Resolves alias slugs of deduplicated games.
+ */
+@Repository
+public interface GameSlugAliasRepository extends JpaRepository<GameSlugAlias, String> {
+
+  /**
+   * Finds the game an alias slug resolves to.
+   *
+   * @param slug the alias slug
+   * @return Optional containing the game if the alias exists
+   */
+  @Query("SELECT a.game FROM GameSlugAlias a WHERE a.slug = :slug")
+  Optional<Game> findGameBySlug(@Param("slug") String slug);
+}
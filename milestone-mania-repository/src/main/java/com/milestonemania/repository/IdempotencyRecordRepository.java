@@ -0,0 +1,30 @@
+package com.milestonemania.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.IdempotencyRecord;
+
+/**
+ * Repository interface for IdempotencyRecord entities.
+ * Stores responses of requests made with an idempotency key.
+ */
+@Repository
+public interface IdempotencyRecordRepository
+    extends JpaRepository<IdempotencyRecord, IdempotencyRecord.RecordId> {
+
+  /**
+   * Deletes records older than the given time.
+   *
+   * @param cutoff records created before this are deleted
+   * @return number of deleted records
+   */
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+  int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package com.milestonemania.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.ImportCheckpoint;
+
+/**
+ * Repository interface for ImportCheckpoint entities, keyed by import source.
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {}
@@ -0,0 +1,40 @@
+package com.milestonemania.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.MilestoneRating;
+import com.milestonemania.repository.projection.MilestonePairRatingRow;
+import com.milestonemania.repository.projection.MilestoneRatingRow;
+
+/**
+ * Repository interface for MilestoneRating entities.
+ * Loads milestone and milestone pair difficulty ratings; updates go through
+ * {@link com.milestonemania.repository.rating.RatingDeltaWriter}.
+ */
+@Repository
+public interface MilestoneRatingRepository extends JpaRepository<MilestoneRating, Long> {
+
+  /**
+   * Streams every milestone rating. Must be consumed inside a transaction and closed.
+   *
+   * @return stream of rating rows
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.MilestoneRatingRow("
+          + "r.milestoneId, r.rating) FROM MilestoneRating r")
+  Stream<MilestoneRatingRow> streamAllRatings();
+
+  /**
+   * Streams every milestone pair rating. Must be consumed inside a transaction and closed.
+   *
+   * @return stream of pair rating rows
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.MilestonePairRatingRow("
+          + "r.firstMilestoneId, r.secondMilestoneId, r.rating) FROM MilestonePairRating r")
+  Stream<MilestonePairRatingRow> streamAllPairRatings();
+}
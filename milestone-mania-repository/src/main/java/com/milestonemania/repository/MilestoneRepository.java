@@ -1,6 +1,8 @@
 package com.milestonemania.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.repository.projection.MilestoneDateRow;
+import com.milestonemania.repository.projection.MilestoneSummaryRow;
+import com.milestonemania.repository.projection.MilestoneTagRow;
 
 /**
  * Repository interface for Milestone entities.
@@ -18,7 +23,9 @@ public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
 
   /**
    * Finds a random selection of milestones.
-   * Uses database-specific random function for better performance.
+   * Exact, but scans and sorts the whole table; see
+   * {@link com.milestonemania.repository.random.RandomMilestoneSelector} for
+   * dialect-specific strategies that scale to large catalogs.
    *
    * @param count the number of random milestones to retrieve
    * @return list of randomly selected milestones
@@ -26,19 +33,6 @@ public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
   @Query(value = "SELECT * FROM milestones ORDER BY RANDOM() LIMIT :count", nativeQuery = true)
   List<Milestone> findRandomMilestones(@Param("count") int count);
 
-  /**
-   * Alternative implementation for databases that don't support RANDOM().
-   * PostgreSQL version - uncomment if using PostgreSQL
-   */
-  // @Query(value = "SELECT * FROM milestones ORDER BY RANDOM() LIMIT :count",
-  //        nativeQuery = true)
-
-  /**
-   * MySQL version - uncomment if using MySQL
-   */
-  // @Query(value = "SELECT * FROM milestones ORDER BY RAND() LIMIT :count",
-  //        nativeQuery = true)
-
   /**
    * Counts total number of milestones available.
    * Used to verify sufficient milestones exist for game creation.
@@ -61,4 +55,43 @@ public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
           + "LOWER(m.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
   List<Milestone> findByTitleOrDescriptionContainingIgnoreCase(
       @Param("searchTerm") String searchTerm);
+
+  /**
+   * Streams the (id, actualDate) pairs of every milestone in chronological order.
+   * Follows the idx_milestone_actual_date ordering so in-memory catalogs can be
+   * rebuilt without a sort. Must be consumed inside a transaction and closed.
+   *
+   * @return stream of milestone date rows ordered by actual date, then ID
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.MilestoneDateRow(m.id, m.actualDate) "
+          + "FROM Milestone m ORDER BY m.actualDate ASC, m.id ASC")
+  Stream<MilestoneDateRow> streamAllOrderedByActualDate();
+
+  /**
+   * Streams every (tag, milestone) assignment, grouped by tag and in chronological order
+   * within each tag, so tag bitmaps over catalog ordinals can be built by appending.
+   * Must be consumed inside a transaction and closed.
+   *
+   * @return stream of tag rows ordered by tag name, actual date, then milestone ID
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.MilestoneTagRow("
+          + "t.name, m.id, m.actualDate) "
+          + "FROM Milestone m JOIN m.tags t "
+          + "ORDER BY t.name ASC, m.actualDate ASC, m.id ASC")
+  Stream<MilestoneTagRow> streamAllTagAssignments();
+
+  /**
+   * Finds the displayed fields of milestones by ID, without loading entities. Reads only the
+   * milestones table, so it does not flush pending inserts of other tables.
+   *
+   * @param ids the milestone IDs
+   * @return one row per milestone found, in no particular order
+   */
+  @Query(
+      "SELECT new com.milestonemania.repository.projection.MilestoneSummaryRow("
+          + "m.id, m.title, m.description) "
+          + "FROM Milestone m WHERE m.id IN :ids")
+  List<MilestoneSummaryRow> findSummariesByIds(@Param("ids") Collection<Long> ids);
 }
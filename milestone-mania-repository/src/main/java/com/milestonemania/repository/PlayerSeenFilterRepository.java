@@ -0,0 +1,32 @@
+package com.milestonemania.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.PlayerSeenFilter;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for PlayerSeenFilter entities.
+ * Stores the per-player seen-milestone filters.
+ */
+@Repository
+public interface PlayerSeenFilterRepository extends JpaRepository<PlayerSeenFilter, String> {
+
+  /**
+   * Finds a player's filter and locks its row until the surrounding transaction ends, so
+   * concurrent nodes merge their changes instead of overwriting each other.
+   *
+   * @param playerName the player name
+   * @return Optional containing the locked filter if it exists
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT f FROM PlayerSeenFilter f WHERE f.playerName = :playerName")
+  Optional<PlayerSeenFilter> findByPlayerNameForUpdate(@Param("playerName") String playerName);
+}
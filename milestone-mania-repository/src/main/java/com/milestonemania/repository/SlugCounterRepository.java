@@ -0,0 +1,32 @@
+package com.milestonemania.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.SlugCounter;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for SlugCounter entities.
+ * Provides block reservation on the cluster-wide slug counters.
+ */
+@Repository
+public interface SlugCounterRepository extends JpaRepository<SlugCounter, String> {
+
+  /**
+   * Finds a counter and locks its row until the surrounding transaction ends, so
+   * concurrent nodes reserve disjoint blocks.
+   *
+   * @param name the counter name
+   * @return Optional containing the locked counter if it exists
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM SlugCounter c WHERE c.name = :name")
+  Optional<SlugCounter> findByNameForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,34 @@
+package com.milestonemania.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.Tag;
+
+/**
+ * Repository interface for Tag entities.
+ * Provides data access operations for milestone tagging.
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+  /**
+   * Finds a tag by its unique name.
+   *
+   * @param name the lower-case tag name
+   * @return Optional containing the tag if found
+   */
+  Optional<Tag> findByName(String name);
+
+  /**
+   * Finds all tags with the given names.
+   *
+   * @param names the lower-case tag names
+   * @return list of existing tags; unknown names are ignored
+   */
+  List<Tag> findByNameIn(Collection<String> names);
+}
@@ -0,0 +1,12 @@
+package com.milestonemania.repository.attempt;
+
+import java.time.LocalDateTime;
+
+/**
+ * A validated submission waiting to be applied to its attempt.
+ *
+ * @param attemptId the attempt ID
+ * @param correct whether the submitted order was correct
+ * @param submittedAt the completion time for a correct submission
+ */
+public record AttemptSubmission(long attemptId, boolean correct, LocalDateTime submittedAt) {}
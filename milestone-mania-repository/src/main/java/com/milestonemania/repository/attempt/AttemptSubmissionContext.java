@@ -0,0 +1,12 @@
+package com.milestonemania.repository.attempt;
+
+import com.milestonemania.model.enums.AttemptStatus;
+
+/**
+ * What a submission needs to know about its attempt, read in one query.
+ *
+ * @param status the attempt status
+ * @param attemptCount the current attempt count
+ * @param gameSlug the slug the attempt was started under
+ */
+public record AttemptSubmissionContext(AttemptStatus status, int attemptCount, String gameSlug) {}
@@ -0,0 +1,268 @@
+package com.milestonemania.repository.attempt;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.milestonemania.model.enums.AttemptStatus;
+import com.milestonemania.repository.outbox.OutboxEventRepository;
+import com.milestonemania.repository.random.DatabaseDialect;
+
+/**
+ * Reads and applies attempt submissions with plain SQL instead of loading and saving the
+ * versioned {@code GameAttempt} entity.
+ * <p>
+ * A submission is applied as one conditional {@code UPDATE ... WHERE status = 'IN_PROGRESS'}
+ * that returns the new attempt count: {@code RETURNING} on PostgreSQL, a {@code FINAL TABLE}
+ * query on H2, and a follow-up read of the row just locked elsewhere. Concurrent submissions
+ * of one attempt queue on the row lock and apply one after the other; once one completes the
+ * attempt, the others match no row. Attempts played with signed tokens have no row until
+ * {@link #insertCompleted} stores them on completion. Every completion appends its event to
+ * the outbox in the same transaction.
+ */
+@Repository
+public class AttemptSubmissionRepository {
+
+  private static final String SELECT_CONTEXT =
+      "SELECT a.status, a.attempt_count, COALESCE(a.game_slug, g.slug) AS game_slug "
+          + "FROM game_attempts a "
+          + "LEFT JOIN games g ON g.id = a.game_id "
+          + "WHERE a.id = :id";
+
+  private static final String COMPLETE =
+      "UPDATE game_attempts SET status = 'COMPLETED', completed_at = :now, version = version + 1 "
+          + "WHERE id = :id AND status = 'IN_PROGRESS'";
+  private static final String RETRY =
+      "UPDATE game_attempts SET attempt_count = attempt_count + 1, version = version + 1 "
+          + "WHERE id = :id AND status = 'IN_PROGRESS'";
+  private static final String SELECT_ATTEMPT_COUNT =
+      "SELECT attempt_count FROM game_attempts WHERE id = :id";
+  private static final String SELECT_ATTEMPT_COUNTS =
+      "SELECT id, attempt_count FROM game_attempts WHERE id IN (:ids)";
+  // GREATEST keeps counts monotonic when a stale in-memory session writes after a newer one
+  private static final String CHECKPOINT_COUNT =
+      "UPDATE game_attempts SET attempt_count = GREATEST(attempt_count, :attemptCount), "
+          + "version = version + 1 "
+          + "WHERE id = :id AND status = 'IN_PROGRESS'";
+  private static final String COMPLETE_WITH_COUNT =
+      "UPDATE game_attempts SET status = 'COMPLETED', completed_at = :now, "
+          + "attempt_count = GREATEST(attempt_count, :attemptCount), version = version + 1 "
+          + "WHERE id = :id AND status = 'IN_PROGRESS'";
+  private static final String INSERT_COMPLETED =
+      "INSERT INTO game_attempts "
+          + "(id, game_id, game_slug, player_name, status, attempt_count, created_at, "
+          + "completed_at, version) "
+          + "VALUES (:id, :gameId, :gameSlug, :playerName, 'COMPLETED', :attemptCount, "
+          + ":createdAt, :completedAt, 0)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final DatabaseDialect dialect;
+  private final OutboxEventRepository outboxEventRepository;
+
+  public AttemptSubmissionRepository(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      DataSource dataSource,
+      OutboxEventRepository outboxEventRepository) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.dialect = DatabaseDialect.detect(dataSource);
+    this.outboxEventRepository = outboxEventRepository;
+  }
+
+  /**
+   * Reads the attempt's status, count and slug; the game's answer key is cached by slug. Runs
+   * in its own transaction when called outside one, so the connection is released before the
+   * caller waits for the update to be committed.
+   *
+   * @param attemptId the attempt ID
+   * @return the context, or empty if no attempt has the ID
+   */
+  @Transactional(readOnly = true)
+  public Optional<AttemptSubmissionContext> findContext(long attemptId) {
+    return jdbcTemplate.query(
+        SELECT_CONTEXT,
+        new MapSqlParameterSource("id", attemptId),
+        rs ->
+            rs.next()
+                ? Optional.of(
+                    new AttemptSubmissionContext(
+                        AttemptStatus.valueOf(rs.getString("status")),
+                        rs.getInt("attempt_count"),
+                        rs.getString("game_slug")))
+                : Optional.empty());
+  }
+
+  /**
+   * Writes attempt counts kept in memory back to their in-progress attempts, as one JDBC batch.
+   * Counts never decrease. Must run inside a transaction.
+   *
+   * @param attemptCounts attempt count by attempt ID
+   */
+  public void checkpointAttemptCounts(Map<Long, Integer> attemptCounts) {
+    if (attemptCounts.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        CHECKPOINT_COUNT,
+        attemptCounts.entrySet().stream()
+            .map(
+                entry ->
+                    new MapSqlParameterSource("id", entry.getKey())
+                        .addValue("attemptCount", entry.getValue()))
+            .toArray(MapSqlParameterSource[]::new));
+  }
+
+  /**
+   * Completes an in-progress attempt whose count was kept in memory.
+   *
+   * @param attemptId the attempt ID
+   * @param attemptCount the attempt count of the correct submission
+   * @param now the completion time
+   * @return false if the attempt was no longer in progress
+   */
+  public boolean completeAttempt(long attemptId, int attemptCount, LocalDateTime now) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource("id", attemptId)
+            .addValue("attemptCount", attemptCount)
+            .addValue("now", Timestamp.valueOf(now));
+    if (jdbcTemplate.update(COMPLETE_WITH_COUNT, params) == 0) {
+      return false;
+    }
+    outboxEventRepository.appendCompleted(List.of(attemptId));
+    return true;
+  }
+
+  /**
+   * Stores an attempt that had no row while in progress, directly as completed. Runs in its own
+   * transaction when called outside one, together with the completion event.
+   *
+   * @param attempt the completed attempt
+   * @return false if a row with the attempt ID exists already, i.e. it was completed before
+   */
+  @Transactional
+  public boolean insertCompleted(CompletedAttempt attempt) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource("id", attempt.id())
+            .addValue("gameId", attempt.gameId())
+            .addValue("gameSlug", attempt.gameSlug())
+            .addValue("playerName", attempt.playerName())
+            .addValue("attemptCount", attempt.attemptCount())
+            .addValue("createdAt", Timestamp.valueOf(attempt.createdAt()))
+            .addValue("completedAt", Timestamp.valueOf(attempt.completedAt()));
+    try {
+      jdbcTemplate.update(INSERT_COMPLETED, params);
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+    outboxEventRepository.appendCompleted(List.of(attempt.id()));
+    return true;
+  }
+
+  /**
+   * Applies a submission to an in-progress attempt: a correct one completes it, an incorrect
+   * one increments its attempt count. Must run inside a transaction.
+   *
+   * @param attemptId the attempt ID
+   * @param correct whether the submitted order was correct
+   * @param now the completion time for a correct submission
+   * @return the attempt count after the submission, or empty if the attempt was not in
+   *     progress
+   */
+  public OptionalInt applySubmission(long attemptId, boolean correct, LocalDateTime now) {
+    String update = correct ? COMPLETE : RETRY;
+    MapSqlParameterSource params =
+        new MapSqlParameterSource("id", attemptId).addValue("now", Timestamp.valueOf(now));
+
+    List<Integer> counts =
+        switch (dialect) {
+          case POSTGRESQL ->
+              jdbcTemplate.queryForList(update + " RETURNING attempt_count", params, Integer.class);
+          case H2 ->
+              jdbcTemplate.queryForList(
+                  "SELECT attempt_count FROM FINAL TABLE (" + update + ")", params, Integer.class);
+          default -> {
+            if (jdbcTemplate.update(update, params) == 0) {
+              yield List.of();
+            }
+            // The row stays locked by the update, so this reads its new count
+            yield jdbcTemplate.queryForList(SELECT_ATTEMPT_COUNT, params, Integer.class);
+          }
+        };
+    if (counts.isEmpty()) {
+      return OptionalInt.empty();
+    }
+    if (correct) {
+      outboxEventRepository.appendCompleted(List.of(attemptId));
+    }
+    return OptionalInt.of(counts.get(0));
+  }
+
+  /**
+   * Applies submissions of distinct attempts like {@link #applySubmission}, as one JDBC batch
+   * per kind of submission plus one read of the new counts. Must run inside a transaction.
+   *
+   * @param submissions submissions, at most one per attempt
+   * @return the attempt count after the submission by attempt ID, for the attempts that were
+   *     still in progress
+   */
+  public Map<Long, Integer> applySubmissions(List<AttemptSubmission> submissions) {
+    List<MapSqlParameterSource> completions = new ArrayList<>();
+    List<MapSqlParameterSource> retries = new ArrayList<>();
+    List<Long> completionIds = new ArrayList<>();
+    List<Long> retryIds = new ArrayList<>();
+    for (AttemptSubmission submission : submissions) {
+      MapSqlParameterSource params = new MapSqlParameterSource("id", submission.attemptId());
+      if (submission.correct()) {
+        completions.add(params.addValue("now", Timestamp.valueOf(submission.submittedAt())));
+        completionIds.add(submission.attemptId());
+      } else {
+        retries.add(params);
+        retryIds.add(submission.attemptId());
+      }
+    }
+
+    List<Long> applied = new ArrayList<>(submissions.size());
+    collectApplied(COMPLETE, completions, completionIds, applied);
+    // Only the completions are collected so far
+    outboxEventRepository.appendCompleted(applied);
+    collectApplied(RETRY, retries, retryIds, applied);
+    if (applied.isEmpty()) {
+      return Map.of();
+    }
+
+    // The updated rows stay locked until commit, so these are the counts just written
+    Map<Long, Integer> counts = new HashMap<>();
+    jdbcTemplate.query(
+        SELECT_ATTEMPT_COUNTS,
+        new MapSqlParameterSource("ids", applied),
+        rs -> {
+          counts.put(rs.getLong("id"), rs.getInt("attempt_count"));
+        });
+    return counts;
+  }
+
+  private void collectApplied(
+      String update, List<MapSqlParameterSource> batch, List<Long> ids, List<Long> applied) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    int[] updated = jdbcTemplate.batchUpdate(update, batch.toArray(MapSqlParameterSource[]::new));
+    for (int i = 0; i < updated.length; i++) {
+      // PostgreSQL and H2 report per-row counts; SUCCESS_NO_INFO is taken as applied
+      if (updated[i] != 0) {
+        applied.add(ids.get(i));
+      }
+    }
+  }
+}
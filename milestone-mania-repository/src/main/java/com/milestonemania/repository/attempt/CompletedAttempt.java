@@ -0,0 +1,23 @@
+package com.milestonemania.repository.attempt;
+
+import java.time.LocalDateTime;
+
+/**
+ * An attempt played without a row until it was completed.
+ *
+ * @param id the attempt ID assigned when the attempt started
+ * @param gameId the game row, or null for a procedural game without one
+ * @param gameSlug the game slug
+ * @param playerName the player name
+ * @param attemptCount the attempt count of the correct submission
+ * @param createdAt when the attempt started
+ * @param completedAt when the attempt was completed
+ */
+public record CompletedAttempt(
+    long id,
+    Long gameId,
+    String gameSlug,
+    String playerName,
+    int attemptCount,
+    LocalDateTime createdAt,
+    LocalDateTime completedAt) {}
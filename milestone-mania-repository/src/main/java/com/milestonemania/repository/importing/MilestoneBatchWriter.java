@@ -0,0 +1,149 @@
+package com.milestonemania.repository.importing;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.model.id.TimeOrderedIds;
+
+/**
+ * Writes imported milestones, their tags and their content hashes with JDBC batches, without
+ * loading anything into the persistence context. All methods must run inside a transaction.
+ */
+@Repository
+public class MilestoneBatchWriter {
+
+  private static final String SELECT_EXISTING_HASHES =
+      "SELECT content_hash FROM milestones WHERE content_hash IN (:hashes)";
+  private static final String INSERT_MILESTONE =
+      "INSERT INTO milestones (id, title, description, actual_date, content_hash) "
+          + "VALUES (?, ?, ?, ?, ?)";
+  private static final String SELECT_TAGS = "SELECT id, name FROM tags WHERE name IN (:names)";
+  private static final String INSERT_TAG = "INSERT INTO tags (id, name) VALUES (?, ?)";
+  private static final String INSERT_MILESTONE_TAG =
+      "INSERT INTO milestone_tags (milestone_id, tag_id) VALUES (?, ?)";
+  private static final String SELECT_UNHASHED =
+      "SELECT id, title, actual_date FROM milestones WHERE content_hash IS NULL "
+          + "ORDER BY id LIMIT :limit";
+  private static final String UPDATE_HASH = "UPDATE milestones SET content_hash = ? WHERE id = ?";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final JdbcOperations jdbc;
+  private final TimeOrderedIds timeOrderedIds;
+
+  public MilestoneBatchWriter(
+      NamedParameterJdbcTemplate jdbcTemplate, TimeOrderedIds timeOrderedIds) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.jdbc = jdbcTemplate.getJdbcOperations();
+    this.timeOrderedIds = timeOrderedIds;
+  }
+
+  /**
+   * Returns which of the given content hashes already belong to a milestone.
+   *
+   * @param hashes content hashes
+   * @return the subset already stored
+   */
+  public Set<Long> findExistingHashes(Collection<Long> hashes) {
+    if (hashes.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            SELECT_EXISTING_HASHES, new MapSqlParameterSource("hashes", hashes), Long.class));
+  }
+
+  /**
+   * Inserts milestones and links their tags, creating missing tags.
+   *
+   * @param milestones the milestones
+   */
+  public void insertMilestones(List<NewMilestone> milestones) {
+    List<Object[]> milestoneRows = new ArrayList<>(milestones.size());
+    List<Long> milestoneIds = new ArrayList<>(milestones.size());
+    Set<String> tagNames = new LinkedHashSet<>();
+    for (NewMilestone milestone : milestones) {
+      long id = timeOrderedIds.next();
+      milestoneIds.add(id);
+      milestoneRows.add(
+          new Object[] {
+            id,
+            milestone.title(),
+            milestone.description(),
+            Date.valueOf(milestone.actualDate()),
+            milestone.contentHash()
+          });
+      tagNames.addAll(milestone.tags());
+    }
+    jdbc.batchUpdate(INSERT_MILESTONE, milestoneRows);
+    if (tagNames.isEmpty()) {
+      return;
+    }
+
+    Map<String, Long> tagIds = findOrCreateTags(tagNames);
+    List<Object[]> tagRows = new ArrayList<>();
+    for (int i = 0; i < milestones.size(); i++) {
+      for (String tag : new LinkedHashSet<>(milestones.get(i).tags())) {
+        tagRows.add(new Object[] {milestoneIds.get(i), tagIds.get(tag)});
+      }
+    }
+    jdbc.batchUpdate(INSERT_MILESTONE_TAG, tagRows);
+  }
+
+  /**
+   * Fills in the content hash of milestones written before hashing, a chunk at a time.
+   *
+   * @param limit the maximum number of milestones to update
+   * @return the number of milestones updated; 0 once all have a hash
+   */
+  public int backfillContentHashes(int limit) {
+    List<Object[]> updates =
+        jdbcTemplate.query(
+            SELECT_UNHASHED,
+            new MapSqlParameterSource("limit", limit),
+            (rs, rowNum) ->
+                new Object[] {
+                  Milestone.contentHashOf(
+                      rs.getString("title"), rs.getDate("actual_date").toLocalDate()),
+                  rs.getLong("id")
+                });
+    if (!updates.isEmpty()) {
+      jdbc.batchUpdate(UPDATE_HASH, updates);
+    }
+    return updates.size();
+  }
+
+  private Map<String, Long> findOrCreateTags(Collection<String> names) {
+    Map<String, Long> tagIds = new HashMap<>();
+    jdbcTemplate.query(
+        SELECT_TAGS,
+        new MapSqlParameterSource("names", names),
+        rs -> {
+          tagIds.put(rs.getString("name"), rs.getLong("id"));
+        });
+    List<Object[]> newTags = new ArrayList<>();
+    for (String name : names) {
+      if (!tagIds.containsKey(name)) {
+        long id = timeOrderedIds.next();
+        tagIds.put(name, id);
+        newTags.add(new Object[] {id, name});
+      }
+    }
+    if (!newTags.isEmpty()) {
+      jdbc.batchUpdate(INSERT_TAG, newTags);
+    }
+    return tagIds;
+  }
+}
@@ -0,0 +1,16 @@
+package com.milestonemania.repository.importing;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A milestone to be written by {@link MilestoneBatchWriter}.
+ *
+ * @param title the title
+ * @param description the description; may be null
+ * @param actualDate the date
+ * @param contentHash the hash of normalized title and date
+ * @param tags lower-case tag names; created if they do not exist
+ */
+public record NewMilestone(
+    String title, String description, LocalDate actualDate, long contentHash, List<String> tags) {}
@@ -0,0 +1,25 @@
+package com.milestonemania.repository.outbox;
+
+import java.time.LocalDateTime;
+
+import com.milestonemania.model.enums.GameEventType;
+
+/**
+ * A game event waiting in the outbox.
+ *
+ * @param id the event ID, time-ordered
+ * @param type what happened to the attempt
+ * @param gameSlug the game slug
+ * @param attemptId the attempt ID
+ * @param playerName the player name; may be null
+ * @param attemptCount the attempt count when the event occurred
+ * @param occurredAt when the attempt started or was completed
+ */
+public record OutboxEntry(
+    long id,
+    GameEventType type,
+    String gameSlug,
+    long attemptId,
+    String playerName,
+    int attemptCount,
+    LocalDateTime occurredAt) {}
@@ -0,0 +1,142 @@
+package com.milestonemania.repository.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.milestonemania.model.enums.GameEventType;
+import com.milestonemania.model.id.TimeOrderedIds;
+
+/**
+ * Writes game events to the {@code outbox_events} table and reads them back for the relay.
+ * <p>
+ * Events are appended in the caller's transaction, so an event exists exactly if the attempt
+ * change it describes was committed. Completion events are copied from the attempt row just
+ * updated or inserted, so callers only pass attempt IDs. Event IDs come from the same
+ * time-ordered generator as entity IDs: events of one instance sort in the order they were
+ * written, those of different instances to within clock skew. With
+ * {@code milestone-mania.outbox.enabled} off, appending does nothing.
+ */
+@Repository
+public class OutboxEventRepository {
+
+  private static final String INSERT_STARTED =
+      "INSERT INTO outbox_events "
+          + "(id, event_type, game_slug, attempt_id, player_name, attempt_count, occurred_at) "
+          + "VALUES (:id, 'STARTED', :gameSlug, :attemptId, :playerName, 1, :occurredAt)";
+  private static final String INSERT_COMPLETED =
+      "INSERT INTO outbox_events "
+          + "(id, event_type, game_slug, attempt_id, player_name, attempt_count, occurred_at) "
+          + "SELECT :id, 'COMPLETED', COALESCE(a.game_slug, g.slug), a.id, a.player_name, "
+          + "a.attempt_count, a.completed_at "
+          + "FROM game_attempts a "
+          + "LEFT JOIN games g ON g.id = a.game_id "
+          + "WHERE a.id = :attemptId";
+  private static final String SELECT_OLDEST =
+      "SELECT id, event_type, game_slug, attempt_id, player_name, attempt_count, occurred_at "
+          + "FROM outbox_events WHERE id > :afterId ORDER BY id LIMIT :limit";
+  private static final String DELETE = "DELETE FROM outbox_events WHERE id IN (:ids)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TimeOrderedIds timeOrderedIds;
+  private final boolean enabled;
+
+  public OutboxEventRepository(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      TimeOrderedIds timeOrderedIds,
+      @Value("${milestone-mania.outbox.enabled:false}") boolean enabled) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.timeOrderedIds = timeOrderedIds;
+    this.enabled = enabled;
+  }
+
+  /** Returns whether game events are written. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Appends the start of an attempt. Must run inside the transaction storing the attempt.
+   *
+   * @param attemptId the attempt ID
+   * @param gameSlug the game slug
+   * @param playerName the player name; may be null
+   * @param startedAt when the attempt started
+   */
+  public void appendStarted(
+      long attemptId, String gameSlug, String playerName, LocalDateTime startedAt) {
+    if (!enabled) {
+      return;
+    }
+    jdbcTemplate.update(
+        INSERT_STARTED,
+        new MapSqlParameterSource("id", timeOrderedIds.next())
+            .addValue("gameSlug", gameSlug)
+            .addValue("attemptId", attemptId)
+            .addValue("playerName", playerName)
+            .addValue("occurredAt", Timestamp.valueOf(startedAt)));
+  }
+
+  /**
+   * Appends the completion of attempts, as one JDBC batch. Must run inside the transaction
+   * that completed them.
+   *
+   * @param attemptIds IDs of attempts just completed
+   */
+  public void appendCompleted(Collection<Long> attemptIds) {
+    if (!enabled || attemptIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_COMPLETED,
+        attemptIds.stream()
+            .map(
+                attemptId ->
+                    new MapSqlParameterSource("id", timeOrderedIds.next())
+                        .addValue("attemptId", attemptId))
+            .toArray(MapSqlParameterSource[]::new));
+  }
+
+  /**
+   * Reads the oldest events still in the outbox after an event ID, so a reader can page past
+   * events it has to leave in the outbox.
+   *
+   * @param afterId read only events with a greater ID; {@link Long#MIN_VALUE} for all
+   * @param limit the maximum number of events
+   * @return events in ID order
+   */
+  @Transactional(readOnly = true)
+  public List<OutboxEntry> findOldest(long afterId, int limit) {
+    return jdbcTemplate.query(
+        SELECT_OLDEST,
+        new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+        (rs, rowNum) ->
+            new OutboxEntry(
+                rs.getLong("id"),
+                GameEventType.valueOf(rs.getString("event_type")),
+                rs.getString("game_slug"),
+                rs.getLong("attempt_id"),
+                rs.getString("player_name"),
+                rs.getInt("attempt_count"),
+                rs.getTimestamp("occurred_at").toLocalDateTime()));
+  }
+
+  /**
+   * Removes dispatched events.
+   *
+   * @param ids the event IDs
+   */
+  @Transactional
+  public void delete(Collection<Long> ids) {
+    if (!ids.isEmpty()) {
+      jdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids));
+    }
+  }
+}
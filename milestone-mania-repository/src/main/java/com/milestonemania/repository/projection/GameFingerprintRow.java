@@ -0,0 +1,9 @@
+package com.milestonemania.repository.projection;
+
+/**
+ * Lightweight (gameId, fingerprint) row used to build the in-memory game fingerprint index.
+ *
+ * @param gameId the game ID
+ * @param fingerprint the fingerprint of the game's milestone set
+ */
+public record GameFingerprintRow(Long gameId, Long fingerprint) {}
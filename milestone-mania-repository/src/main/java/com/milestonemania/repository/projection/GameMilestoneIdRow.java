@@ -0,0 +1,9 @@
+package com.milestonemania.repository.projection;
+
+/**
+ * Lightweight (gameId, milestoneId) row used to fingerprint games in bulk.
+ *
+ * @param gameId the game ID
+ * @param milestoneId the ID of one of the game's milestones
+ */
+public record GameMilestoneIdRow(Long gameId, Long milestoneId) {}
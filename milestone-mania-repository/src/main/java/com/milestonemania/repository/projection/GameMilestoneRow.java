@@ -0,0 +1,22 @@
+package com.milestonemania.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat (game, milestone) row read in one fetch-joined SELECT, so a game and its milestones
+ * can be mapped to DTOs without managed Game, GameMilestone or Milestone entities.
+ *
+ * @param gameId the game ID; null if a procedural game has no game row yet
+ * @param gameName the game name; null without a game row
+ * @param gameCreatedAt when the game was created; null without a game row
+ * @param milestoneId the milestone ID
+ * @param title the milestone title
+ * @param description the milestone description; may be null
+ */
+public record GameMilestoneRow(
+    Long gameId,
+    String gameName,
+    LocalDateTime gameCreatedAt,
+    Long milestoneId,
+    String title,
+    String description) {}
@@ -0,0 +1,12 @@
+package com.milestonemania.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight (id, actualDate) row used to build in-memory milestone catalogs
+ * without materializing managed Milestone entities.
+ *
+ * @param id the milestone ID
+ * @param actualDate the historical date of the milestone
+ */
+public record MilestoneDateRow(Long id, LocalDate actualDate) {}
@@ -0,0 +1,12 @@
+package com.milestonemania.repository.projection;
+
+/**
+ * Lightweight (firstMilestoneId, secondMilestoneId, rating) row used to load in-memory pair
+ * difficulty ratings.
+ *
+ * @param firstMilestoneId the lower milestone ID of the pair
+ * @param secondMilestoneId the higher milestone ID of the pair
+ * @param rating the pair's difficulty rating
+ */
+public record MilestonePairRatingRow(
+    Long firstMilestoneId, Long secondMilestoneId, Double rating) {}
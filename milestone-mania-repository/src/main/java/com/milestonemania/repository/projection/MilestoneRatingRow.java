@@ -0,0 +1,9 @@
+package com.milestonemania.repository.projection;
+
+/**
+ * Lightweight (milestoneId, rating) row used to load in-memory difficulty ratings.
+ *
+ * @param milestoneId the milestone ID
+ * @param rating the milestone's difficulty rating
+ */
+public record MilestoneRatingRow(Long milestoneId, Double rating) {}
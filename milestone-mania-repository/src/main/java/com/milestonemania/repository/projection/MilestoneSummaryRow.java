@@ -0,0 +1,11 @@
+package com.milestonemania.repository.projection;
+
+/**
+ * Lightweight (id, title, description) row used to show milestones without materializing
+ * managed Milestone entities.
+ *
+ * @param id the milestone ID
+ * @param title the milestone title
+ * @param description the milestone description; may be null
+ */
+public record MilestoneSummaryRow(Long id, String title, String description) {}
@@ -0,0 +1,13 @@
+package com.milestonemania.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight (tagName, milestoneId, actualDate) row used to build in-memory tag indexes.
+ * The actual date lets the catalog locate the milestone's ordinal by binary search.
+ *
+ * @param tagName the tag name
+ * @param milestoneId the tagged milestone ID
+ * @param actualDate the historical date of the tagged milestone
+ */
+public record MilestoneTagRow(String tagName, Long milestoneId, LocalDate actualDate) {}
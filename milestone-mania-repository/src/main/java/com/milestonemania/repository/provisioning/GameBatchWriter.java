@@ -0,0 +1,66 @@
+package com.milestonemania.repository.provisioning;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.milestonemania.model.id.TimeOrderedIds;
+
+/**
+ * Inserts many games and their game milestones with two JDBC batches, bypassing the entity
+ * manager: no entities are instantiated, cascaded or kept in the persistence context. IDs come
+ * from the same time-ordered generator the entities use.
+ */
+@Repository
+public class GameBatchWriter {
+
+  private static final String INSERT_GAME =
+      "INSERT INTO games (id, slug, name, created_at, fingerprint) VALUES (?, ?, ?, ?, ?)";
+  private static final String INSERT_GAME_MILESTONE =
+      "INSERT INTO game_milestones (id, game_id, milestone_id, correct_order) VALUES (?, ?, ?, ?)";
+
+  private final JdbcOperations jdbc;
+  private final TimeOrderedIds timeOrderedIds;
+
+  public GameBatchWriter(NamedParameterJdbcTemplate jdbcTemplate, TimeOrderedIds timeOrderedIds) {
+    this.jdbc = jdbcTemplate.getJdbcOperations();
+    this.timeOrderedIds = timeOrderedIds;
+  }
+
+  /**
+   * Inserts games with their milestones. Must run inside a transaction.
+   *
+   * @param games the games; their slugs must not exist yet
+   * @return the assigned game IDs, in the order of {@code games}
+   */
+  public long[] insertGames(List<NewGame> games) {
+    long[] gameIds = new long[games.size()];
+    List<Object[]> gameRows = new ArrayList<>(games.size());
+    List<Object[]> milestoneRows = new ArrayList<>(games.size() * 5);
+    for (int i = 0; i < games.size(); i++) {
+      NewGame game = games.get(i);
+      gameIds[i] = timeOrderedIds.next();
+      gameRows.add(
+          new Object[] {
+            gameIds[i],
+            game.slug(),
+            game.name(),
+            Timestamp.valueOf(game.createdAt()),
+            game.fingerprint()
+          });
+      long[] milestoneIds = game.milestoneIds();
+      for (int order = 0; order < milestoneIds.length; order++) {
+        milestoneRows.add(
+            new Object[] {timeOrderedIds.next(), gameIds[i], milestoneIds[order], order + 1});
+      }
+    }
+    // Games first, their milestones reference them
+    jdbc.batchUpdate(INSERT_GAME, gameRows);
+    jdbc.batchUpdate(INSERT_GAME_MILESTONE, milestoneRows);
+    return gameIds;
+  }
+}
@@ -0,0 +1,15 @@
+package com.milestonemania.repository.provisioning;
+
+import java.time.LocalDateTime;
+
+/**
+ * A game to be written by {@link GameBatchWriter}.
+ *
+ * @param slug the game slug
+ * @param name the display name
+ * @param createdAt the creation time
+ * @param fingerprint the fingerprint of the milestone set
+ * @param milestoneIds milestone IDs in correct order
+ */
+public record NewGame(
+    String slug, String name, LocalDateTime createdAt, long fingerprint, long[] milestoneIds) {}
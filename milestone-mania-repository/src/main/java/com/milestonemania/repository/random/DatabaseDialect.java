@@ -0,0 +1,49 @@
+package com.milestonemania.repository.random;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import javax.sql.DataSource;
+
+/**
+ * Database families that need dialect-specific native SQL.
+ */
+public enum DatabaseDialect {
+  POSTGRESQL,
+  MYSQL,
+  H2,
+  OTHER;
+
+  /**
+   * Detects the dialect from the JDBC metadata of the given data source.
+   *
+   * @param dataSource the data source to inspect
+   * @return the detected dialect, or OTHER if it cannot be determined
+   */
+  public static DatabaseDialect detect(DataSource dataSource) {
+    try (Connection connection = dataSource.getConnection()) {
+      String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+      if (product.contains("postgresql")) {
+        return POSTGRESQL;
+      }
+      if (product.contains("mysql") || product.contains("mariadb")) {
+        return MYSQL;
+      }
+      if (product.contains("h2")) {
+        return H2;
+      }
+      return OTHER;
+    } catch (SQLException e) {
+      return OTHER;
+    }
+  }
+
+  /**
+   * Returns the SQL function producing a random value in [0, 1).
+   *
+   * @return RAND() for MySQL, RANDOM() otherwise
+   */
+  public String randomFunction() {
+    return this == MYSQL ? "RAND()" : "RANDOM()";
+  }
+}
@@ -0,0 +1,134 @@
+package com.milestonemania.repository.random;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Random keyset probing of the primary key, guided by an equi-depth histogram of the IDs.
+ * <p>
+ * Time-ordered IDs are dense where milestones were imported together and far apart between
+ * such bursts, so a probe drawn between MIN(id) and MAX(id) followed by
+ * {@code WHERE id >= probe ORDER BY id LIMIT 1} would almost always land on the first row after
+ * a long gap. The histogram splits the ordered IDs into buckets of {@code step} rows each; a
+ * probe first picks a bucket weighted by its row count and then a random key inside it, so the
+ * bias toward rows after gaps is confined to one bucket. All probes of a round are answered by
+ * one {@code UNION ALL} query, each branch a single index seek. Every probe hits a row, so
+ * rounds only repeat for duplicates.
+ * <p>
+ * The histogram is rebuilt with one index scan every five minutes; milestones added since are
+ * not drawn until then.
+ */
+public class KeyProbeStrategy implements RandomMilestoneStrategy {
+
+  public static final String NAME = "key-probe";
+
+  private static final int BUCKETS = 1024;
+  private static final int MAX_ROUNDS = 3;
+  private static final int OVERSAMPLE_FACTOR = 2;
+  private static final long HISTOGRAM_TTL_NANOS = 300_000_000_000L;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  private volatile Histogram histogram;
+
+  public KeyProbeStrategy(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public List<MilestoneDateRow> findRandom(int count) {
+    Histogram current = histogram();
+    if (current.rowCount() == 0) {
+      return List.of();
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Map<Long, MilestoneDateRow> found = new LinkedHashMap<>();
+    for (int round = 0; round < MAX_ROUNDS && found.size() < count; round++) {
+      int probeCount = (count - found.size()) * OVERSAMPLE_FACTOR;
+      MapSqlParameterSource params = new MapSqlParameterSource();
+      StringBuilder sql = new StringBuilder();
+      for (int i = 0; i < probeCount; i++) {
+        if (i > 0) {
+          sql.append(" UNION ALL ");
+        }
+        sql.append("(SELECT id, actual_date FROM milestones WHERE id >= :p")
+            .append(i)
+            .append(" ORDER BY id LIMIT 1)");
+        params.addValue("p" + i, current.probe(random));
+      }
+
+      for (MilestoneDateRow row :
+          jdbcTemplate.query(sql.toString(), params, MilestoneRowMapper.INSTANCE)) {
+        if (found.size() == count) {
+          break;
+        }
+        found.putIfAbsent(row.id(), row);
+      }
+    }
+    return new ArrayList<>(found.values());
+  }
+
+  private Histogram histogram() {
+    Histogram current = histogram;
+    long now = System.nanoTime();
+    if (current == null || now - current.loadedAt() > HISTOGRAM_TTL_NANOS) {
+      current = loadHistogram(now);
+      // An empty table is not cached so freshly loaded milestones become visible immediately
+      histogram = current.rowCount() == 0 ? null : current;
+    }
+    return current;
+  }
+
+  private Histogram loadHistogram(long now) {
+    long[] countAndMax =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) AS row_count, MAX(id) AS max_id FROM milestones",
+            new MapSqlParameterSource(),
+            (rs, rowNum) -> new long[] {rs.getLong("row_count"), rs.getLong("max_id")});
+    long rowCount = countAndMax[0];
+    if (rowCount == 0) {
+      return new Histogram(new long[0], 0, 1, 0, now);
+    }
+
+    long step = Math.max(1, (rowCount + BUCKETS - 1) / BUCKETS);
+    long[] bucketStarts =
+        jdbcTemplate
+            .queryForList(
+                "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM milestones)"
+                    + " ranked WHERE MOD(rn - 1, :step) = 0 ORDER BY id",
+                new MapSqlParameterSource("step", step),
+                Long.class)
+            .stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+    return new Histogram(bucketStarts, countAndMax[1] + 1, step, rowCount, now);
+  }
+
+  /**
+   * Bucket {@code i} holds the {@code step} rows with IDs in {@code [bucketStarts[i],
+   * bucketStarts[i + 1])}; the last one ends at {@code end} and may hold fewer.
+   */
+  private record Histogram(long[] bucketStarts, long end, long step, long rowCount, long loadedAt) {
+
+    long probe(ThreadLocalRandom random) {
+      // A random rank picks each bucket in proportion to its rows, including the short last one
+      int bucket = (int) Math.min(random.nextLong(rowCount) / step, bucketStarts.length - 1);
+      long bucketEnd = bucket + 1 < bucketStarts.length ? bucketStarts[bucket + 1] : end;
+      return random.nextLong(bucketStarts[bucket], bucketEnd);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.milestonemania.repository.random;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Maps (id, actual_date) result rows to {@link MilestoneDateRow}.
+ */
+final class MilestoneRowMapper implements RowMapper<MilestoneDateRow> {
+
+  static final MilestoneRowMapper INSTANCE = new MilestoneRowMapper();
+
+  private MilestoneRowMapper() {}
+
+  @Override
+  public MilestoneDateRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return new MilestoneDateRow(rs.getLong("id"), rs.getObject("actual_date", LocalDate.class));
+  }
+}
@@ -0,0 +1,40 @@
+package com.milestonemania.repository.random;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Exact uniform sampling with {@code ORDER BY RANDOM() LIMIT n}.
+ * Scans and sorts the whole table, so cost grows linearly with the catalog.
+ * Works on every supported database and serves as the fallback strategy.
+ */
+public class OrderByRandomStrategy implements RandomMilestoneStrategy {
+
+  public static final String NAME = "order-by-random";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final String sql;
+
+  public OrderByRandomStrategy(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.sql =
+        "SELECT id, actual_date FROM milestones ORDER BY "
+            + dialect.randomFunction()
+            + " LIMIT :count";
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public List<MilestoneDateRow> findRandom(int count) {
+    return jdbcTemplate.query(
+        sql, new MapSqlParameterSource("count", count), MilestoneRowMapper.INSTANCE);
+  }
+}
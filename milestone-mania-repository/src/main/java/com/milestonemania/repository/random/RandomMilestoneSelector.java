@@ -0,0 +1,98 @@
+package com.milestonemania.repository.random;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Selects random milestones in the database using the strategy configured for the
+ * current dialect, falling back to {@code ORDER BY RANDOM()} when it comes up short.
+ * <p>
+ * {@code milestone-mania.random-selection.strategy} accepts {@code auto} (table-sample on
+ * PostgreSQL, key-probe elsewhere), {@code table-sample}, {@code key-probe} or
+ * {@code order-by-random}.
+ */
+@Component
+public class RandomMilestoneSelector {
+
+  private static final Logger log = LoggerFactory.getLogger(RandomMilestoneSelector.class);
+  private static final int DISTINCT_DATE_OVERSAMPLE = 2;
+
+  private final RandomMilestoneStrategy strategy;
+  private final RandomMilestoneStrategy fallback;
+
+  public RandomMilestoneSelector(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      DataSource dataSource,
+      @Value("${milestone-mania.random-selection.strategy:auto}") String strategyName) {
+    DatabaseDialect dialect = DatabaseDialect.detect(dataSource);
+    this.fallback = new OrderByRandomStrategy(jdbcTemplate, dialect);
+    this.strategy = resolve(strategyName, dialect, jdbcTemplate);
+    log.info("Using {} random milestone selection for {}", strategy.name(), dialect);
+  }
+
+  /**
+   * Draws up to {@code count} milestones with pairwise distinct actual dates.
+   *
+   * @param count number of milestones wanted
+   * @return milestone IDs in chronological order; shorter than {@code count} only if the
+   *     table does not hold enough distinct dates
+   */
+  public long[] selectChronological(int count) {
+    List<MilestoneDateRow> selected =
+        distinctDates(strategy.findRandom(count * DISTINCT_DATE_OVERSAMPLE), count);
+    if (selected.size() < count && strategy != fallback) {
+      log.debug("{} returned too few milestones, falling back", strategy.name());
+      selected = distinctDates(fallback.findRandom(count * DISTINCT_DATE_OVERSAMPLE * 2), count);
+    }
+
+    selected.sort(Comparator.comparing(MilestoneDateRow::actualDate));
+    return selected.stream().mapToLong(MilestoneDateRow::id).toArray();
+  }
+
+  private static List<MilestoneDateRow> distinctDates(List<MilestoneDateRow> rows, int count) {
+    Set<LocalDate> seenDates = new HashSet<>();
+    List<MilestoneDateRow> result = new ArrayList<>(count);
+    for (MilestoneDateRow row : rows) {
+      if (result.size() == count) {
+        break;
+      }
+      if (seenDates.add(row.actualDate())) {
+        result.add(row);
+      }
+    }
+    return result;
+  }
+
+  private RandomMilestoneStrategy resolve(
+      String name, DatabaseDialect dialect, NamedParameterJdbcTemplate jdbcTemplate) {
+    return switch (name) {
+      case "auto" ->
+          dialect == DatabaseDialect.POSTGRESQL
+              ? new TableSampleStrategy(jdbcTemplate)
+              : new KeyProbeStrategy(jdbcTemplate);
+      case TableSampleStrategy.NAME -> {
+        if (dialect != DatabaseDialect.POSTGRESQL) {
+          throw new IllegalArgumentException(
+              "Random selection strategy table-sample requires PostgreSQL, found " + dialect);
+        }
+        yield new TableSampleStrategy(jdbcTemplate);
+      }
+      case KeyProbeStrategy.NAME -> new KeyProbeStrategy(jdbcTemplate);
+      case OrderByRandomStrategy.NAME -> fallback;
+      default -> throw new IllegalArgumentException("Unknown random selection strategy: " + name);
+    };
+  }
+}
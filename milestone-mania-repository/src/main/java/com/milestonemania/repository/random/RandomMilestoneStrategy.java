@@ -0,0 +1,30 @@
+package com.milestonemania.repository.random;
+
+import java.util.List;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Strategy for drawing random milestones directly from the database.
+ * <p>
+ * Implementations trade exactness of the random distribution for scalability;
+ * all of them return distinct milestones in no particular order.
+ */
+public interface RandomMilestoneStrategy {
+
+  /**
+   * Returns the configuration name of this strategy (e.g., "order-by-random").
+   *
+   * @return the strategy name
+   */
+  String name();
+
+  /**
+   * Draws up to {@code count} random milestones.
+   * May return fewer rows if the table is small or sampling came up short.
+   *
+   * @param count the number of milestones wanted
+   * @return randomly selected (id, actualDate) rows
+   */
+  List<MilestoneDateRow> findRandom(int count);
+}
@@ -0,0 +1,79 @@
+package com.milestonemania.repository.random;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * PostgreSQL block sampling with {@code TABLESAMPLE SYSTEM}.
+ * <p>
+ * Reads a small random subset of table pages instead of scanning and sorting the whole table.
+ * The sampling percentage is derived from the planner's row estimate in {@code pg_class} so that
+ * roughly {@link #MIN_SAMPLE_ROWS} rows (several pages) come back; the rows are then shuffled in
+ * memory because block sampling returns rows in physical order. The built-in SYSTEM method is used
+ * instead of SYSTEM_ROWS so no extension has to be installed.
+ */
+public class TableSampleStrategy implements RandomMilestoneStrategy {
+
+  public static final String NAME = "table-sample";
+
+  private static final int MIN_SAMPLE_ROWS = 500;
+  private static final int OVERSAMPLE_FACTOR = 20;
+  private static final long ESTIMATE_TTL_NANOS = 60_000_000_000L;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  private volatile long estimatedRows = -1;
+  private volatile long estimateLoadedAt;
+
+  public TableSampleStrategy(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public List<MilestoneDateRow> findRandom(int count) {
+    int wanted = Math.max(count * OVERSAMPLE_FACTOR, MIN_SAMPLE_ROWS);
+    long estimate = estimatedRows();
+    double percent = estimate <= 0 ? 100.0 : Math.min(100.0, 100.0 * wanted / estimate);
+
+    // The percentage is computed locally, never user input, so it is safe to inline
+    String sql =
+        String.format(
+            Locale.ROOT,
+            "SELECT id, actual_date FROM milestones TABLESAMPLE SYSTEM (%.6f) LIMIT :limit",
+            percent);
+    List<MilestoneDateRow> rows =
+        new ArrayList<>(
+            jdbcTemplate.query(
+                sql, new MapSqlParameterSource("limit", wanted * 4), MilestoneRowMapper.INSTANCE));
+
+    Collections.shuffle(rows, ThreadLocalRandom.current());
+    return rows.size() > count ? rows.subList(0, count) : rows;
+  }
+
+  private long estimatedRows() {
+    long now = System.nanoTime();
+    if (estimatedRows < 0 || now - estimateLoadedAt > ESTIMATE_TTL_NANOS) {
+      Long estimate =
+          jdbcTemplate.queryForObject(
+              "SELECT reltuples::bigint FROM pg_class WHERE oid = 'milestones'::regclass",
+              new MapSqlParameterSource(),
+              Long.class);
+      estimatedRows = estimate == null ? 0 : estimate;
+      estimateLoadedAt = now;
+    }
+    return estimatedRows;
+  }
+}
@@ -0,0 +1,11 @@
+package com.milestonemania.repository.rating;
+
+/**
+ * Accumulated change of one milestone or milestone pair rating since the last write.
+ *
+ * @param firstMilestoneId the milestone ID, or the lower ID of a pair
+ * @param secondMilestoneId the higher ID of a pair, or 0 for a single milestone
+ * @param delta rating change to add
+ * @param games number of submissions the change comes from
+ */
+public record RatingDelta(long firstMilestoneId, long secondMilestoneId, double delta, int games) {}
@@ -0,0 +1,101 @@
+package com.milestonemania.repository.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Adds accumulated rating deltas to {@code milestone_ratings} and
+ * {@code milestone_pair_ratings} with JDBC batches.
+ * <p>
+ * Writing deltas instead of absolute values lets several nodes update the same ratings without
+ * overwriting each other. Each batch first increments existing rows, then inserts the rows
+ * that did not exist yet, starting from the initial rating; no dialect-specific upsert is
+ * needed. Rows inserted concurrently by another node make the insert fail, and the caller
+ * retries the deltas later.
+ */
+@Repository
+public class RatingDeltaWriter {
+
+  private static final String UPDATE_MILESTONE =
+      "UPDATE milestone_ratings SET rating = rating + ?, games = games + ? WHERE milestone_id = ?";
+  private static final String INSERT_MILESTONE =
+      "INSERT INTO milestone_ratings (milestone_id, rating, games) VALUES (?, ?, ?)";
+  private static final String UPDATE_PAIR =
+      "UPDATE milestone_pair_ratings SET rating = rating + ?, games = games + ? "
+          + "WHERE first_milestone_id = ? AND second_milestone_id = ?";
+  private static final String INSERT_PAIR =
+      "INSERT INTO milestone_pair_ratings "
+          + "(first_milestone_id, second_milestone_id, rating, games) VALUES (?, ?, ?, ?)";
+
+  private final JdbcOperations jdbc;
+
+  public RatingDeltaWriter(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbc = jdbcTemplate.getJdbcOperations();
+  }
+
+  /**
+   * Adds milestone rating deltas. Must run inside a transaction.
+   *
+   * @param deltas one delta per milestone; {@code secondMilestoneId} is ignored
+   * @param initialRating rating of a milestone without a row yet
+   * @throws DataIntegrityViolationException if another node inserted one of the rows first
+   */
+  public void addMilestoneDeltas(List<RatingDelta> deltas, double initialRating) {
+    int[] updated =
+        jdbc.batchUpdate(
+            UPDATE_MILESTONE,
+            deltas.stream()
+                .map(d -> new Object[] {d.delta(), d.games(), d.firstMilestoneId()})
+                .toList());
+
+    List<Object[]> inserts = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        RatingDelta d = deltas.get(i);
+        inserts.add(new Object[] {d.firstMilestoneId(), initialRating + d.delta(), d.games()});
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbc.batchUpdate(INSERT_MILESTONE, inserts);
+    }
+  }
+
+  /**
+   * Adds milestone pair rating deltas. Must run inside a transaction.
+   *
+   * @param deltas one delta per pair, lower milestone ID first
+   * @param initialRating rating of a pair without a row yet
+   * @throws DataIntegrityViolationException if another node inserted one of the rows first
+   */
+  public void addPairDeltas(List<RatingDelta> deltas, double initialRating) {
+    int[] updated =
+        jdbc.batchUpdate(
+            UPDATE_PAIR,
+            deltas.stream()
+                .map(
+                    d ->
+                        new Object[] {
+                          d.delta(), d.games(), d.firstMilestoneId(), d.secondMilestoneId()
+                        })
+                .toList());
+
+    List<Object[]> inserts = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        RatingDelta d = deltas.get(i);
+        inserts.add(
+            new Object[] {
+              d.firstMilestoneId(), d.secondMilestoneId(), initialRating + d.delta(), d.games()
+            });
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbc.batchUpdate(INSERT_PAIR, inserts);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.milestonemania.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.milestonemania.model.entity.Game;
+import com.milestonemania.model.entity.GameAttempt;
+import com.milestonemania.model.enums.AttemptStatus;
+import com.milestonemania.model.id.TimeOrderedIds;
+import com.milestonemania.repository.attempt.AttemptSubmission;
+import com.milestonemania.repository.attempt.AttemptSubmissionRepository;
+import com.milestonemania.repository.config.DataJpaTestConfig;
+import com.milestonemania.repository.outbox.OutboxEventRepository;
+
+@DataJpaTest
+@ContextConfiguration(classes = DataJpaTestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  AttemptSubmissionRepository.class,
+  OutboxEventRepository.class,
+  AttemptSubmissionRepositoryTest.Ids.class
+})
+class AttemptSubmissionRepositoryTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  @Autowired private TestEntityManager entityManager;
+
+  @Autowired private AttemptSubmissionRepository attemptSubmissionRepository;
+
+  @Test
+  void applySubmission_ShouldIncrementAttemptCountWhenIncorrect() {
+    // Given
+    long attemptId = persistAttempt("retry-slug");
+
+    // When
+    OptionalInt first = attemptSubmissionRepository.applySubmission(attemptId, false, NOW);
+    OptionalInt second = attemptSubmissionRepository.applySubmission(attemptId, false, NOW);
+
+    // Then
+    assertThat(first).hasValue(2);
+    assertThat(second).hasValue(3);
+    GameAttempt attempt = reload(attemptId);
+    assertThat(attempt.getAttemptCount()).isEqualTo(3);
+    assertThat(attempt.getStatus()).isEqualTo(AttemptStatus.IN_PROGRESS);
+    assertThat(attempt.getCompletedAt()).isNull();
+  }
+
+  @Test
+  void applySubmission_ShouldCompleteAttemptWhenCorrect() {
+    // Given
+    long attemptId = persistAttempt("complete-slug");
+    attemptSubmissionRepository.applySubmission(attemptId, false, NOW);
+
+    // When
+    OptionalInt count = attemptSubmissionRepository.applySubmission(attemptId, true, NOW);
+
+    // Then: the count of the correct submission stays the one it was made with
+    assertThat(count).hasValue(2);
+    GameAttempt attempt = reload(attemptId);
+    assertThat(attempt.getStatus()).isEqualTo(AttemptStatus.COMPLETED);
+    assertThat(attempt.getCompletedAt()).isEqualTo(NOW);
+    assertThat(attempt.getAttemptCount()).isEqualTo(2);
+  }
+
+  @Test
+  void applySubmission_ShouldReturnEmptyWhenAttemptIsCompleted() {
+    // Given
+    long attemptId = persistAttempt("completed-slug");
+    attemptSubmissionRepository.applySubmission(attemptId, true, NOW);
+
+    // When
+    OptionalInt correct = attemptSubmissionRepository.applySubmission(attemptId, true, NOW);
+    OptionalInt incorrect = attemptSubmissionRepository.applySubmission(attemptId, false, NOW);
+
+    // Then
+    assertThat(correct).isEmpty();
+    assertThat(incorrect).isEmpty();
+    assertThat(reload(attemptId).getAttemptCount()).isEqualTo(1);
+  }
+
+  @Test
+  void applySubmissions_ShouldReturnCountsOfAttemptsStillInProgress() {
+    // Given
+    long retried = persistAttempt("batch-retry-slug");
+    long completed = persistAttempt("batch-complete-slug");
+    long alreadyCompleted = persistAttempt("batch-done-slug");
+    attemptSubmissionRepository.applySubmission(retried, false, NOW);
+    attemptSubmissionRepository.applySubmission(alreadyCompleted, true, NOW);
+
+    // When
+    Map<Long, Integer> counts =
+        attemptSubmissionRepository.applySubmissions(
+            List.of(
+                new AttemptSubmission(retried, false, NOW),
+                new AttemptSubmission(completed, true, NOW),
+                new AttemptSubmission(alreadyCompleted, false, NOW)));
+
+    // Then
+    assertThat(counts).containsOnly(Map.entry(retried, 3), Map.entry(completed, 1));
+    assertThat(reload(completed).getStatus()).isEqualTo(AttemptStatus.COMPLETED);
+    assertThat(reload(alreadyCompleted).getAttemptCount()).isEqualTo(1);
+  }
+
+  private long persistAttempt(String slug) {
+    Game game = new Game();
+    game.setSlug(slug);
+    game.setName("Submission Game");
+    game.setCreatedAt(NOW);
+    entityManager.persist(game);
+    GameAttempt attempt =
+        entityManager.persist(
+            new GameAttempt(game, "player", AttemptStatus.IN_PROGRESS, NOW.minusMinutes(5)));
+    entityManager.flush();
+    return attempt.getId();
+  }
+
+  /** Reads the row as written by plain SQL, bypassing the persistence context. */
+  private GameAttempt reload(long attemptId) {
+    entityManager.clear();
+    return entityManager.find(GameAttempt.class, attemptId);
+  }
+
+  @TestConfiguration
+  static class Ids {
+
+    @Bean
+    TimeOrderedIds timeOrderedIds() {
+      return TimeOrderedIds.forNode(0);
+    }
+  }
+}
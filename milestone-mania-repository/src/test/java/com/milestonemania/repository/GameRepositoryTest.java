@@ -2,9 +2,15 @@ package com.milestonemania.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -13,7 +19,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ContextConfiguration;
 
 import com.milestonemania.model.entity.Game;
+import com.milestonemania.model.entity.GameAttempt;
+import com.milestonemania.model.entity.GameMilestone;
+import com.milestonemania.model.entity.GameSlugAlias;
+import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.model.enums.AttemptStatus;
 import com.milestonemania.repository.config.DataJpaTestConfig;
+import com.milestonemania.repository.projection.GameMilestoneRow;
 
 @DataJpaTest
 @ContextConfiguration(classes = DataJpaTestConfig.class)
@@ -69,6 +81,120 @@ class GameRepositoryTest {
     assertThat(exists).isFalse();
   }
 
+  @Test
+  void persistGameWithAttempt_ShouldBatchInsertsIntoThreeStatements() {
+    // Given
+    List<Milestone> milestones = persistMilestones(5);
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    // When
+    persistGameWithAttempt("batched-slug", milestones);
+
+    // Then: IDs are assigned in memory; one insert each for the game, its five game
+    // milestones and the attempt
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    assertThat(gameRepository.findBySlug("batched-slug"))
+        .get()
+        .extracting(game -> game.getGameMilestones().size())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void findMilestoneRowsBySlug_ShouldReadGameAndMilestonesInOneStatement() {
+    // Given: milestones persisted in reverse of their correct order
+    List<Milestone> milestones = new ArrayList<>(persistMilestones(5));
+    Collections.reverse(milestones);
+    persistGameWithAttempt("rows-slug", milestones);
+    entityManager.clear();
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    // When
+    List<GameMilestoneRow> rows = gameRepository.findMilestoneRowsBySlug("rows-slug");
+
+    // Then
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(rows)
+        .extracting(GameMilestoneRow::milestoneId)
+        .containsExactlyElementsOf(milestones.stream().map(Milestone::getId).toList());
+    assertThat(rows).extracting(GameMilestoneRow::gameName).containsOnly("Batched Game");
+  }
+
+  @Test
+  void findMilestoneRowsBySlug_ShouldResolveAliasSlugs() {
+    // Given
+    List<Milestone> milestones = persistMilestones(5);
+    persistGameWithAttempt("aliased-slug", milestones);
+    Game game = gameRepository.findBySlug("aliased-slug").orElseThrow();
+    entityManager.persistAndFlush(new GameSlugAlias("alias-slug", game, LocalDateTime.now()));
+    entityManager.clear();
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    // When
+    List<GameMilestoneRow> rows = gameRepository.findMilestoneRowsBySlug("alias-slug");
+
+    // Then
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(rows).hasSize(5).extracting(GameMilestoneRow::gameId).containsOnly(game.getId());
+    assertThat(gameRepository.findMilestoneRowsBySlug("unknown-slug")).isEmpty();
+  }
+
+  @Test
+  void findMilestoneRowsByIds_ShouldJoinGameRowOfSlugIfPresent() {
+    // Given
+    List<Milestone> milestones = persistMilestones(5);
+    persistGameWithAttempt("procedural-slug", milestones);
+    List<Long> ids = milestones.stream().map(Milestone::getId).toList();
+    entityManager.clear();
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    // When
+    List<GameMilestoneRow> shared = gameRepository.findMilestoneRowsByIds(ids, "procedural-slug");
+    List<GameMilestoneRow> unshared = gameRepository.findMilestoneRowsByIds(ids, "unshared-slug");
+
+    // Then: one statement each, game columns only for the slug with a game row
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(shared)
+        .hasSize(5)
+        .extracting(GameMilestoneRow::gameName)
+        .containsOnly("Batched Game");
+    assertThat(unshared).hasSize(5).extracting(GameMilestoneRow::gameId).containsOnlyNulls();
+  }
+
+  private List<Milestone> persistMilestones(int count) {
+    List<Milestone> milestones = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      milestones.add(
+          entityManager.persist(new Milestone("Milestone " + i, LocalDate.of(2000 + i, 1, 1))));
+    }
+    entityManager.flush();
+    return milestones;
+  }
+
+  private Statistics statistics() {
+    return entityManager
+        .getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+
+  private void persistGameWithAttempt(String slug, List<Milestone> milestones) {
+    Game game = createGame(slug, "Batched Game");
+    for (int i = 0; i < milestones.size(); i++) {
+      game.getGameMilestones().add(new GameMilestone(game, milestones.get(i), i + 1));
+    }
+    gameRepository.save(game);
+    entityManager.persist(
+        new GameAttempt(game, "player", AttemptStatus.IN_PROGRESS, LocalDateTime.now()));
+    entityManager.flush();
+  }
+
   private Game createGame(String slug, String name) {
     Game game = new Game();
     game.setSlug(slug);
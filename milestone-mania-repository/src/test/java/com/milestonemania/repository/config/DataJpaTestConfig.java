@@ -3,6 +3,7 @@ package com.milestonemania.repository.config;
 import java.util.Properties;
 import javax.sql.DataSource;
 
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,13 @@ public class DataJpaTestConfig {
     properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
     properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
     properties.setProperty("hibernate.show_sql", "true");
+    // Snake-case columns as in the application, for repositories using plain SQL
+    properties.setProperty(
+        "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+    // Same batching as the application, plus statistics for statement counts
+    properties.setProperty("hibernate.jdbc.batch_size", "50");
+    properties.setProperty("hibernate.order_inserts", "true");
+    properties.setProperty("hibernate.generate_statistics", "true");
     em.setJpaProperties(properties);
 
     return em;
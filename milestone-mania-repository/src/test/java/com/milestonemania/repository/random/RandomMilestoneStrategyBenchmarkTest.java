@@ -0,0 +1,170 @@
+package com.milestonemania.repository.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.milestonemania.repository.projection.MilestoneDateRow;
+
+/**
+ * Latency benchmark for the random milestone selection strategies.
+ * <p>
+ * Loads milestones into an in-memory H2 database in PostgreSQL mode and reports latency
+ * percentiles per strategy. IDs are laid out like time-ordered IDs: dense runs of imported
+ * milestones separated by long gaps. Disabled by default; run with:
+ *
+ * <pre>
+ * mvn -pl milestone-mania-repository test -Dtest=RandomMilestoneStrategyBenchmarkTest \
+ *     -Dbenchmark=true -Dbenchmark.sizes=1000000,10000000 -DargLine=-Xmx6g
+ * </pre>
+ *
+ * TABLESAMPLE is not supported by H2, so the table-sample strategy is reported as unsupported
+ * here and has to be measured against a real PostgreSQL instance.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RandomMilestoneStrategyBenchmarkTest {
+
+  private static final int GAME_SIZE = 5;
+  private static final int INSERT_BATCH_SIZE = 10_000;
+  private static final int MAX_IMPORT_ROWS = 50_000;
+  private static final int SEQUENCE_BITS = 12;
+  private static final long MAX_PAUSE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+  private static final LocalDate EARLIEST_DATE = LocalDate.of(1000, 1, 1);
+
+  private final int warmupIterations = Integer.getInteger("benchmark.warmup", 20);
+  private final int measuredIterations = Integer.getInteger("benchmark.iterations", 200);
+
+  @Test
+  void reportLatencyPerStrategy() throws SQLException {
+    String[] sizes = System.getProperty("benchmark.sizes", "1000000,10000000").split(",");
+
+    for (String size : sizes) {
+      int rows = Integer.parseInt(size.trim());
+      SingleConnectionDataSource dataSource =
+          new SingleConnectionDataSource(
+              "jdbc:h2:mem:benchmark_" + rows + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+              "sa",
+              "",
+              true);
+      try {
+        long loadStarted = System.nanoTime();
+        loadMilestones(dataSource.getConnection(), rows);
+        System.out.printf(
+            Locale.ROOT,
+            "%n== %,d milestones (loaded in %d ms) ==%n",
+            rows,
+            (System.nanoTime() - loadStarted) / 1_000_000);
+
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        List<RandomMilestoneStrategy> strategies =
+            List.of(
+                new OrderByRandomStrategy(jdbcTemplate, DatabaseDialect.H2),
+                new KeyProbeStrategy(jdbcTemplate),
+                new TableSampleStrategy(jdbcTemplate));
+        for (RandomMilestoneStrategy strategy : strategies) {
+          measure(strategy);
+        }
+      } finally {
+        dataSource.destroy();
+      }
+    }
+  }
+
+  private void measure(RandomMilestoneStrategy strategy) {
+    try {
+      for (int i = 0; i < warmupIterations; i++) {
+        strategy.findRandom(GAME_SIZE);
+      }
+
+      long[] latencies = new long[measuredIterations];
+      for (int i = 0; i < measuredIterations; i++) {
+        long started = System.nanoTime();
+        List<MilestoneDateRow> result = strategy.findRandom(GAME_SIZE);
+        latencies[i] = System.nanoTime() - started;
+        assertThat(result).hasSize(GAME_SIZE);
+      }
+
+      Arrays.sort(latencies);
+      System.out.printf(
+          Locale.ROOT,
+          "%-16s p50 %10.3f ms   p99 %10.3f ms   max %10.3f ms%n",
+          strategy.name(),
+          millis(latencies[latencies.length / 2]),
+          millis(latencies[(int) (latencies.length * 0.99)]),
+          millis(latencies[latencies.length - 1]));
+    } catch (RuntimeException e) {
+      System.out.printf(Locale.ROOT, "%-16s unsupported: %s%n", strategy.name(), rootMessage(e));
+    }
+  }
+
+  private static void loadMilestones(Connection connection, int rows) throws SQLException {
+    try (PreparedStatement ddl =
+        connection.prepareStatement(
+            "CREATE TABLE milestones ("
+                + "id BIGINT PRIMARY KEY, "
+                + "title VARCHAR(255) NOT NULL, "
+                + "description TEXT, "
+                + "actual_date DATE NOT NULL)")) {
+      ddl.execute();
+    }
+
+    SplittableRandom random = new SplittableRandom(42);
+    int dateRange = (int) (LocalDate.now().toEpochDay() - EARLIEST_DATE.toEpochDay());
+    long millis = 0;
+    int importLeft = 0;
+    try (PreparedStatement insert =
+        connection.prepareStatement(
+            "INSERT INTO milestones (id, title, description, actual_date) VALUES (?, ?, ?, ?)")) {
+      for (int i = 1; i <= rows; i++) {
+        if (importLeft == 0) {
+          // Imports of random size, or single edits, separated by pauses of up to a month
+          importLeft = random.nextInt(4) == 0 ? 1 : random.nextInt(1, MAX_IMPORT_ROWS);
+          millis += random.nextLong(1, MAX_PAUSE_MILLIS);
+        }
+        importLeft--;
+        long sequence = i & ((1 << SEQUENCE_BITS) - 1);
+        if (sequence == 0) {
+          millis++;
+        }
+        insert.setLong(1, (millis << SEQUENCE_BITS) | sequence);
+        insert.setString(2, "Milestone " + i);
+        insert.setString(3, "Benchmark milestone " + i);
+        insert.setDate(4, Date.valueOf(EARLIEST_DATE.plusDays(random.nextInt(dateRange))));
+        insert.addBatch();
+        if (i % INSERT_BATCH_SIZE == 0) {
+          insert.executeBatch();
+        }
+      }
+      insert.executeBatch();
+    }
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  private static String rootMessage(Throwable throwable) {
+    List<Throwable> chain = new ArrayList<>();
+    Throwable current = throwable;
+    while (current != null && !chain.contains(current)) {
+      chain.add(current);
+      current = current.getCause();
+    }
+    String message = chain.get(chain.size() - 1).getMessage();
+    return message == null ? throwable.getClass().getSimpleName() : message.split("\n")[0];
+  }
+}
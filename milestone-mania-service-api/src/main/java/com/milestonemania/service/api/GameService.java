@@ -1,6 +1,8 @@
 package com.milestonemania.service.api;
 
+import com.milestonemania.service.api.dto.AttemptStatusDto;
 import com.milestonemania.service.api.dto.GameAttemptDto;
+import com.milestonemania.service.api.dto.GameCreationOptions;
 import com.milestonemania.service.api.dto.GameDto;
 import com.milestonemania.service.api.dto.SubmitAttemptRequest;
 import com.milestonemania.service.api.dto.SubmitAttemptResponse;
@@ -23,7 +25,7 @@ public interface GameService {
    * <p>
    * This method performs the following operations:
    * <ul>
-   *   <li>Randomly selects 5 milestones from available pool</li>
+   *   <li>Randomly selects 5 milestones with distinct dates from the in-memory catalog</li>
    *   <li>Creates new Game entity with human-readable slug (e.g., "donkey-football-glove")</li>
    *   <li>Creates GameMilestone entries with correct chronological ordering</li>
    *   <li>Creates new GameAttempt for the player with status IN_PROGRESS</li>
@@ -35,6 +37,21 @@ public interface GameService {
    */
   GameAttemptDto createNewGame(String playerName);
 
+  /**
+   * Creates a new game with 5 milestones drawn under the given constraints.
+   * <p>
+   * Behaves like {@link #createNewGame(String)}, but restricts milestone selection,
+   * e.g. to an era given by an inclusive date window. Constrained games are always
+   * generated on demand rather than taken from the pre-generated pool.
+   *
+   * @param playerName optional player name for the attempt
+   * @param options constraints for milestone selection; null means unconstrained
+   * @return GameAttemptDto containing milestones (without dates), attemptId, and game slug
+   * @throws InsufficientMilestonesException if fewer than 5 distinct dates match the constraints
+   * @throws IllegalArgumentException if the constraints are contradictory
+   */
+  GameAttemptDto createNewGame(String playerName, GameCreationOptions options);
+
   /**
    * Finds existing game by slug and creates new attempt for player.
    * <p>
@@ -47,7 +64,8 @@ public interface GameService {
    *
    * @param slug the game's unique slug identifier
    * @param playerName optional player name for the new attempt
-   * @return GameAttemptDto with same milestones as template game
+   * @return GameAttemptDto with same milestones as template game; the milestone list is the
+   *     one {@link #getGameBySlug} returns for the slug, shared and unmodifiable
    * @throws GameNotFoundException if slug doesn't exist
    */
   GameAttemptDto startGameFromSlug(String slug, String playerName);
@@ -63,6 +81,9 @@ public interface GameService {
    *   <li>If incorrect: increments attemptCount, keeps status IN_PROGRESS</li>
    *   <li>Returns feedback on correctness and sharing info if completed</li>
    * </ul>
+   * With attempt tokens enabled, the attempt's state comes from the signed token in the
+   * request instead of a row; an incorrect submission returns the next token, and the row is
+   * only inserted once the attempt is completed.
    *
    * @param request contains attemptId and list of 5 milestone IDs in player's order
    * @return SubmitAttemptResponse with success/failure status and next steps
@@ -71,6 +92,18 @@ public interface GameService {
    */
   SubmitAttemptResponse submitAttempt(SubmitAttemptRequest request);
 
+  /**
+   * Retrieves the status and attempt count of an attempt.
+   * <p>
+   * Served from memory for attempts held as in-memory sessions, otherwise read from the
+   * stored attempt. Attempts played with tokens are only found once completed.
+   *
+   * @param attemptId the attempt ID
+   * @return AttemptStatusDto with the attempt's progress
+   * @throws AttemptNotFoundException if no attempt has the ID
+   */
+  AttemptStatusDto getAttemptStatus(long attemptId);
+
   /**
    * Retrieves game template information without creating new attempt.
    * <p>
@@ -78,7 +111,9 @@ public interface GameService {
    * and milestone list for display purposes.
    *
    * @param slug the game's unique slug identifier
-   * @return GameDto with template information including milestones
+   * @return GameDto with template information including milestones; until the game's content
+   *     changes, every call for a slug returns the same unmodifiable milestone list, which must
+   *     not be modified
    * @throws GameNotFoundException if slug doesn't exist
    */
   GameDto getGameBySlug(String slug);
@@ -0,0 +1,29 @@
+package com.milestonemania.service.api;
+
+import java.util.function.Supplier;
+
+/**
+ * Makes client retries of writing requests safe.
+ * <p>
+ * A request carrying an idempotency key runs once per key and endpoint; repeats get the stored
+ * response of the first run, and repeats arriving while it still runs wait for it. Failed
+ * requests are not stored, so they can be retried.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public interface IdempotencyService {
+
+  /**
+   * Runs an action once per idempotency key and endpoint.
+   *
+   * @param idempotencyKey client-chosen key; null runs the action without deduplication
+   * @param endpoint method and path of the request, including path variables
+   * @param request the serialized request, to detect a key reused for a different request
+   * @param action runs the request and returns its serialized response
+   * @return the serialized response, of this run or the first one
+   * @throws IllegalArgumentException if the key is blank or longer than 100 characters, or was
+   *     used for a different request to the same endpoint
+   */
+  String execute(String idempotencyKey, String endpoint, String request, Supplier<String> action);
+}
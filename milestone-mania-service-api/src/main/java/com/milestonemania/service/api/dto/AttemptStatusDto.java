@@ -0,0 +1,42 @@
+package com.milestonemania.service.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the progress of a game attempt.
+ * <p>
+ * A lightweight view for polling clients, without the milestones of
+ * {@link GameAttemptDto}.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttemptStatusDto {
+
+  /**
+   * Unique identifier of the attempt.
+   */
+  private Long attemptId;
+
+  /**
+   * Human-readable slug of the associated game.
+   */
+  private String gameSlug;
+
+  /**
+   * Current status of the attempt (IN_PROGRESS or COMPLETED).
+   */
+  private AttemptStatus status;
+
+  /**
+   * Current attempt number (1-based).
+   */
+  private Integer attemptCount;
+}
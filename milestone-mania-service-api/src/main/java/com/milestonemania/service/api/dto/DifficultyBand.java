@@ -0,0 +1,28 @@
+package com.milestonemania.service.api.dto;
+
+/**
+ * Target difficulty of a generated game.
+ * <p>
+ * Bands are relative: each covers a third of the milestone catalog, ranked by how often
+ * players misplace a milestone. A game in a band is drawn only from that band's milestones.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public enum DifficultyBand {
+
+  /**
+   * The third of milestones players place correctly most often.
+   */
+  EASY,
+
+  /**
+   * The middle third of milestones.
+   */
+  MEDIUM,
+
+  /**
+   * The third of milestones players misplace most often.
+   */
+  HARD
+}
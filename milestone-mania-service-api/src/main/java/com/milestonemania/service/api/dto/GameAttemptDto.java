@@ -64,4 +64,10 @@ public class GameAttemptDto {
    * Milestones are presented without dates to prevent cheating.
    */
   private List<MilestoneDto> milestones;
+
+  /**
+   * Signed attempt state to send with each submission, when attempts are played without a
+   * stored row until completion; null otherwise.
+   */
+  private String attemptToken;
 }
@@ -0,0 +1,67 @@
+package com.milestonemania.service.api.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional constraints applied when generating a new game.
+ * <p>
+ * All fields are optional; an instance with no fields set produces a game drawn from
+ * the whole milestone catalog.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameCreationOptions {
+
+  /**
+   * First date (inclusive) of the era milestones are drawn from, or null for no lower bound.
+   */
+  private LocalDate fromDate;
+
+  /**
+   * Last date (inclusive) of the era milestones are drawn from, or null for no upper bound.
+   */
+  private LocalDate toDate;
+
+  /**
+   * Tags every milestone must carry, e.g. "science" and "20th-century", or null/empty for no
+   * tag filter. Matching is case-insensitive.
+   */
+  private Set<String> tags;
+
+  /**
+   * Target difficulty band, or null to draw from the whole catalog regardless of difficulty.
+   */
+  private DifficultyBand difficulty;
+
+  /**
+   * Returns options without any constraints.
+   *
+   * @return unconstrained game creation options
+   */
+  public static GameCreationOptions none() {
+    return new GameCreationOptions();
+  }
+
+  /**
+   * Whether any constraint is set, which rules out handing out a pre-generated game.
+   *
+   * @return true if the options constrain milestone selection
+   */
+  public boolean isConstrained() {
+    return fromDate != null
+        || toDate != null
+        || (tags != null && !tags.isEmpty())
+        || difficulty != null;
+  }
+}
@@ -1,7 +1,5 @@
 package com.milestonemania.service.api.dto;
 
-import java.util.List;
-
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -31,10 +29,17 @@ public class SubmitAttemptRequest {
   private Long attemptId;
 
   /**
-   * List of milestone IDs in the player's proposed chronological order.
-   * Must contain exactly 5 milestone IDs.
+   * Milestone IDs in the player's proposed chronological order.
+   * Must contain exactly 5 milestone IDs. Bound to primitives, so checking a submission
+   * boxes nothing.
    */
   @NotNull(message = "Milestone order is required")
   @Size(min = 5, max = 5, message = "Exactly 5 milestones must be provided")
-  private List<Long> orderedMilestoneIds;
+  private long[] orderedMilestoneIds;
+
+  /**
+   * Attempt token from the start response or the previous submission, for attempts played
+   * without a stored row. Omitted for stored attempts.
+   */
+  private String attemptToken;
 }
@@ -45,6 +45,12 @@ public class SubmitAttemptResponse {
    */
   private String message;
 
+  /**
+   * Token for the next submission after an incorrect one, for attempts played with tokens.
+   * Each token is accepted once.
+   */
+  private String attemptToken;
+
   /**
    * Creates a successful completion response.
    *
@@ -0,0 +1,56 @@
+package com.milestonemania.service.api.event;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An attempt started or completed, as delivered to {@link GameEventSubscriber}s.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameEvent {
+
+  /**
+   * Unique identifier of the event; the same on every delivery of it.
+   */
+  private Long eventId;
+
+  /**
+   * What happened to the attempt.
+   */
+  private GameEventType type;
+
+  /**
+   * Human-readable slug of the game.
+   */
+  private String gameSlug;
+
+  /**
+   * Unique identifier of the attempt.
+   */
+  private Long attemptId;
+
+  /**
+   * Name of the player; may be null.
+   */
+  private String playerName;
+
+  /**
+   * Attempt number when the event occurred (1-based); for a completion, the winning one.
+   */
+  private Integer attemptCount;
+
+  /**
+   * When the attempt started or was completed.
+   */
+  private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.milestonemania.service.api.event;
+
+/**
+ * Receives game events, e.g. to maintain leaderboards or statistics, outside the transactions
+ * that produced them.
+ * <p>
+ * Subscribers are registered by declaring them as Spring beans. Events are delivered at least
+ * once: after a failure or a restart a subscriber may see an event again, so it should ignore
+ * event IDs it has already handled. Events of one game arrive in the order they were committed,
+ * on a single thread; an event is retried, and later events of its game held back, until every
+ * subscriber accepted it.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public interface GameEventSubscriber {
+
+  /**
+   * Handles an event.
+   *
+   * @param event the event
+   * @throws RuntimeException to have the event delivered again later
+   */
+  void onEvent(GameEvent event);
+}
@@ -0,0 +1,20 @@
+package com.milestonemania.service.api.event;
+
+/**
+ * Enumeration of what a {@link GameEvent} reports about an attempt.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public enum GameEventType {
+
+  /**
+   * A player started an attempt at a game.
+   */
+  STARTED,
+
+  /**
+   * A player ordered the milestones of an attempt correctly.
+   */
+  COMPLETED
+}
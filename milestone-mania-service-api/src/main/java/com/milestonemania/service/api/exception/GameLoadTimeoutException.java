@@ -0,0 +1,23 @@
+package com.milestonemania.service.api.exception;
+
+/**
+ * Exception thrown when a request waited too long for another request's load of the same game.
+ * <p>
+ * Concurrent requests for a game that is not cached share one database load. Requests joining
+ * that load give up after a timeout rather than queue behind it indefinitely; the client may
+ * retry, typically finding the game cached.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public class GameLoadTimeoutException extends RuntimeException {
+
+  /**
+   * Constructs a new GameLoadTimeoutException with the specified detail message.
+   *
+   * @param message the detail message explaining the cause of the exception
+   */
+  public GameLoadTimeoutException(String message) {
+    super(message);
+  }
+}
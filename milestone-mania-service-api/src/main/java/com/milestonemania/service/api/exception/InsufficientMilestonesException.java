@@ -1,5 +1,11 @@
 package com.milestonemania.service.api.exception;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+import com.milestonemania.service.api.dto.DifficultyBand;
+
 /**
  * Exception thrown when there are insufficient milestones available
  * in the system to create a new game.
@@ -51,4 +57,67 @@ public class InsufficientMilestonesException extends RuntimeException {
         String.format(
             "Insufficient milestones available: found %d, need %d", availableCount, requiredCount));
   }
+
+  /**
+   * Convenience constructor for a date window with too few distinct dates.
+   *
+   * @param availableCount the number of distinct dates inside the window
+   * @param requiredCount the number of milestones required (typically 5)
+   * @param fromDate first date of the window, or null if open
+   * @param toDate last date of the window, or null if open
+   * @return InsufficientMilestonesException with descriptive message
+   */
+  public static InsufficientMilestonesException notEnoughMilestonesInWindow(
+      int availableCount, int requiredCount, LocalDate fromDate, LocalDate toDate) {
+    return new InsufficientMilestonesException(
+        String.format(
+            "Insufficient milestones between %s and %s: found %d distinct dates, need %d",
+            fromDate == null ? "the beginning" : fromDate,
+            toDate == null ? "today" : toDate,
+            availableCount,
+            requiredCount));
+  }
+
+  /**
+   * Convenience constructor for a tag filter matching too few distinct dates.
+   *
+   * @param availableCount the number of distinct dates with a matching milestone
+   * @param requiredCount the number of milestones required (typically 5)
+   * @param tags the tags every milestone must carry
+   * @param fromDate first date of the window, or null if open
+   * @param toDate last date of the window, or null if open
+   * @return InsufficientMilestonesException with descriptive message
+   */
+  public static InsufficientMilestonesException notEnoughMilestonesWithTags(
+      int availableCount,
+      int requiredCount,
+      Collection<String> tags,
+      LocalDate fromDate,
+      LocalDate toDate) {
+    return new InsufficientMilestonesException(
+        String.format(
+            "Insufficient milestones tagged %s between %s and %s: found %d distinct dates, need %d",
+            tags,
+            fromDate == null ? "the beginning" : fromDate,
+            toDate == null ? "today" : toDate,
+            availableCount,
+            requiredCount));
+  }
+
+  /**
+   * Convenience constructor for a difficulty band holding too few distinct dates under the
+   * other constraints.
+   *
+   * @param availableCount the number of distinct dates with a matching milestone in the band
+   * @param requiredCount the number of milestones required (typically 5)
+   * @param difficulty the requested difficulty band
+   * @return InsufficientMilestonesException with descriptive message
+   */
+  public static InsufficientMilestonesException notEnoughMilestonesForDifficulty(
+      int availableCount, int requiredCount, DifficultyBand difficulty) {
+    return new InsufficientMilestonesException(
+        String.format(
+            "Insufficient %s milestones matching the request: found %d distinct dates, need %d",
+            difficulty.name().toLowerCase(Locale.ROOT), availableCount, requiredCount));
+  }
 }
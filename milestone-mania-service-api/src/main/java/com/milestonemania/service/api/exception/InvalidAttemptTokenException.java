@@ -0,0 +1,23 @@
+package com.milestonemania.service.api.exception;
+
+/**
+ * Exception thrown when a submitted attempt token cannot be accepted.
+ * <p>
+ * This occurs when the token is malformed, its signature does not match, it was signed with a
+ * retired key, it has expired or it belongs to a different attempt. The client has to start a
+ * new attempt; retrying with the same token fails the same way.
+ *
+ * @author Milestone Mania Team
+ * @version 1.0
+ */
+public class InvalidAttemptTokenException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidAttemptTokenException with the specified detail message.
+   *
+   * @param message the detail message explaining the cause of the exception
+   */
+  public InvalidAttemptTokenException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,94 @@
+package com.milestonemania.service.attempt;
+
+import java.util.Arrays;
+
+import com.milestonemania.service.api.exception.InvalidAttemptStateException;
+
+/**
+ * A game's milestone IDs in correct order, prepared for checking submissions.
+ * <p>
+ * Alongside the order, the key keeps the IDs sorted with their position in the correct order,
+ * so {@link #check} validates and scores a submission in one pass over primitives: an ID at
+ * its correct position is accepted directly, any other is looked up by binary search, and a
+ * bitmask of the positions taken catches repeated IDs. Nothing is allocated per submission.
+ */
+public final class AnswerKey {
+
+  private static final int MAX_MILESTONES = Long.SIZE;
+
+  private final long[] correctOrder;
+  private final long[] sortedIds;
+  private final int[] positions;
+
+  /**
+   * Creates the key of a game.
+   *
+   * @param correctOrder distinct milestone IDs in correct order; copied
+   * @throws IllegalArgumentException if IDs repeat or there are more than 64
+   */
+  public AnswerKey(long[] correctOrder) {
+    if (correctOrder.length > MAX_MILESTONES) {
+      throw new IllegalArgumentException(
+          "Answer keys hold at most " + MAX_MILESTONES + " milestones");
+    }
+    this.correctOrder = correctOrder.clone();
+    this.sortedIds = correctOrder.clone();
+    Arrays.sort(sortedIds);
+    for (int i = 1; i < sortedIds.length; i++) {
+      if (sortedIds[i] == sortedIds[i - 1]) {
+        throw new IllegalArgumentException("Answer key repeats milestone " + sortedIds[i]);
+      }
+    }
+    this.positions = new int[sortedIds.length];
+    for (int position = 0; position < correctOrder.length; position++) {
+      positions[Arrays.binarySearch(sortedIds, correctOrder[position])] = position;
+    }
+  }
+
+  /**
+   * Returns the milestone IDs in correct order. The array is shared and must not be modified.
+   */
+  public long[] correctOrder() {
+    return correctOrder;
+  }
+
+  /**
+   * Checks a submission against the key.
+   *
+   * @param submitted the milestone IDs in the submitted order
+   * @return whether the submitted order is correct
+   * @throws InvalidAttemptStateException if the submission is not an ordering of exactly the
+   *     game's milestones
+   */
+  public boolean check(long[] submitted) {
+    if (submitted.length != correctOrder.length) {
+      throw mismatch();
+    }
+    boolean correct = true;
+    long taken = 0;
+    for (int i = 0; i < submitted.length; i++) {
+      int position;
+      if (submitted[i] == correctOrder[i]) {
+        position = i;
+      } else {
+        int index = Arrays.binarySearch(sortedIds, submitted[i]);
+        if (index < 0) {
+          throw mismatch();
+        }
+        position = positions[index];
+        correct = false;
+      }
+      long bit = 1L << position;
+      if ((taken & bit) != 0) {
+        throw mismatch();
+      }
+      taken |= bit;
+    }
+    return correct;
+  }
+
+  private static InvalidAttemptStateException mismatch() {
+    return new InvalidAttemptStateException(
+        "Submitted milestone IDs do not match the game milestones");
+  }
+}
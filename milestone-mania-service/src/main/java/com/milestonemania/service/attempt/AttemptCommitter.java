@@ -0,0 +1,301 @@
+package com.milestonemania.service.attempt;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.attempt.AttemptSubmission;
+import com.milestonemania.repository.attempt.AttemptSubmissionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Applies validated attempt submissions to the database, optionally with group commit.
+ * <p>
+ * Without group commit every submission runs its own short transaction. With
+ * {@code milestone-mania.group-commit.enabled}, submissions are queued and a single committer
+ * thread applies them together: it waits up to {@code flush-window} after the first queued
+ * submission, or until {@code max-batch-size} have arrived, then writes them as one JDBC batch
+ * in one transaction. Each caller blocks until the transaction holding its submission has
+ * committed, so a response still means the submission is durable. Under burst load this turns
+ * thousands of commits, each holding a pooled connection, into a few per flush window, at the
+ * cost of up to one window of added latency.
+ * <p>
+ * A batch holds at most one submission per attempt; further ones wait for the next batch, so
+ * each submission still sees the count left by the previous one. When the queue is full, or a
+ * batch fails, submissions are applied individually instead.
+ * <p>
+ * A caller gives up after {@value #MAX_WAIT_SECONDS} seconds only if its submission is still
+ * queued; it is then dropped, so a failed call never takes effect later. A submission the
+ * committer has already taken into a transaction is waited for until that transaction ends.
+ */
+@Component
+public class AttemptCommitter {
+
+  private static final Logger log = LoggerFactory.getLogger(AttemptCommitter.class);
+  private static final long IDLE_POLL_MILLIS = 100;
+  private static final long MAX_WAIT_SECONDS = 10;
+
+  private final AttemptSubmissionRepository attemptSubmissionRepository;
+  private final TransactionTemplate transaction;
+  private final boolean enabled;
+  private final long flushWindowNanos;
+  private final int maxBatchSize;
+  private final BlockingQueue<Pending> queue;
+  private final Thread committer;
+
+  private final DistributionSummary batchSizes;
+  private final Timer commitLatency;
+  private final Counter overflowCounter;
+
+  private volatile boolean running;
+
+  public AttemptCommitter(
+      AttemptSubmissionRepository attemptSubmissionRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.group-commit.enabled:false}") boolean enabled,
+      @Value("${milestone-mania.group-commit.flush-window:PT0.002S}") Duration flushWindow,
+      @Value("${milestone-mania.group-commit.max-batch-size:64}") int maxBatchSize,
+      @Value("${milestone-mania.group-commit.queue-capacity:4096}") int queueCapacity) {
+    if (maxBatchSize < 1 || flushWindow.isNegative()) {
+      throw new IllegalArgumentException(
+          "Group commit needs a positive batch size and a non-negative flush window");
+    }
+    this.attemptSubmissionRepository = attemptSubmissionRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.flushWindowNanos = flushWindow.toNanos();
+    this.maxBatchSize = maxBatchSize;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.committer = new Thread(this::run, "attempt-committer");
+    this.committer.setDaemon(true);
+
+    this.batchSizes =
+        DistributionSummary.builder("attempt.group.commit.batch.size")
+            .description("Submissions applied per group commit transaction")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.commitLatency =
+        Timer.builder("attempt.group.commit.latency")
+            .description("Time from queueing a submission until its transaction committed")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.overflowCounter =
+        Counter.builder("attempt.group.commit.overflow")
+            .description("Submissions applied individually because the commit queue was full")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Applies a submission to an in-progress attempt and returns once it is committed.
+   *
+   * @param attemptId the attempt ID
+   * @param correct whether the submitted order was correct
+   * @param now the completion time for a correct submission
+   * @return the attempt count after the submission, or empty if the attempt was not in
+   *     progress
+   */
+  public OptionalInt apply(long attemptId, boolean correct, LocalDateTime now) {
+    AttemptSubmission submission = new AttemptSubmission(attemptId, correct, now);
+    if (!running) {
+      return applyNow(submission);
+    }
+    Pending pending =
+        new Pending(submission, System.nanoTime(), new CompletableFuture<>(), new AtomicBoolean());
+    if (!queue.offer(pending)) {
+      overflowCounter.increment();
+      return applyNow(submission);
+    }
+
+    try {
+      try {
+        return pending.result().get(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+      } catch (TimeoutException e) {
+        if (pending.take()) {
+          // Still queued: the committer skips it, so the submission never takes effect
+          throw new IllegalStateException(
+              "Submission of attempt " + attemptId + " was not committed in time", e);
+        }
+        // Already in a transaction, whose outcome is this submission's
+        return pending.result().get();
+      }
+    } catch (InterruptedException e) {
+      pending.take();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for group commit", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Group commit failed", e.getCause());
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    log.info(
+        "Group commit of attempt submissions with a {} window and batches of up to {}",
+        Duration.ofNanos(flushWindowNanos),
+        maxBatchSize);
+    running = true;
+    committer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (!running) {
+      return;
+    }
+    running = false;
+    committer.join(TimeUnit.SECONDS.toMillis(MAX_WAIT_SECONDS));
+    // Submissions queued while the committer was exiting
+    for (Pending pending = queue.poll(); pending != null; pending = queue.poll()) {
+      if (pending.take()) {
+        complete(pending);
+      }
+    }
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>(maxBatchSize);
+    Deque<Pending> deferred = new ArrayDeque<>();
+    while (running || !queue.isEmpty() || !deferred.isEmpty()) {
+      try {
+        fill(batch, deferred);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        commit(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  /** Collects the next batch: deferred submissions first, then the queue until the window ends. */
+  private void fill(List<Pending> batch, Deque<Pending> deferred) throws InterruptedException {
+    Set<Long> attemptIds = new HashSet<>();
+    for (int i = deferred.size(); i > 0 && batch.size() < maxBatchSize; i--) {
+      Pending pending = deferred.poll();
+      if (attemptIds.add(pending.submission().attemptId())) {
+        batch.add(pending);
+      } else {
+        deferred.add(pending);
+      }
+    }
+    if (batch.isEmpty()) {
+      Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      if (first == null) {
+        return;
+      }
+      batch.add(first);
+      attemptIds.add(first.submission().attemptId());
+    }
+
+    long deadline = batch.get(0).queuedAt() + flushWindowNanos;
+    while (batch.size() < maxBatchSize) {
+      long remaining = deadline - System.nanoTime();
+      Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+      if (next == null) {
+        return;
+      }
+      if (attemptIds.add(next.submission().attemptId())) {
+        batch.add(next);
+      } else {
+        deferred.add(next);
+      }
+    }
+  }
+
+  private void commit(List<Pending> batch) {
+    // Skips submissions whose callers gave up waiting
+    batch.removeIf(pending -> !pending.take());
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<AttemptSubmission> submissions = batch.stream().map(Pending::submission).toList();
+    Map<Long, Integer> counts;
+    try {
+      counts =
+          transaction.execute(status -> attemptSubmissionRepository.applySubmissions(submissions));
+    } catch (RuntimeException e) {
+      log.warn(
+          "Group commit of {} submissions failed, applying them one by one: {}",
+          batch.size(),
+          e.getMessage());
+      batch.forEach(this::complete);
+      return;
+    }
+
+    long committedAt = System.nanoTime();
+    batchSizes.record(batch.size());
+    for (Pending pending : batch) {
+      Integer count = counts.get(pending.submission().attemptId());
+      pending.result().complete(count == null ? OptionalInt.empty() : OptionalInt.of(count));
+      commitLatency.record(committedAt - pending.queuedAt(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Applies one queued submission on its own and hands the outcome to its caller. */
+  private void complete(Pending pending) {
+    try {
+      pending.result().complete(applyNow(pending.submission()));
+    } catch (RuntimeException e) {
+      pending.result().completeExceptionally(e);
+    }
+  }
+
+  private OptionalInt applyNow(AttemptSubmission submission) {
+    return transaction.execute(
+        status ->
+            attemptSubmissionRepository.applySubmission(
+                submission.attemptId(), submission.correct(), submission.submittedAt()));
+  }
+
+  private record Pending(
+      AttemptSubmission submission,
+      long queuedAt,
+      CompletableFuture<OptionalInt> result,
+      AtomicBoolean taken) {
+
+    /**
+     * Takes the submission, either for a transaction or for its caller giving up. Succeeds
+     * once; whoever takes it decides whether the submission is applied.
+     */
+    boolean take() {
+      return taken.compareAndSet(false, true);
+    }
+  }
+}
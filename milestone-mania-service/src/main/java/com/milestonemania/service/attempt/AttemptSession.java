@@ -0,0 +1,75 @@
+package com.milestonemania.service.attempt;
+
+/**
+ * In-memory state of an in-progress attempt, held by {@link AttemptSessions}.
+ * <p>
+ * Plain fields instead of a managed {@code GameAttempt}: the correct order is kept as the
+ * game's {@link AnswerKey}, so a submission needs neither the attempt row nor the game's
+ * milestones. Mutable state is
+ * guarded by the session's monitor.
+ */
+public final class AttemptSession {
+
+  private final long attemptId;
+  private final String gameSlug;
+  private final AnswerKey answerKey;
+  private int attemptCount;
+  private int checkpointedCount;
+  private boolean completed;
+  private volatile long lastAccessNanos;
+
+  AttemptSession(long attemptId, String gameSlug, AnswerKey answerKey, int attemptCount) {
+    this.attemptId = attemptId;
+    this.gameSlug = gameSlug;
+    this.answerKey = answerKey;
+    this.attemptCount = attemptCount;
+    this.checkpointedCount = attemptCount;
+    this.lastAccessNanos = System.nanoTime();
+  }
+
+  public long attemptId() {
+    return attemptId;
+  }
+
+  public String gameSlug() {
+    return gameSlug;
+  }
+
+  public AnswerKey answerKey() {
+    return answerKey;
+  }
+
+  public synchronized int attemptCount() {
+    return attemptCount;
+  }
+
+  public synchronized boolean isCompleted() {
+    return completed;
+  }
+
+  long lastAccessNanos() {
+    return lastAccessNanos;
+  }
+
+  void touch() {
+    lastAccessNanos = System.nanoTime();
+  }
+
+  /** Counts an incorrect submission and returns the new attempt count. */
+  synchronized int retry() {
+    return ++attemptCount;
+  }
+
+  synchronized void complete() {
+    completed = true;
+  }
+
+  /** Returns the count to write back, or 0 if it was written already or on completion. */
+  synchronized int uncheckpointedCount() {
+    return !completed && attemptCount != checkpointedCount ? attemptCount : 0;
+  }
+
+  synchronized void checkpointed(int count) {
+    checkpointedCount = Math.max(checkpointedCount, count);
+  }
+}
@@ -0,0 +1,272 @@
+package com.milestonemania.service.attempt;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.attempt.AttemptSubmissionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps in-progress attempts in memory, so submissions do not read or write their rows.
+ * <p>
+ * With {@code milestone-mania.attempt-sessions.enabled}, an attempt gets an
+ * {@link AttemptSession} when it starts, or when a submission first finds it only in the
+ * database. Incorrect submissions then only count in memory; every {@code checkpoint-interval}
+ * the counts that changed are written back as one JDBC batch. A correct submission completes
+ * the row right away and drops the session.
+ * <p>
+ * Sessions not used for {@code idle-timeout} are dropped from memory after their count is
+ * written back; a {@link TimingWheel} with {@code expiry-tick} resolution finds them without
+ * scanning sessions or the table. Sessions are per instance: with several instances, attempts
+ * should be routed to the instance they started on, otherwise counts of another instance are
+ * only seen after its next checkpoint.
+ */
+@Component
+public class AttemptSessions {
+
+  private static final Logger log = LoggerFactory.getLogger(AttemptSessions.class);
+
+  private final AttemptSubmissionRepository attemptSubmissionRepository;
+  private final TransactionTemplate transaction;
+  private final boolean enabled;
+  private final long idleTimeoutNanos;
+  private final long tickNanos;
+  private final long startNanos = System.nanoTime();
+  private final Map<Long, AttemptSession> sessions = new ConcurrentHashMap<>();
+  private final Set<AttemptSession> dirty = ConcurrentHashMap.newKeySet();
+  private final TimingWheel<AttemptSession> expiry = new TimingWheel<>(0);
+
+  private final Counter expiredCounter;
+  private final Counter checkpointedCounter;
+
+  public AttemptSessions(
+      AttemptSubmissionRepository attemptSubmissionRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.attempt-sessions.enabled:false}") boolean enabled,
+      @Value("${milestone-mania.attempt-sessions.idle-timeout:PT30M}") Duration idleTimeout,
+      @Value("${milestone-mania.attempt-sessions.expiry-tick:PT1S}") Duration expiryTick) {
+    if (expiryTick.isZero() || expiryTick.isNegative()) {
+      throw new IllegalArgumentException("Attempt session expiry tick must be positive");
+    }
+    this.attemptSubmissionRepository = attemptSubmissionRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.tickNanos = expiryTick.toNanos();
+
+    this.expiredCounter =
+        Counter.builder("attempt.sessions.expired")
+            .description("Idle attempt sessions dropped from memory")
+            .register(meterRegistry);
+    this.checkpointedCounter =
+        Counter.builder("attempt.sessions.checkpointed")
+            .description("Attempt counts written back from memory")
+            .register(meterRegistry);
+    Gauge.builder("attempt.sessions.active", sessions, Map::size)
+        .description("In-progress attempts held in memory")
+        .register(meterRegistry);
+  }
+
+  /** Returns whether in-progress attempts are kept in memory. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Opens the session of a new attempt once the transaction storing its row has committed.
+   *
+   * @param attemptId the attempt ID
+   * @param gameSlug the game slug
+   * @param answerKey the game's answer key
+   */
+  public void open(long attemptId, String gameSlug, AnswerKey answerKey) {
+    if (!enabled) {
+      return;
+    }
+    AttemptSession session = new AttemptSession(attemptId, gameSlug, answerKey, 1);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      register(session);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            register(session);
+          }
+        });
+  }
+
+  /**
+   * Returns the session of an attempt, if it is held in memory.
+   *
+   * @param attemptId the attempt ID
+   * @return the session, or empty if the attempt is not in memory
+   */
+  public Optional<AttemptSession> find(long attemptId) {
+    AttemptSession session = enabled ? sessions.get(attemptId) : null;
+    if (session == null) {
+      return Optional.empty();
+    }
+    session.touch();
+    return Optional.of(session);
+  }
+
+  /**
+   * Keeps an in-progress attempt read from the database in memory.
+   *
+   * @param attemptId the attempt ID
+   * @param gameSlug the game slug
+   * @param answerKey the game's answer key
+   * @param attemptCount the stored attempt count
+   * @return the session, or the one a concurrent request loaded first
+   */
+  public AttemptSession load(
+      long attemptId, String gameSlug, AnswerKey answerKey, int attemptCount) {
+    AttemptSession session = new AttemptSession(attemptId, gameSlug, answerKey, attemptCount);
+    AttemptSession existing = sessions.putIfAbsent(attemptId, session);
+    if (existing != null) {
+      return existing;
+    }
+    expiry.schedule(session, tick(session.lastAccessNanos() + idleTimeoutNanos));
+    return session;
+  }
+
+  /**
+   * Applies a submission to a session: an incorrect one counts in memory, a correct one
+   * completes the attempt's row and ends the session.
+   *
+   * @param session the attempt's session
+   * @param correct whether the submitted order was correct
+   * @param now the completion time for a correct submission
+   * @return the attempt count after the submission, or empty if the attempt was completed
+   *     before
+   */
+  public OptionalInt submit(AttemptSession session, boolean correct, LocalDateTime now) {
+    synchronized (session) {
+      if (session.isCompleted()) {
+        return OptionalInt.empty();
+      }
+      if (!correct) {
+        int attemptCount = session.retry();
+        dirty.add(session);
+        return OptionalInt.of(attemptCount);
+      }
+
+      int attemptCount = session.attemptCount();
+      boolean completed =
+          transaction.execute(
+              status ->
+                  attemptSubmissionRepository.completeAttempt(
+                      session.attemptId(), attemptCount, now));
+      session.complete();
+      sessions.remove(session.attemptId(), session);
+      // Completed elsewhere, e.g. through another instance
+      return completed ? OptionalInt.of(attemptCount) : OptionalInt.empty();
+    }
+  }
+
+  /** Drops idle sessions, then writes back the counts changed since the last checkpoint. */
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.attempt-sessions.checkpoint-interval:PT5S}",
+      initialDelayString = "${milestone-mania.attempt-sessions.checkpoint-interval:PT5S}")
+  public void checkpoint() {
+    if (!enabled) {
+      return;
+    }
+    expire();
+    flush();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (enabled) {
+      flush();
+    }
+  }
+
+  private void register(AttemptSession session) {
+    sessions.put(session.attemptId(), session);
+    expiry.schedule(session, tick(session.lastAccessNanos() + idleTimeoutNanos));
+  }
+
+  private void expire() {
+    long now = System.nanoTime();
+    int expired = 0;
+    for (AttemptSession session : expiry.advance(tick(now))) {
+      if (session.isCompleted() || sessions.get(session.attemptId()) != session) {
+        continue;
+      }
+      long idleUntil = session.lastAccessNanos() + idleTimeoutNanos;
+      if (idleUntil - now > 0) {
+        // Used since it was scheduled
+        expiry.schedule(session, tick(idleUntil));
+        continue;
+      }
+      // A pending count stays in the dirty set and is written by the following flush
+      sessions.remove(session.attemptId(), session);
+      expired++;
+    }
+    if (expired > 0) {
+      expiredCounter.increment(expired);
+      log.debug("Dropped {} idle attempt sessions", expired);
+    }
+  }
+
+  private void flush() {
+    Map<Long, Integer> counts = new HashMap<>();
+    List<AttemptSession> batch = new ArrayList<>();
+    for (Iterator<AttemptSession> it = dirty.iterator(); it.hasNext(); ) {
+      AttemptSession session = it.next();
+      // Removed first, so a submission from now on marks it dirty again
+      it.remove();
+      int attemptCount = session.uncheckpointedCount();
+      if (attemptCount > 0) {
+        counts.put(session.attemptId(), attemptCount);
+        batch.add(session);
+      }
+    }
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    try {
+      transaction.executeWithoutResult(
+          status -> attemptSubmissionRepository.checkpointAttemptCounts(counts));
+    } catch (RuntimeException e) {
+      log.warn("Could not checkpoint {} attempt sessions: {}", counts.size(), e.getMessage());
+      dirty.addAll(batch);
+      return;
+    }
+    batch.forEach(session -> session.checkpointed(counts.get(session.attemptId())));
+    checkpointedCounter.increment(counts.size());
+  }
+
+  private long tick(long nanos) {
+    return (nanos - startNanos) / tickNanos;
+  }
+}
@@ -0,0 +1,27 @@
+package com.milestonemania.service.attempt;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an attempt carried by its signed token instead of a {@code game_attempts} row.
+ *
+ * @param attemptId the attempt ID, also used for the row once the attempt is completed
+ * @param gameId the game row, or null for a procedural game without one
+ * @param gameSlug the game slug
+ * @param playerName the player name; may be null
+ * @param startedAt when the attempt started
+ * @param attemptCount the current attempt number, 1-based
+ */
+public record AttemptToken(
+    long attemptId,
+    Long gameId,
+    String gameSlug,
+    String playerName,
+    LocalDateTime startedAt,
+    int attemptCount) {
+
+  /** Returns the state after an incorrect submission. */
+  public AttemptToken next() {
+    return new AttemptToken(attemptId, gameId, gameSlug, playerName, startedAt, attemptCount + 1);
+  }
+}
@@ -0,0 +1,258 @@
+package com.milestonemania.service.attempt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.service.api.exception.InvalidAttemptTokenException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Issues and verifies signed attempt tokens, which let attempts be played without a
+ * {@code game_attempts} row until they are completed.
+ * <p>
+ * A token is {@code <key id>.<payload>.<signature>}, with the payload holding an
+ * {@link AttemptToken} and the signature an HMAC-SHA256 over key ID and payload, both
+ * Base64url-encoded. Keys are configured as {@code milestone-mania.attempt-tokens.keys}, a list
+ * of {@code <id>:<Base64 secret>} entries. The first key signs; all of them verify, so a key is
+ * rotated by putting the new one first and dropping the old one after {@code max-age}, when no
+ * token signed with it is valid anymore. Without configured keys a random key is generated,
+ * which only works for a single instance and invalidates tokens on restart.
+ * <p>
+ * Since a token cannot be revoked, each is accepted once: {@link #spend} remembers submitted
+ * tokens in a {@link SpentTokens} replay guard of {@code replay-guard-bits} per generation.
+ * The guard is per instance: without sticky routing, an incorrect submission replayed against
+ * another instance is accepted there and resets the attempt count. Across instances, the primary
+ * key of the row inserted on completion still lets every attempt complete only once.
+ */
+@Component
+public class AttemptTokens {
+
+  private static final Logger log = LoggerFactory.getLogger(AttemptTokens.class);
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+  private static final byte FORMAT_VERSION = 1;
+  private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final boolean enabled;
+  private final Duration maxAge;
+  private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+  private final String signingKeyId;
+  private final SpentTokens spentTokens;
+
+  private final Counter rejectedCounter;
+  private final Counter replayCounter;
+
+  public AttemptTokens(
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.attempt-tokens.enabled:false}") boolean enabled,
+      @Value("${milestone-mania.attempt-tokens.keys:}") List<String> keys,
+      @Value("${milestone-mania.attempt-tokens.max-age:PT24H}") Duration maxAge,
+      @Value("${milestone-mania.attempt-tokens.replay-guard-bits:33554432}") int replayGuardBits,
+      @Value("${milestone-mania.attempt-tokens.replay-guard-max-false-positive-rate:0.000001}")
+          double maxFalsePositiveRate) {
+    if (replayGuardBits < Long.SIZE || maxFalsePositiveRate <= 0 || maxFalsePositiveRate >= 1) {
+      throw new IllegalArgumentException(
+          "Replay guard needs at least 64 bits and a false-positive rate in (0, 1)");
+    }
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+    for (String key : keys) {
+      parseKey(key.trim());
+    }
+    if (this.keys.isEmpty()) {
+      if (enabled) {
+        log.warn("No attempt token keys configured, tokens are only valid on this instance");
+      }
+      byte[] secret = new byte[MIN_SECRET_BYTES];
+      new SecureRandom().nextBytes(secret);
+      this.keys.put("local", new SecretKeySpec(secret, ALGORITHM));
+    }
+    this.signingKeyId = this.keys.keySet().iterator().next();
+    int hashCount = Math.max(1, (int) Math.round(-Math.log(maxFalsePositiveRate) / Math.log(2)));
+    this.spentTokens =
+        new SpentTokens(
+            replayGuardBits / Long.SIZE * Long.SIZE,
+            hashCount,
+            maxAge.toNanos(),
+            System.nanoTime());
+
+    this.rejectedCounter =
+        Counter.builder("attempt.tokens.rejected")
+            .description("Attempt tokens rejected as malformed, forged or expired")
+            .register(meterRegistry);
+    this.replayCounter =
+        Counter.builder("attempt.tokens.replayed")
+            .description("Attempt tokens submitted again after they were spent")
+            .register(meterRegistry);
+    Gauge.builder(
+            "attempt.tokens.replay.false.positive.rate",
+            spentTokens,
+            SpentTokens::falsePositiveRate)
+        .description("Estimated rate of unspent tokens taken for replays")
+        .register(meterRegistry);
+  }
+
+  /** Returns whether new attempts are played with tokens instead of rows. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Signs an attempt's state with the current key.
+   *
+   * @param token the attempt state
+   * @return the token to hand to the client
+   */
+  public String issue(AttemptToken token) {
+    String signed = signingKeyId + "." + ENCODER.encodeToString(encode(token));
+    return signed + "." + ENCODER.encodeToString(sign(keys.get(signingKeyId), signed));
+  }
+
+  /**
+   * Verifies a token's signature and age and returns the state it carries.
+   *
+   * @param token the token from the client
+   * @return the attempt state
+   * @throws InvalidAttemptTokenException if the token is malformed, forged, signed with a retired
+   *     key or older than {@code max-age}
+   */
+  public AttemptToken verify(String token) {
+    String[] parts = token.split("\\.", -1);
+    SecretKeySpec key = parts.length == 3 ? keys.get(parts[0]) : null;
+    if (key == null) {
+      throw reject("Invalid attempt token");
+    }
+    byte[] signature;
+    byte[] payload;
+    try {
+      signature = DECODER.decode(parts[2]);
+      payload = DECODER.decode(parts[1]);
+    } catch (IllegalArgumentException e) {
+      throw reject("Invalid attempt token");
+    }
+    byte[] expected = sign(key, parts[0] + "." + parts[1]);
+    if (!MessageDigest.isEqual(expected, signature)) {
+      throw reject("Invalid attempt token");
+    }
+
+    AttemptToken attempt = decode(payload);
+    if (attempt.startedAt().plus(maxAge).isBefore(LocalDateTime.now())) {
+      throw reject("Attempt token has expired");
+    }
+    return attempt;
+  }
+
+  /**
+   * Marks a verified token as submitted.
+   *
+   * @param token the attempt state of the token
+   * @return true on the first submission, false if the token was probably submitted before
+   */
+  public boolean spend(AttemptToken token) {
+    boolean fresh = spentTokens.spend(token.attemptId(), token.attemptCount(), System.nanoTime());
+    if (!fresh) {
+      replayCounter.increment();
+    }
+    return fresh;
+  }
+
+  private void parseKey(String entry) {
+    int separator = entry.indexOf(':');
+    String id = separator > 0 ? entry.substring(0, separator) : "";
+    if (!KEY_ID.matcher(id).matches()) {
+      throw new IllegalArgumentException(
+          "Attempt token keys must be <id>:<Base64 secret> with an alphanumeric ID");
+    }
+    byte[] secret = Base64.getDecoder().decode(entry.substring(separator + 1));
+    if (secret.length < MIN_SECRET_BYTES) {
+      throw new IllegalArgumentException(
+          "Attempt token key " + id + " must have at least " + MIN_SECRET_BYTES + " bytes");
+    }
+    if (keys.putIfAbsent(id, new SecretKeySpec(secret, ALGORITHM)) != null) {
+      throw new IllegalArgumentException("Attempt token key " + id + " is configured twice");
+    }
+  }
+
+  private static byte[] sign(SecretKeySpec key, String signed) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC-SHA256 is not available", e);
+    }
+  }
+
+  private static byte[] encode(AttemptToken token) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeLong(token.attemptId());
+      out.writeLong(token.gameId() != null ? token.gameId() : 0L);
+      out.writeLong(token.startedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+      out.writeInt(token.attemptCount());
+      out.writeUTF(token.gameSlug());
+      out.writeBoolean(token.playerName() != null);
+      if (token.playerName() != null) {
+        out.writeUTF(token.playerName());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private AttemptToken decode(byte[] payload) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      if (in.readByte() != FORMAT_VERSION) {
+        throw reject("Invalid attempt token");
+      }
+      long attemptId = in.readLong();
+      long gameId = in.readLong();
+      LocalDateTime startedAt =
+          LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+      int attemptCount = in.readInt();
+      String gameSlug = in.readUTF();
+      String playerName = in.readBoolean() ? in.readUTF() : null;
+      return new AttemptToken(
+          attemptId, gameId != 0 ? gameId : null, gameSlug, playerName, startedAt, attemptCount);
+    } catch (IOException e) {
+      // Correctly signed, so only a payload of an unknown layout gets here
+      throw reject("Invalid attempt token");
+    }
+  }
+
+  private InvalidAttemptTokenException reject(String message) {
+    rejectedCounter.increment();
+    return new InvalidAttemptTokenException(message);
+  }
+}
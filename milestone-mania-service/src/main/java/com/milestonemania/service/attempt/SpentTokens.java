@@ -0,0 +1,107 @@
+package com.milestonemania.service.attempt;
+
+import java.util.Arrays;
+
+/**
+ * Remembers which attempt tokens have been submitted, in bounded memory.
+ * <p>
+ * Tokens are keyed by attempt ID and attempt count, which identify a token uniquely since each
+ * submission re-issues the token with the next count. Keys go into two Bloom filters of fixed
+ * size: the current generation and the previous one. The generations rotate every
+ * {@code retention}, so a key is remembered for at least one retention period, and memory stays
+ * at two filters no matter how many attempts are played. A false positive rejects an unspent
+ * token as a replay, at the rate reported by {@link #falsePositiveRate()}.
+ */
+final class SpentTokens {
+
+  private final int bitCount;
+  private final int hashCount;
+  private final long retentionNanos;
+  private long[] current;
+  private long[] previous;
+  private long currentSince;
+
+  /**
+   * @param bitCount bits per generation, a positive multiple of 64
+   * @param hashCount bit positions per key
+   * @param retentionNanos how long a generation stays current
+   * @param now the current {@link System#nanoTime()}
+   */
+  SpentTokens(int bitCount, int hashCount, long retentionNanos, long now) {
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+    this.retentionNanos = retentionNanos;
+    this.current = new long[bitCount / Long.SIZE];
+    this.previous = new long[bitCount / Long.SIZE];
+    this.currentSince = now;
+  }
+
+  /**
+   * Marks a token as spent.
+   *
+   * @param attemptId the token's attempt ID
+   * @param attemptCount the token's attempt count
+   * @param now the current {@link System#nanoTime()}
+   * @return true if the token was not spent before, false if it probably was
+   */
+  synchronized boolean spend(long attemptId, int attemptCount, long now) {
+    rotate(now);
+    long hash = mix(attemptId * 0x9e3779b97f4a7c15L + attemptCount);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    boolean spent = true;
+    for (int i = 0; i < hashCount; i++) {
+      int bit = Math.floorMod(h1 + i * h2, bitCount);
+      long mask = 1L << bit;
+      if ((current[bit >>> 6] & mask) == 0) {
+        current[bit >>> 6] |= mask;
+        spent &= (previous[bit >>> 6] & mask) != 0;
+      }
+    }
+    return !spent;
+  }
+
+  /** Estimated probability that an unspent token is taken for a replay. */
+  synchronized double falsePositiveRate() {
+    double currentFill = (double) countSetBits(current) / bitCount;
+    double previousFill = (double) countSetBits(previous) / bitCount;
+    // A key counts as spent if each of its bits is set in either generation
+    return Math.pow(currentFill + previousFill - currentFill * previousFill, hashCount);
+  }
+
+  private void rotate(long now) {
+    long elapsed = now - currentSince;
+    if (elapsed < retentionNanos) {
+      return;
+    }
+    if (elapsed >= 2 * retentionNanos) {
+      // Idle for two periods: the current generation is as stale as the previous one
+      Arrays.fill(current, 0L);
+      Arrays.fill(previous, 0L);
+    } else {
+      long[] cleared = previous;
+      Arrays.fill(cleared, 0L);
+      previous = current;
+      current = cleared;
+    }
+    currentSince = now;
+  }
+
+  private static int countSetBits(long[] words) {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /** MurmurHash3 fmix64 finalizer. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
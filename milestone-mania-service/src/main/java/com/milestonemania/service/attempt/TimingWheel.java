@@ -0,0 +1,88 @@
+package com.milestonemania.service.attempt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: schedules items for a tick and hands them back once it is reached.
+ * <p>
+ * Four levels of 64 slots each cover 64 ticks, 64² ticks and so on. An item goes into the
+ * lowest level whose slot span still contains its deadline, keyed by the deadline's digit on
+ * that level. When the ticks of a higher-level slot come up, its items cascade into lower
+ * levels, and level 0 fires one slot per tick. Scheduling and firing cost O(1) per item,
+ * regardless of how many items are pending or how far off their deadlines are. Deadlines
+ * beyond the four levels are capped, so an item may come back early; callers check the item's
+ * actual state and schedule it again if it is not due yet.
+ */
+final class TimingWheel<T> {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int LEVELS = 4;
+  private static final long MAX_DELAY = (1L << (SLOT_BITS * (LEVELS - 1))) * (SLOTS - 1);
+
+  private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+  private long currentTick;
+
+  TimingWheel(long startTick) {
+    for (int i = 0; i < LEVELS * SLOTS; i++) {
+      slots.add(new ArrayList<>());
+    }
+    this.currentTick = startTick;
+  }
+
+  /**
+   * Schedules an item.
+   *
+   * @param item the item
+   * @param deadlineTick the tick at which to hand it back; past ticks mean the next one
+   */
+  synchronized void schedule(T item, long deadlineTick) {
+    long deadline = Math.min(Math.max(deadlineTick, currentTick + 1), currentTick + MAX_DELAY);
+    place(new Entry<>(item, deadline));
+  }
+
+  /**
+   * Moves the wheel forward.
+   *
+   * @param nowTick the current tick
+   * @return the items whose deadline passed since the last call
+   */
+  synchronized List<T> advance(long nowTick) {
+    List<T> due = new ArrayList<>();
+    while (currentTick < nowTick) {
+      currentTick++;
+      // Higher levels first, their items may drop into a lower slot cascading at this tick
+      for (int level = LEVELS - 1; level > 0; level--) {
+        int shift = level * SLOT_BITS;
+        if ((currentTick & ((1L << shift) - 1)) == 0) {
+          List<Entry<T>> slot = slot(level, (int) (currentTick >>> shift) & (SLOTS - 1));
+          List<Entry<T>> cascading = new ArrayList<>(slot);
+          slot.clear();
+          cascading.forEach(this::place);
+        }
+      }
+      List<Entry<T>> fired = slot(0, (int) currentTick & (SLOTS - 1));
+      fired.forEach(entry -> due.add(entry.item()));
+      fired.clear();
+    }
+    return due;
+  }
+
+  private void place(Entry<T> entry) {
+    long deadline = Math.max(entry.deadline(), currentTick);
+    // The highest digit in which deadline and now differ picks the level
+    long differing = deadline ^ currentTick;
+    int level =
+        differing == 0
+            ? 0
+            : Math.min(LEVELS - 1, (63 - Long.numberOfLeadingZeros(differing)) / SLOT_BITS);
+    slot(level, (int) (deadline >>> (level * SLOT_BITS)) & (SLOTS - 1)).add(entry);
+  }
+
+  private List<Entry<T>> slot(int level, int index) {
+    return slots.get(level * SLOTS + index);
+  }
+
+  private record Entry<T>(T item, long deadline) {}
+}
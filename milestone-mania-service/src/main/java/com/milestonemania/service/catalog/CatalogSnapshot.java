@@ -0,0 +1,483 @@
+package com.milestonemania.service.catalog;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.random.RandomGenerator;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Immutable, array-backed snapshot of the milestone catalog.
+ * <p>
+ * Milestones are stored as parallel primitive arrays sorted by actual date (then ID), so the
+ * position of a milestone in the arrays is its ordinal. Milestones sharing the same date are
+ * contiguous and form a "day group"; sampling picks distinct day groups so a game never contains
+ * two milestones that cannot be ordered. An optional {@link TagIndex} maps tags to ordinals.
+ */
+public final class CatalogSnapshot {
+
+  /** Snapshot used before the first catalog load completes. */
+  public static final CatalogSnapshot EMPTY =
+      new CatalogSnapshot(0L, new long[0], new int[0], TagIndex.EMPTY);
+
+  /** Random draws per requested milestone before tag-filtered sampling enumerates dates. */
+  private static final int REJECTION_DRAWS_PER_PICK = 4;
+
+  private final long version;
+  private final long[] ids;
+  private final int[] epochDays;
+  private final int[] groupStarts;
+  private final int groupCount;
+  private final TagIndex tags;
+  private final long contentVersion;
+
+  private volatile IdIndex idIndex;
+
+  /**
+   * Creates a snapshot from arrays already sorted by (epochDay, id).
+   *
+   * @param version monotonically increasing snapshot version
+   * @param ids milestone IDs in chronological order
+   * @param epochDays actual dates as epoch days, parallel to {@code ids}
+   * @param tags tag index over the ordinals of {@code ids}
+   */
+  CatalogSnapshot(long version, long[] ids, int[] epochDays, TagIndex tags) {
+    this.version = version;
+    this.ids = ids;
+    this.epochDays = epochDays;
+    this.tags = tags;
+    this.contentVersion = 0L;
+
+    int[] starts = new int[ids.length + 1];
+    int groups = 0;
+    for (int i = 0; i < ids.length; i++) {
+      if (i == 0 || epochDays[i] != epochDays[i - 1]) {
+        starts[groups++] = i;
+      }
+    }
+    starts[groups] = ids.length;
+    this.groupStarts = starts;
+    this.groupCount = groups;
+  }
+
+  private CatalogSnapshot(
+      long version, CatalogSnapshot arrays, TagIndex tags, long contentVersion) {
+    this.version = version;
+    this.ids = arrays.ids;
+    this.epochDays = arrays.epochDays;
+    this.groupStarts = arrays.groupStarts;
+    this.groupCount = arrays.groupCount;
+    this.tags = tags;
+    this.contentVersion = contentVersion;
+    this.idIndex = arrays.idIndex;
+  }
+
+  /**
+   * Returns a snapshot sharing this snapshot's arrays with a different tag index, so a change
+   * that only touches tags does not rebuild the date index.
+   */
+  CatalogSnapshot withTags(long newVersion, TagIndex newTags) {
+    return new CatalogSnapshot(newVersion, this, newTags, contentVersion);
+  }
+
+  /** Returns a snapshot sharing this snapshot's arrays, tagged with a persisted version ID. */
+  CatalogSnapshot withContentVersion(long newContentVersion) {
+    return new CatalogSnapshot(version, this, tags, newContentVersion);
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the ID of the persisted catalog version holding this snapshot's (id, date) content,
+   * or 0 if the content was not persisted.
+   */
+  public long getContentVersion() {
+    return contentVersion;
+  }
+
+  /** Returns the tag index of this snapshot. */
+  public TagIndex tags() {
+    return tags;
+  }
+
+  /** Returns the number of milestones in the snapshot. */
+  public int size() {
+    return ids.length;
+  }
+
+  /** Returns the number of distinct actual dates in the snapshot. */
+  public int distinctDateCount() {
+    return groupCount;
+  }
+
+  /** Returns the milestone ID at the given ordinal. */
+  public long idAt(int ordinal) {
+    return ids[ordinal];
+  }
+
+  /** Returns the actual date (as epoch day) of the milestone at the given ordinal. */
+  public int epochDayAt(int ordinal) {
+    return epochDays[ordinal];
+  }
+
+  /**
+   * Returns the ordinal of a milestone by ID. The ID index is built on first use, since only
+   * some callers need it.
+   *
+   * @param id the milestone ID
+   * @return the ordinal, or -1 if the milestone is not in this snapshot
+   */
+  public int ordinalOf(long id) {
+    IdIndex index = idIndex;
+    if (index == null) {
+      // Benign race: concurrent callers may each build an identical index
+      index = new IdIndex(ids);
+      idIndex = index;
+    }
+    return index.ordinalOf(id);
+  }
+
+  boolean contentEquals(long[] otherIds, int[] otherEpochDays) {
+    return Arrays.equals(ids, otherIds) && Arrays.equals(epochDays, otherEpochDays);
+  }
+
+  /**
+   * Returns the number of distinct actual dates within an inclusive epoch-day window.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @return number of distinct dates in the window
+   */
+  public int distinctDateCount(int fromEpochDay, int toEpochDay) {
+    return Math.max(0, firstGroupAfter(toEpochDay) - firstGroupOnOrAfter(fromEpochDay));
+  }
+
+  /**
+   * Draws {@code count} milestones with pairwise distinct actual dates from the whole catalog.
+   *
+   * @param count number of milestones to draw
+   * @param random source of randomness
+   * @return milestone IDs in chronological order
+   * @throws IllegalArgumentException if fewer than {@code count} distinct dates exist
+   */
+  public long[] sample(int count, RandomGenerator random) {
+    return sampleGroups(0, groupCount, count, random);
+  }
+
+  /**
+   * Draws {@code count} milestones with pairwise distinct actual dates from an inclusive
+   * epoch-day window. The window is located with two binary searches over the date groups.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param count number of milestones to draw
+   * @param random source of randomness
+   * @return milestone IDs in chronological order
+   * @throws IllegalArgumentException if the window holds fewer than {@code count} distinct dates
+   */
+  public long[] sample(int fromEpochDay, int toEpochDay, int count, RandomGenerator random) {
+    return sampleGroups(
+        firstGroupOnOrAfter(fromEpochDay), firstGroupAfter(toEpochDay), count, random);
+  }
+
+  /**
+   * Draws {@code count} milestones with pairwise distinct actual dates that carry all of the
+   * given tags and fall inside an inclusive epoch-day window.
+   * <p>
+   * The tag bitmaps are intersected and the window is mapped to a rank range of the result,
+   * then matching milestones are picked by rank and redrawn on date collisions. Only if that
+   * keeps colliding, e.g. because most matches share a few dates, are the distinct dates of
+   * the window enumerated. Dates are therefore weighted by their number of matching
+   * milestones, unlike {@link #sample(int, int, int, RandomGenerator)}.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param tagFilter tags every drawn milestone must carry, at least one
+   * @param count number of milestones to draw
+   * @param random source of randomness
+   * @return milestone IDs in chronological order, or null if fewer than {@code count}
+   *     distinct dates match
+   */
+  public long[] sampleMatching(
+      int fromEpochDay,
+      int toEpochDay,
+      Collection<String> tagFilter,
+      int count,
+      RandomGenerator random) {
+    return sampleCandidates(fromEpochDay, toEpochDay, tags.matchingAll(tagFilter), count, random);
+  }
+
+  /**
+   * Draws {@code count} milestones with pairwise distinct actual dates among the given
+   * candidate ordinals, inside an inclusive epoch-day window. Works like
+   * {@link #sampleMatching(int, int, Collection, int, RandomGenerator)} for any candidate set,
+   * e.g. a tag intersection restricted further by difficulty.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param candidates ordinals of this snapshot that may be drawn
+   * @param count number of milestones to draw
+   * @param random source of randomness
+   * @return milestone IDs in chronological order, or null if fewer than {@code count}
+   *     distinct dates match
+   */
+  public long[] sampleCandidates(
+      int fromEpochDay,
+      int toEpochDay,
+      RoaringBitmap candidates,
+      int count,
+      RandomGenerator random) {
+    int from = groupStarts[firstGroupOnOrAfter(fromEpochDay)];
+    int to = Math.max(from, groupStarts[firstGroupAfter(toEpochDay)]);
+    int firstRank = from == 0 ? 0 : (int) candidates.rank(from - 1);
+    int available = (int) candidates.rangeCardinality(from, to);
+    if (available < count) {
+      return null;
+    }
+
+    long[] result = new long[count];
+    int chosen = 0;
+    for (int draws = count * REJECTION_DRAWS_PER_PICK; chosen < count && draws > 0; draws--) {
+      int ordinal = candidates.select(firstRank + random.nextInt(available));
+      if (!containsDate(result, chosen, epochDays[ordinal])) {
+        result[chosen++] = ordinal;
+      }
+    }
+    if (chosen < count) {
+      return sampleMatchingDates(candidates, from, to, count, random);
+    }
+
+    Arrays.sort(result);
+    for (int i = 0; i < count; i++) {
+      result[i] = ids[(int) result[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of distinct actual dates within an inclusive epoch-day window that
+   * have at least one milestone carrying all of the given tags.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param tagFilter tags to match, at least one
+   * @return number of distinct matching dates in the window
+   */
+  public int distinctDateCount(int fromEpochDay, int toEpochDay, Collection<String> tagFilter) {
+    return distinctDateCount(fromEpochDay, toEpochDay, tags.matchingAll(tagFilter));
+  }
+
+  /**
+   * Returns the number of distinct actual dates within an inclusive epoch-day window that
+   * have at least one of the given candidate ordinals.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param candidates ordinals of this snapshot
+   * @return number of distinct candidate dates in the window
+   */
+  public int distinctDateCount(int fromEpochDay, int toEpochDay, RoaringBitmap candidates) {
+    return distinctDateCount(fromEpochDay, toEpochDay, candidates, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the number of distinct actual dates within an inclusive epoch-day window that
+   * have at least one of the given candidate ordinals, counting no further than {@code limit}.
+   * Each date found skips the rest of its candidates, so the count costs one bitmap seek and
+   * one binary search per date up to the limit, however many candidates the window holds.
+   *
+   * @param fromEpochDay first day of the window
+   * @param toEpochDay last day of the window
+   * @param candidates ordinals of this snapshot
+   * @param limit the count to stop at
+   * @return number of distinct candidate dates in the window, at most {@code limit}
+   */
+  public int distinctDateCount(
+      int fromEpochDay, int toEpochDay, RoaringBitmap candidates, int limit) {
+    int from = groupStarts[firstGroupOnOrAfter(fromEpochDay)];
+    int to = Math.max(from, groupStarts[firstGroupAfter(toEpochDay)]);
+    int dates = 0;
+    PeekableIntIterator iterator = candidates.getIntIterator();
+    iterator.advanceIfNeeded(from);
+    while (dates < limit && iterator.hasNext() && iterator.peekNext() < to) {
+      int ordinal = iterator.next();
+      dates++;
+      iterator.advanceIfNeeded(groupStarts[firstGroupAfter(epochDays[ordinal])]);
+    }
+    return dates;
+  }
+
+  /**
+   * Returns the ordinals of milestones carrying every one of the given tags. The result must
+   * not be modified.
+   *
+   * @param tagFilter tags to match, at least one
+   * @return bitmap of matching ordinals
+   */
+  public RoaringBitmap tagCandidates(Collection<String> tagFilter) {
+    return tags.matchingAll(tagFilter);
+  }
+
+  /** Enumerates one matching ordinal per distinct date and draws {@code count} of them. */
+  private long[] sampleMatchingDates(
+      RoaringBitmap candidates, int from, int to, int count, RandomGenerator random) {
+    int[] ordinals = distinctDateOrdinals(candidates, from, to);
+    if (ordinals.length < count) {
+      return null;
+    }
+
+    long[] result = new long[count];
+    for (int chosen = 0, j = ordinals.length - count; j < ordinals.length; j++, chosen++) {
+      int candidate = random.nextInt(j + 1);
+      if (contains(result, chosen, candidate)) {
+        candidate = j;
+      }
+      result[chosen] = candidate;
+    }
+    Arrays.sort(result);
+    for (int i = 0; i < count; i++) {
+      result[i] = ids[ordinals[(int) result[i]]];
+    }
+    return result;
+  }
+
+  /** Returns the first matching ordinal of every distinct date in [from, to). */
+  private int[] distinctDateOrdinals(RoaringBitmap candidates, int from, int to) {
+    int[] ordinals = new int[16];
+    int size = 0;
+    PeekableIntIterator iterator = candidates.getIntIterator();
+    iterator.advanceIfNeeded(from);
+    while (iterator.hasNext() && iterator.peekNext() < to) {
+      int ordinal = iterator.next();
+      if (size == 0 || epochDays[ordinals[size - 1]] != epochDays[ordinal]) {
+        if (size == ordinals.length) {
+          ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        ordinals[size++] = ordinal;
+      }
+    }
+    return Arrays.copyOf(ordinals, size);
+  }
+
+  /**
+   * Finds the ordinal of a milestone in arrays sorted by (epochDay, id).
+   *
+   * @return the ordinal, or -1 if the milestone is not in the arrays
+   */
+  static int ordinalOf(long[] ids, int[] epochDays, long id, int epochDay) {
+    int low = 0;
+    int high = ids.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp =
+          epochDays[mid] != epochDay
+              ? Integer.compare(epochDays[mid], epochDay)
+              : Long.compare(ids[mid], id);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Samples distinct day groups in [fromGroup, toGroup) with Floyd's algorithm, which needs
+   * exactly {@code count} random draws, then picks a random milestone within each group.
+   * The result array doubles as scratch space for the chosen group offsets, so the only
+   * allocation is the returned array.
+   * <p>
+   * Procedural games replay this method with a seeded generator to re-derive their milestones,
+   * so the sequence of draws must not change.
+   */
+  long[] sampleGroups(int fromGroup, int toGroup, int count, RandomGenerator random) {
+    int available = toGroup - fromGroup;
+    if (available < count) {
+      throw new IllegalArgumentException(
+          "Only " + Math.max(0, available) + " distinct dates available, need " + count);
+    }
+
+    long[] result = new long[count];
+    for (int chosen = 0, j = available - count; j < available; j++, chosen++) {
+      int candidate = random.nextInt(j + 1);
+      if (contains(result, chosen, candidate)) {
+        candidate = j;
+      }
+      result[chosen] = candidate;
+    }
+    Arrays.sort(result);
+
+    for (int i = 0; i < count; i++) {
+      int group = fromGroup + (int) result[i];
+      int start = groupStarts[group];
+      int end = groupStarts[group + 1];
+      result[i] = ids[start + random.nextInt(end - start)];
+    }
+    return result;
+  }
+
+  /** Returns the index of the first date group whose day is on or after {@code epochDay}. */
+  private int firstGroupOnOrAfter(int epochDay) {
+    int low = 0;
+    int high = groupCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (epochDays[groupStarts[mid]] < epochDay) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Returns the index of the first date group whose day is after {@code epochDay}. */
+  private int firstGroupAfter(int epochDay) {
+    return epochDay == Integer.MAX_VALUE ? groupCount : firstGroupOnOrAfter(epochDay + 1);
+  }
+
+  private boolean containsDate(long[] ordinals, int length, int epochDay) {
+    for (int i = 0; i < length; i++) {
+      if (epochDays[(int) ordinals[i]] == epochDay) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean contains(long[] values, int length, long value) {
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Milestone IDs in ascending order with the ordinal of each, for lookups by ID. */
+  private static final class IdIndex {
+
+    private final long[] sortedIds;
+    private final int[] ordinals;
+
+    IdIndex(long[] ids) {
+      sortedIds = ids.clone();
+      Arrays.sort(sortedIds);
+      ordinals = new int[ids.length];
+      for (int ordinal = 0; ordinal < ids.length; ordinal++) {
+        ordinals[Arrays.binarySearch(sortedIds, ids[ordinal])] = ordinal;
+      }
+    }
+
+    int ordinalOf(long id) {
+      int position = Arrays.binarySearch(sortedIds, id);
+      return position < 0 ? -1 : ordinals[position];
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package com.milestonemania.service.catalog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.model.entity.CatalogVersion;
+import com.milestonemania.repository.CatalogVersionRepository;
+
+/**
+ * Persists catalog snapshots as immutable {@link CatalogVersion} rows and loads them back.
+ * <p>
+ * Registering the same content twice returns the same version ID, including when several
+ * nodes register concurrently. Loaded historical versions are kept in a small LRU cache,
+ * since procedural games from older versions are mostly resolved shortly after a change.
+ */
+@Component
+public class CatalogVersionStore {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogVersionStore.class);
+  private static final int MAX_CACHED_VERSIONS = 4;
+
+  private final CatalogVersionRepository catalogVersionRepository;
+  private final TransactionTemplate newTransaction;
+  private final Map<Long, CatalogSnapshot> cache =
+      new LinkedHashMap<>(MAX_CACHED_VERSIONS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CatalogSnapshot> eldest) {
+          return size() > MAX_CACHED_VERSIONS;
+        }
+      };
+
+  public CatalogVersionStore(
+      CatalogVersionRepository catalogVersionRepository,
+      PlatformTransactionManager transactionManager) {
+    this.catalogVersionRepository = catalogVersionRepository;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Stores catalog content unless identical content is already stored.
+   *
+   * @param ids milestone IDs in ordinal order
+   * @param epochDays actual dates as epoch days, parallel to {@code ids}
+   * @return the ID of the catalog version holding this content
+   */
+  public long register(long[] ids, int[] epochDays) {
+    byte[] raw = encode(ids, epochDays);
+    String hash = sha256(raw);
+
+    Optional<Long> existing = catalogVersionRepository.findIdByContentHash(hash);
+    if (existing.isPresent()) {
+      return existing.get();
+    }
+    try {
+      Long id =
+          newTransaction.execute(
+              status ->
+                  catalogVersionRepository
+                      .save(new CatalogVersion(hash, ids.length, deflate(raw)))
+                      .getId());
+      log.info("Registered catalog version {} with {} milestones", id, ids.length);
+      return id;
+    } catch (DataIntegrityViolationException e) {
+      // Another node registered the same content concurrently
+      return catalogVersionRepository.findIdByContentHash(hash).orElseThrow(() -> e);
+    }
+  }
+
+  /**
+   * Loads a stored catalog version as a snapshot without tags.
+   *
+   * @param versionId the catalog version ID
+   * @return the snapshot, or empty if no such version exists
+   */
+  public Optional<CatalogSnapshot> load(long versionId) {
+    synchronized (cache) {
+      CatalogSnapshot cached = cache.get(versionId);
+      if (cached != null) {
+        return Optional.of(cached);
+      }
+    }
+
+    Optional<CatalogSnapshot> loaded =
+        catalogVersionRepository.findById(versionId).map(CatalogVersionStore::decode);
+    loaded.ifPresent(
+        snapshot -> {
+          synchronized (cache) {
+            cache.put(versionId, snapshot);
+          }
+        });
+    return loaded;
+  }
+
+  private static CatalogSnapshot decode(CatalogVersion version) {
+    int count = version.getMilestoneCount();
+    long[] ids = new long[count];
+    int[] epochDays = new int[count];
+    try (DataInputStream in =
+        new DataInputStream(
+            new InflaterInputStream(new ByteArrayInputStream(version.getContent())))) {
+      for (int i = 0; i < count; i++) {
+        ids[i] = in.readLong();
+        epochDays[i] = in.readInt();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Corrupt catalog version " + version.getId(), e);
+    }
+    return new CatalogSnapshot(0L, ids, epochDays, TagIndex.EMPTY)
+        .withContentVersion(version.getId());
+  }
+
+  private static byte[] encode(long[] ids, int[] epochDays) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(ids.length * 12);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      for (int i = 0; i < ids.length; i++) {
+        out.writeLong(ids[i]);
+        out.writeInt(epochDays[i]);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(byte[] raw) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 64);
+    try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+      out.write(raw);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String sha256(byte[] raw) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,376 @@
+package com.milestonemania.service.catalog;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongPredicate;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.RoaringBitmapWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.MilestoneRepository;
+import com.milestonemania.repository.projection.MilestoneDateRow;
+import com.milestonemania.repository.projection.MilestoneTagRow;
+import com.milestonemania.service.api.exception.InsufficientMilestonesException;
+
+/**
+ * In-memory catalog of milestone IDs and dates used for game generation.
+ * <p>
+ * Holds an immutable {@link CatalogSnapshot} that is rebuilt from the database on startup, on a
+ * fixed schedule and on demand, then swapped in atomically. Sampling works entirely against the
+ * current snapshot, so creating a game does not need to count or randomly sort the milestones
+ * table. Tag filters are answered from the snapshot's {@link TagIndex}.
+ * <p>
+ * Every rebuild is a full one: it streams all milestone dates and tag assignments, whether or
+ * not anything changed, so its cost grows with the catalog and {@code refresh-interval} should
+ * grow with it. Only the result is compared with the current snapshot, which is kept if equal,
+ * and tag bitmaps whose membership did not change are carried over.
+ * <p>
+ * When procedural games are enabled, every distinct (id, date) content is also persisted via
+ * {@link CatalogVersionStore}, so games derived from it stay resolvable after it changes.
+ * <p>
+ * The catalog can be disabled with {@code milestone-mania.catalog.enabled=false} for deployments
+ * that cannot hold it in memory; game creation then samples in the database instead.
+ */
+@Component
+public class MilestoneCatalog {
+
+  private static final Logger log = LoggerFactory.getLogger(MilestoneCatalog.class);
+  private static final int INITIAL_CAPACITY = 1024;
+  public static final int UNSEEN_OVERSAMPLE = 4;
+
+  private final MilestoneRepository milestoneRepository;
+  private final CatalogVersionStore catalogVersionStore;
+  private final boolean enabled;
+  private final boolean persistVersions;
+  private final TransactionTemplate readOnlyTransaction;
+  private final AtomicReference<CatalogSnapshot> snapshot =
+      new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+  private volatile boolean loaded;
+
+  public MilestoneCatalog(
+      MilestoneRepository milestoneRepository,
+      CatalogVersionStore catalogVersionStore,
+      PlatformTransactionManager transactionManager,
+      @Value("${milestone-mania.catalog.enabled:true}") boolean enabled,
+      @Value("${milestone-mania.procedural-games.enabled:false}") boolean persistVersions) {
+    this.milestoneRepository = milestoneRepository;
+    this.catalogVersionStore = catalogVersionStore;
+    this.enabled = enabled;
+    this.persistVersions = persistVersions;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Loads the snapshot of a persisted catalog version, answering from the current snapshot
+   * when it holds that version.
+   *
+   * @param contentVersion the persisted catalog version ID
+   * @return the snapshot, or empty if the version does not exist
+   */
+  public Optional<CatalogSnapshot> snapshotForVersion(long contentVersion) {
+    CatalogSnapshot current = snapshot();
+    if (current.getContentVersion() == contentVersion) {
+      return Optional.of(current);
+    }
+    return catalogVersionStore.load(contentVersion);
+  }
+
+  /** Returns whether the in-memory catalog is enabled. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the current snapshot, loading it synchronously if no load has happened yet.
+   *
+   * @return the current catalog snapshot
+   */
+  public CatalogSnapshot snapshot() {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          refresh();
+        }
+      }
+    }
+    return snapshot.get();
+  }
+
+  /**
+   * Draws milestones with pairwise distinct actual dates for a new game.
+   *
+   * @param count number of milestones to draw
+   * @return milestone IDs in correct chronological order
+   * @throws InsufficientMilestonesException if the catalog has fewer than {@code count} dates
+   */
+  public long[] sampleGame(int count) {
+    CatalogSnapshot current = snapshot();
+    if (current.distinctDateCount() < count) {
+      throw InsufficientMilestonesException.notEnoughMilestones(current.distinctDateCount(), count);
+    }
+    return current.sample(count, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Draws milestones with pairwise distinct actual dates inside an inclusive date window.
+   * Either bound may be null to leave that side of the window open. Sparse windows are
+   * rejected from the in-memory index without a database round trip.
+   *
+   * @param count number of milestones to draw
+   * @param fromDate first date of the window, or null
+   * @param toDate last date of the window, or null
+   * @return milestone IDs in correct chronological order
+   * @throws InsufficientMilestonesException if the window has fewer than {@code count} dates
+   */
+  public long[] sampleGame(int count, LocalDate fromDate, LocalDate toDate) {
+    int fromDay = fromDate == null ? Integer.MIN_VALUE : (int) fromDate.toEpochDay();
+    int toDay = toDate == null ? Integer.MAX_VALUE : (int) toDate.toEpochDay();
+
+    CatalogSnapshot current = snapshot();
+    int available = current.distinctDateCount(fromDay, toDay);
+    if (available < count) {
+      throw InsufficientMilestonesException.notEnoughMilestonesInWindow(
+          available, count, fromDate, toDate);
+    }
+    return current.sample(fromDay, toDay, count, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Draws milestones with pairwise distinct actual dates that carry all of the given tags,
+   * optionally inside an inclusive date window. The candidate set is a bitmap intersection
+   * over the in-memory tag index, so no database round trip is needed.
+   *
+   * @param count number of milestones to draw
+   * @param fromDate first date of the window, or null
+   * @param toDate last date of the window, or null
+   * @param tags tags every milestone must carry; null or empty means no tag filter
+   * @return milestone IDs in correct chronological order
+   * @throws InsufficientMilestonesException if fewer than {@code count} dates match
+   */
+  public long[] sampleGame(
+      int count, LocalDate fromDate, LocalDate toDate, Collection<String> tags) {
+    if (tags == null || tags.isEmpty()) {
+      return sampleGame(count, fromDate, toDate);
+    }
+    int fromDay = fromDate == null ? Integer.MIN_VALUE : (int) fromDate.toEpochDay();
+    int toDay = toDate == null ? Integer.MAX_VALUE : (int) toDate.toEpochDay();
+
+    CatalogSnapshot current = snapshot();
+    long[] milestoneIds =
+        current.sampleMatching(fromDay, toDay, tags, count, ThreadLocalRandom.current());
+    if (milestoneIds == null) {
+      throw InsufficientMilestonesException.notEnoughMilestonesWithTags(
+          current.distinctDateCount(fromDay, toDay, tags), count, tags, fromDate, toDate);
+    }
+    return milestoneIds;
+  }
+
+  /**
+   * Draws milestones like {@link #sampleGame(int, LocalDate, LocalDate, Collection)}, but
+   * prefers milestones the player has not seen. Draws up to {@value #UNSEEN_OVERSAMPLE} times
+   * as many candidates as needed, then picks a random subset that includes as many unseen
+   * candidates as possible. A subset of a chronological distinct-date draw is itself one, and
+   * the pick is uniform among the unseen candidates.
+   *
+   * @param count number of milestones to draw
+   * @param fromDate first date of the window, or null
+   * @param toDate last date of the window, or null
+   * @param tags tags every milestone must carry; null or empty means no tag filter
+   * @param seen tells whether the player has probably seen a milestone
+   * @return milestone IDs in correct chronological order
+   * @throws InsufficientMilestonesException if fewer than {@code count} dates match
+   */
+  public long[] sampleGame(
+      int count,
+      LocalDate fromDate,
+      LocalDate toDate,
+      Collection<String> tags,
+      LongPredicate seen) {
+    int fromDay = fromDate == null ? Integer.MIN_VALUE : (int) fromDate.toEpochDay();
+    int toDay = toDate == null ? Integer.MAX_VALUE : (int) toDate.toEpochDay();
+    CatalogSnapshot current = snapshot();
+    // Dates beyond the oversampled draw do not change it, so they need not be counted
+    int available =
+        tags == null || tags.isEmpty()
+            ? current.distinctDateCount(fromDay, toDay)
+            : current.distinctDateCount(
+                fromDay, toDay, current.tagCandidates(tags), count * UNSEEN_OVERSAMPLE);
+
+    int candidates = Math.max(count, Math.min(available, count * UNSEEN_OVERSAMPLE));
+    long[] drawn = sampleGame(candidates, fromDate, toDate, tags);
+    return preferUnseen(drawn, count, seen, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Picks {@code count} of the drawn milestones, unseen ones first, keeping their order.
+   */
+  public static long[] preferUnseen(
+      long[] drawn, int count, LongPredicate seen, RandomGenerator random) {
+    if (drawn.length == count) {
+      return drawn;
+    }
+    // Unseen candidate positions fill the front of the array, seen ones the back
+    int[] positions = new int[drawn.length];
+    int unseen = 0;
+    int back = drawn.length;
+    for (int i = 0; i < drawn.length; i++) {
+      if (seen.test(drawn[i])) {
+        positions[--back] = i;
+      } else {
+        positions[unseen++] = i;
+      }
+    }
+
+    // Partial Fisher-Yates within each part, unseen part first
+    for (int i = 0; i < count; i++) {
+      int partEnd = i < unseen ? unseen : drawn.length;
+      int j = i + random.nextInt(partEnd - i);
+      int swap = positions[i];
+      positions[i] = positions[j];
+      positions[j] = swap;
+    }
+
+    int[] picked = Arrays.copyOf(positions, count);
+    Arrays.sort(picked);
+    long[] result = new long[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = drawn[picked[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Rebuilds the snapshot from all milestones in the database and swaps it in if the catalog
+   * changed. Safe to call from importers or admin tooling after bulk milestone changes.
+   */
+  public synchronized void refresh() {
+    long started = System.nanoTime();
+
+    CatalogData data = readOnlyTransaction.execute(status -> loadData());
+    long[] ids = data.ids();
+    int[] epochDays = data.epochDays();
+
+    CatalogSnapshot current = snapshot.get();
+    CatalogSnapshot next;
+    if (loaded && current.contentEquals(ids, epochDays)) {
+      // Ordinals are unchanged, so only tags whose membership changed get new bitmaps
+      TagIndex tags = data.tags().reuseUnchanged(current.tags());
+      if (tags == current.tags()) {
+        log.debug("Milestone catalog unchanged at version {}", current.getVersion());
+        return;
+      }
+      next = current.withTags(current.getVersion() + 1, tags);
+    } else {
+      next = new CatalogSnapshot(current.getVersion() + 1, ids, epochDays, data.tags());
+      if (persistVersions) {
+        // Procedural games reference the (id, date) content by its persisted version ID
+        next = next.withContentVersion(catalogVersionStore.register(ids, epochDays));
+      }
+    }
+    snapshot.set(next);
+    loaded = true;
+
+    log.info(
+        "Loaded milestone catalog version {} with {} milestones across {} dates and {} tags in {}"
+            + " ms",
+        next.getVersion(),
+        next.size(),
+        next.distinctDateCount(),
+        next.tags().tagCount(),
+        (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private CatalogData loadData() {
+    long[] ids = new long[INITIAL_CAPACITY];
+    int[] epochDays = new int[INITIAL_CAPACITY];
+    int size = 0;
+
+    try (Stream<MilestoneDateRow> rows = milestoneRepository.streamAllOrderedByActualDate()) {
+      for (MilestoneDateRow row : (Iterable<MilestoneDateRow>) rows::iterator) {
+        if (size == ids.length) {
+          ids = Arrays.copyOf(ids, size * 2);
+          epochDays = Arrays.copyOf(epochDays, size * 2);
+        }
+        ids[size] = row.id();
+        epochDays[size] = (int) row.actualDate().toEpochDay();
+        size++;
+      }
+    }
+    ids = Arrays.copyOf(ids, size);
+    epochDays = Arrays.copyOf(epochDays, size);
+
+    return new CatalogData(ids, epochDays, loadTags(ids, epochDays));
+  }
+
+  /**
+   * Builds one bitmap per tag. Rows arrive grouped by tag and in chronological order, so
+   * ordinals are appended in ascending order; milestones inserted after the date arrays were
+   * read are skipped until the next refresh.
+   */
+  private TagIndex loadTags(long[] ids, int[] epochDays) {
+    Map<String, RoaringBitmap> bitmaps = new HashMap<>();
+    String currentTag = null;
+    RoaringBitmapWriter<RoaringBitmap> writer = null;
+
+    try (Stream<MilestoneTagRow> rows = milestoneRepository.streamAllTagAssignments()) {
+      for (MilestoneTagRow row : (Iterable<MilestoneTagRow>) rows::iterator) {
+        String tag = TagIndex.normalize(row.tagName());
+        if (!tag.equals(currentTag)) {
+          if (writer != null) {
+            bitmaps.put(currentTag, writer.get());
+          }
+          currentTag = tag;
+          writer = RoaringBitmapWriter.writer().runCompress(true).get();
+        }
+        int ordinal =
+            CatalogSnapshot.ordinalOf(
+                ids, epochDays, row.milestoneId(), (int) row.actualDate().toEpochDay());
+        if (ordinal >= 0) {
+          writer.add(ordinal);
+        }
+      }
+    }
+    if (writer != null) {
+      bitmaps.put(currentTag, writer.get());
+    }
+
+    return bitmaps.isEmpty() ? TagIndex.EMPTY : new TagIndex(Map.copyOf(bitmaps));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.catalog.refresh-interval:PT5M}",
+      initialDelayString = "${milestone-mania.catalog.refresh-interval:PT5M}")
+  public void scheduledRefresh() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  private record CatalogData(long[] ids, int[] epochDays, TagIndex tags) {}
+}
@@ -0,0 +1,137 @@
+package com.milestonemania.service.catalog;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Immutable index from tag name to the catalog ordinals carrying that tag.
+ * <p>
+ * Each tag maps to a run-compressed {@link RoaringBitmap} over the ordinals of the owning
+ * {@link CatalogSnapshot}. A filter such as "science AND 20th-century" is answered by
+ * intersecting bitmaps, which costs in the order of the number of 2^16-ordinal containers
+ * rather than the number of milestones. Bitmaps are never modified after construction, so
+ * consecutive snapshots share the bitmaps of tags whose membership did not change.
+ * <p>
+ * Themed games tend to reuse the same tag combinations, so multi-tag intersections are memoized
+ * per index, up to a fixed number of combinations. A new index starts with an empty memo, which
+ * keeps memoized results consistent with the bitmaps they were computed from.
+ */
+public final class TagIndex {
+
+  /** Index without any tags. */
+  public static final TagIndex EMPTY = new TagIndex(Map.of());
+
+  private static final RoaringBitmap NONE = new RoaringBitmap();
+  private static final int MAX_MEMOIZED_INTERSECTIONS = 1024;
+
+  private final Map<String, RoaringBitmap> bitmaps;
+  private final Map<List<String>, RoaringBitmap> intersections = new ConcurrentHashMap<>();
+
+  TagIndex(Map<String, RoaringBitmap> bitmaps) {
+    this.bitmaps = bitmaps;
+  }
+
+  /**
+   * Normalizes a tag name the way tags are stored: trimmed and lower-case.
+   *
+   * @param tag the raw tag name
+   * @return the normalized tag name
+   */
+  public static String normalize(String tag) {
+    return tag.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /** Returns the number of distinct tags in the index. */
+  public int tagCount() {
+    return bitmaps.size();
+  }
+
+  /** Returns the names of all indexed tags. */
+  public Set<String> tagNames() {
+    return bitmaps.keySet();
+  }
+
+  /** Returns the number of milestones carrying the given tag. */
+  public int cardinality(String tag) {
+    RoaringBitmap bitmap = bitmaps.get(normalize(tag));
+    return bitmap == null ? 0 : bitmap.getCardinality();
+  }
+
+  /**
+   * Returns the ordinals of milestones carrying every one of the given tags. The result may be
+   * an indexed or memoized bitmap and must not be modified.
+   *
+   * @param tags the tags to match, at least one
+   * @return bitmap of matching ordinals
+   */
+  RoaringBitmap matchingAll(Collection<String> tags) {
+    if (tags.size() == 1) {
+      return bitmaps.getOrDefault(normalize(tags.iterator().next()), NONE);
+    }
+
+    List<String> key = tags.stream().map(TagIndex::normalize).distinct().sorted().toList();
+    RoaringBitmap memoized = intersections.get(key);
+    if (memoized != null) {
+      return memoized;
+    }
+    RoaringBitmap result = intersect(key);
+    if (intersections.size() < MAX_MEMOIZED_INTERSECTIONS) {
+      intersections.putIfAbsent(key, result);
+    }
+    return result;
+  }
+
+  /** Intersects the smallest bitmaps first and stops early once the result is empty. */
+  private RoaringBitmap intersect(List<String> tags) {
+    RoaringBitmap[] selected = new RoaringBitmap[tags.size()];
+    for (int i = 0; i < selected.length; i++) {
+      selected[i] = bitmaps.get(tags.get(i));
+      if (selected[i] == null) {
+        return NONE;
+      }
+    }
+    if (selected.length == 1) {
+      return selected[0];
+    }
+
+    Arrays.sort(selected, Comparator.comparingInt(RoaringBitmap::getCardinality));
+    RoaringBitmap result = RoaringBitmap.and(selected[0], selected[1]);
+    for (int i = 2; i < selected.length && !result.isEmpty(); i++) {
+      result.and(selected[i]);
+    }
+    result.runOptimize();
+    return result;
+  }
+
+  /**
+   * Returns an index equal to this one that reuses the bitmaps of {@code previous} for every
+   * tag whose membership is unchanged, or {@code previous} itself if nothing changed. Only
+   * valid when both indexes are built over the same ordinals.
+   *
+   * @param previous the index of the snapshot being replaced
+   * @return an index sharing unchanged bitmaps with {@code previous}
+   */
+  TagIndex reuseUnchanged(TagIndex previous) {
+    boolean changed = bitmaps.size() != previous.bitmaps.size();
+    Map<String, RoaringBitmap> merged = new HashMap<>(bitmaps.size() * 4 / 3 + 1);
+    for (Map.Entry<String, RoaringBitmap> entry : bitmaps.entrySet()) {
+      RoaringBitmap existing = previous.bitmaps.get(entry.getKey());
+      if (existing != null && existing.equals(entry.getValue())) {
+        merged.put(entry.getKey(), existing);
+      } else {
+        merged.put(entry.getKey(), entry.getValue());
+        changed = true;
+      }
+    }
+    return changed ? new TagIndex(Map.copyOf(merged)) : previous;
+  }
+}
@@ -0,0 +1,64 @@
+package com.milestonemania.service.content;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import com.milestonemania.service.api.dto.MilestoneDto;
+import com.milestonemania.service.attempt.AnswerKey;
+
+/**
+ * The content of a game that never changes once it is created: its name and its milestones in
+ * correct chronological order, also as the answer key submissions are checked against.
+ *
+ * @param gameId the game ID; null for a procedural game without a game row
+ * @param name the game name
+ * @param createdAt when the game row was created; null without a game row
+ * @param milestones the milestones in correct chronological order, as the unmodifiable list
+ *     handed out in responses. The list and its DTOs are shared by every response for the
+ *     game, so the web layer can cache their rendering by identity, and must not be modified.
+ * @param answerKey the milestone IDs in correct chronological order
+ */
+public record GameContent(
+    Long gameId,
+    String name,
+    LocalDateTime createdAt,
+    List<MilestoneDto> milestones,
+    AnswerKey answerKey) {
+
+  public GameContent {
+    milestones = List.copyOf(milestones);
+  }
+
+  public GameContent(
+      Long gameId, String name, LocalDateTime createdAt, List<MilestoneDto> milestones) {
+    this(
+        gameId,
+        name,
+        createdAt,
+        milestones,
+        new AnswerKey(milestones.stream().mapToLong(MilestoneDto::getId).toArray()));
+  }
+
+  /** Returns the milestone IDs in correct chronological order. */
+  public long[] milestoneIds() {
+    return answerKey.correctOrder().clone();
+  }
+
+  /** Returns whether the game contains one of the given milestones. */
+  boolean containsAny(Set<Long> milestoneIds) {
+    return milestones.stream().anyMatch(milestone -> milestoneIds.contains(milestone.getId()));
+  }
+
+  /** Estimates the memory held by this content, in bytes. */
+  int weight() {
+    int weight = 64 + 2 * name.length() + 24 * milestones.size();
+    for (MilestoneDto milestone : milestones) {
+      weight += 64 + 2 * milestone.getTitle().length();
+      if (milestone.getDescription() != null) {
+        weight += 2 * milestone.getDescription().length();
+      }
+    }
+    return weight;
+  }
+}
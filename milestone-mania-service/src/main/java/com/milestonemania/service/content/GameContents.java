@@ -0,0 +1,263 @@
+package com.milestonemania.service.content;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.repository.GameRepository;
+import com.milestonemania.repository.projection.GameMilestoneRow;
+import com.milestonemania.service.api.dto.MilestoneDto;
+import com.milestonemania.service.api.exception.GameLoadTimeoutException;
+import com.milestonemania.service.api.exception.GameNotFoundException;
+import com.milestonemania.service.impl.GameFactory;
+import com.milestonemania.service.procedural.ProceduralGames;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Caches game content by slug, so shared slugs are resolved without the database.
+ * <p>
+ * A game's name and milestones do not change once it is created, so entries are only evicted
+ * for space: the cache holds up to {@code max-weight} estimated bytes and admits new entries
+ * with W-TinyLFU, so a burst of one-off slugs does not push out frequently shared ones. The
+ * exception is milestone text: a JPA update of a milestone's title or description drops every
+ * cached game containing it once committed. Edits on other instances, or through JDBC, are
+ * only seen after {@code expire-after-write}.
+ * <p>
+ * Misses are loaded through a {@link SingleFlight}: when a slug is requested by many clients at
+ * once, e.g. a freshly shared game, one request reads it and the others wait for that read,
+ * at most {@code load-timeout}, without holding a connection. Sharing a procedural game writes
+ * its game row the same way: concurrent starts of a slug that just went viral run one insert.
+ * <p>
+ * Hits, misses, evictions and load times are published as the {@code cache.*} meters tagged
+ * {@code cache=game.content}; the {@code game.content.flights*} meters show per endpoint how
+ * many misses were coalesced, the {@code game.materialization.flights*} meters how many starts
+ * shared a procedural game's insert.
+ */
+@Component
+public class GameContents {
+
+  private static final Logger log = LoggerFactory.getLogger(GameContents.class);
+  private static final String CACHE_NAME = "game.content";
+  private static final String MATERIALIZATION = "game.materialization";
+  private static final Set<String> TEXT_PROPERTIES = Set.of("title", "description");
+
+  private final GameRepository gameRepository;
+  private final ProceduralGames proceduralGames;
+  private final GameFactory gameFactory;
+  private final SingleFlight<String, GameContent> flights;
+  private final SingleFlight<String, GameContent> materializations;
+  private final AsyncLoadingCache<String, GameContent> cache;
+
+  public GameContents(
+      GameRepository gameRepository,
+      ProceduralGames proceduralGames,
+      GameFactory gameFactory,
+      EntityManagerFactory entityManagerFactory,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.game-content-cache.max-weight:33554432}") long maxWeight,
+      @Value("${milestone-mania.game-content-cache.expire-after-write:PT1H}")
+          Duration expireAfterWrite,
+      @Value("${milestone-mania.game-content-cache.load-timeout:PT5S}") Duration loadTimeout) {
+    this.gameRepository = gameRepository;
+    this.proceduralGames = proceduralGames;
+    this.gameFactory = gameFactory;
+    this.flights =
+        new SingleFlight<>(
+            Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String slug, GameContent content) -> 2 * slug.length() + content.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats(),
+            this::load,
+            loadTimeout,
+            slug -> new GameLoadTimeoutException("Timed out waiting for game " + slug + " to load"),
+            meterRegistry,
+            CACHE_NAME);
+    this.cache = flights.cache();
+    // Only bridges the moment a game is shared; afterwards its content has the game ID
+    this.materializations =
+        new SingleFlight<>(
+            Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)),
+            this::materializeNow,
+            loadTimeout,
+            slug ->
+                new GameLoadTimeoutException(
+                    "Timed out waiting for game " + slug + " to be shared"),
+            meterRegistry,
+            MATERIALIZATION);
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+        .tag("cache", CACHE_NAME)
+        .description("Share of lookups answered from the cache")
+        .register(meterRegistry);
+
+    entityManagerFactory
+        .unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry()
+        .requireService(EventListenerRegistry.class)
+        .appendListeners(EventType.POST_COMMIT_UPDATE, new MilestoneTextListener());
+  }
+
+  /**
+   * Returns the content of a game, reading it on a miss, or waiting for a read in flight.
+   *
+   * @param slug the game slug, an alias slug or a procedural slug
+   * @param endpoint the calling endpoint, tagging the flight meters
+   * @return the game content
+   * @throws GameNotFoundException if no game matches the slug
+   * @throws GameLoadTimeoutException if a read in flight took longer than the load timeout
+   */
+  public GameContent get(String slug, String endpoint) {
+    return flights.get(slug, endpoint);
+  }
+
+  /**
+   * Returns the content of a procedural game with its game row, writing the row if no request
+   * did yet. Concurrent callers share one insert and wait for it like for a read in flight. Must
+   * be called outside any transaction, see {@link GameFactory#materialize}.
+   *
+   * @param slug the procedural game slug
+   * @param endpoint the calling endpoint, tagging the flight meters
+   * @return the game content, with its game ID
+   * @throws GameLoadTimeoutException if the insert in flight took longer than the load timeout
+   */
+  public GameContent materialize(String slug, String endpoint) {
+    return materializations.get(slug, endpoint);
+  }
+
+  /**
+   * Drops every cached game containing one of the given milestones.
+   *
+   * @param milestoneIds IDs of milestones whose text changed
+   */
+  public void evictMilestones(Set<Long> milestoneIds) {
+    // Edits are rare, so a scan beats keeping a milestone-to-slug index up to date
+    Map<String, GameContent> contents = cache.synchronous().asMap();
+    int before = contents.size();
+    contents.values().removeIf(content -> content.containsAny(milestoneIds));
+    log.debug(
+        "Dropped {} cached games after milestones {} changed",
+        before - contents.size(),
+        milestoneIds);
+  }
+
+  private GameContent materializeNow(String slug) {
+    long[] milestoneIds =
+        proceduralGames
+            .milestoneIds(slug, GameFactory.MILESTONES_PER_GAME)
+            .orElseThrow(() -> new GameNotFoundException("Game not found with slug: " + slug));
+    try {
+      gameFactory.materialize(slug, milestoneIds);
+    } catch (DataIntegrityViolationException e) {
+      // Materialized by another instance; its row is read below
+      log.debug("Procedural game {} was materialized concurrently", slug);
+    }
+    GameContent materialized = load(slug);
+    if (materialized.gameId() == null) {
+      throw new IllegalStateException("Procedural game " + slug + " has no game row");
+    }
+    // Replaces the content without game ID, so later starts skip materialization
+    cache.synchronous().put(slug, materialized);
+    return materialized;
+  }
+
+  /**
+   * Reads a game and its milestones in one SELECT. Procedural games read their milestones by
+   * ID along with the game row, if any; all others resolve the slug, or an alias slug handed
+   * out for a reused game, and read game_milestones.
+   */
+  private GameContent load(String slug) {
+    Optional<long[]> proceduralMilestoneIds =
+        proceduralGames.milestoneIds(slug, GameFactory.MILESTONES_PER_GAME);
+    List<GameMilestoneRow> rows =
+        proceduralMilestoneIds
+            .map(
+                ids ->
+                    gameRepository.findMilestoneRowsByIds(
+                        Arrays.stream(ids).boxed().collect(Collectors.toList()), slug))
+            .orElseGet(() -> gameRepository.findMilestoneRowsBySlug(slug));
+    if (rows.isEmpty()) {
+      throw new GameNotFoundException("Game not found with slug: " + slug);
+    }
+
+    List<MilestoneDto> milestones =
+        rows.stream()
+            .map(row -> new MilestoneDto(row.milestoneId(), row.title(), row.description()))
+            .collect(Collectors.toList());
+    if (proceduralMilestoneIds.isPresent()) {
+      // Read by ID, so in no particular order
+      milestones = inOrder(proceduralMilestoneIds.get(), milestones);
+    }
+
+    GameMilestoneRow game = rows.get(0);
+    if (game.gameId() == null) {
+      // A procedural game nobody shared yet
+      return new GameContent(null, GameFactory.gameName(slug), null, milestones);
+    }
+    return new GameContent(game.gameId(), game.gameName(), game.gameCreatedAt(), milestones);
+  }
+
+  private static List<MilestoneDto> inOrder(long[] milestoneIds, List<MilestoneDto> milestones) {
+    Map<Long, MilestoneDto> milestonesById =
+        milestones.stream().collect(Collectors.toMap(MilestoneDto::getId, Function.identity()));
+    if (milestonesById.size() != milestoneIds.length) {
+      throw new GameNotFoundException("Game references milestones that no longer exist");
+    }
+    return Arrays.stream(milestoneIds).mapToObj(milestonesById::get).collect(Collectors.toList());
+  }
+
+  /** Evicts games once an update of a milestone's title or description has committed. */
+  private class MilestoneTextListener implements PostCommitUpdateEventListener {
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+      if (!(event.getEntity() instanceof Milestone milestone)
+          || event.getDirtyProperties() == null) {
+        return;
+      }
+      String[] propertyNames = event.getPersister().getPropertyNames();
+      for (int property : event.getDirtyProperties()) {
+        if (TEXT_PROPERTIES.contains(propertyNames[property])) {
+          evictMilestones(Set.of(milestone.getId()));
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+      // Nothing changed, nothing to evict
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+      return Milestone.class.equals(persister.getMappedClass());
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.milestonemania.service.content;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A cache whose misses are loaded once per key, however many callers miss together.
+ * <p>
+ * The first caller to miss a key leads a flight: the cache maps the key to an incomplete
+ * future, and the leader runs the load on its own thread, outside any cache lock. Callers
+ * missing the same key meanwhile join the flight and wait for its future, at most
+ * {@code timeout}, so a burst of requests for a cold key runs one database load on one
+ * connection. A failed load leaves the cache and its exception is rethrown to the leader and
+ * every caller that joined.
+ * <p>
+ * Publishes {@code <name>.flights} counters tagged with the caller's endpoint and whether it
+ * led or joined, {@code <name>.flights.timeouts} for joins that gave up, and the share of
+ * misses that joined a flight as {@code <name>.flights.coalescing.ratio}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class SingleFlight<K, V> {
+
+  private final AsyncLoadingCache<K, V> cache;
+  private final Function<K, V> loader;
+  private final Duration timeout;
+  private final Function<K, ? extends RuntimeException> timedOut;
+  private final MeterRegistry meterRegistry;
+  private final String name;
+  private final Map<String, FlightMeters> meters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the cache.
+   *
+   * @param builder the cache configuration
+   * @param loader loads a missing value on the leader's thread
+   * @param timeout how long joining callers wait for the leader
+   * @param timedOut the exception thrown to a joining caller that waited {@code timeout}
+   * @param meterRegistry registry for the flight meters
+   * @param name prefix of the flight meters
+   */
+  @SuppressWarnings("unchecked")
+  SingleFlight(
+      Caffeine<? super K, ? super V> builder,
+      Function<K, V> loader,
+      Duration timeout,
+      Function<K, ? extends RuntimeException> timedOut,
+      MeterRegistry meterRegistry,
+      String name) {
+    // A miss only opens the flight; the caller that opened it loads in get()
+    this.cache =
+        ((Caffeine<K, V>) builder).buildAsync((K key, Executor executor) -> new Flight<>());
+    this.loader = loader;
+    this.timeout = timeout;
+    this.timedOut = timedOut;
+    this.meterRegistry = meterRegistry;
+    this.name = name;
+  }
+
+  /** Returns the underlying cache, for invalidation and cache metrics. */
+  AsyncLoadingCache<K, V> cache() {
+    return cache;
+  }
+
+  /**
+   * Returns the value of a key, loading it on a miss or joining the load in flight.
+   *
+   * @param key the key
+   * @param endpoint the calling endpoint, for the flight meters
+   * @return the value
+   */
+  V get(K key, String endpoint) {
+    CompletableFuture<V> future = cache.get(key);
+    if (future.isDone()) {
+      return await(key, future, null);
+    }
+    FlightMeters flightMeters = meters.computeIfAbsent(endpoint, FlightMeters::new);
+    if (future instanceof Flight<V> flight && flight.isLedBy(Thread.currentThread())) {
+      flightMeters.led.increment();
+      try {
+        V value = loader.apply(key);
+        flight.complete(value);
+        return value;
+      } catch (RuntimeException | Error e) {
+        flight.completeExceptionally(e);
+        throw e;
+      }
+    }
+    flightMeters.joined.increment();
+    return await(key, future, flightMeters);
+  }
+
+  private V await(K key, CompletableFuture<V> future, FlightMeters flightMeters) {
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      if (flightMeters != null) {
+        flightMeters.timeouts.increment();
+      }
+      throw timedOut.apply(key);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw timedOut.apply(key);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Loading " + key + " failed", e.getCause());
+    }
+  }
+
+  /** A load in flight, led by the thread whose miss opened it. */
+  private static final class Flight<V> extends CompletableFuture<V> {
+
+    private final Thread leader = Thread.currentThread();
+
+    boolean isLedBy(Thread thread) {
+      // A thread leads at most one flight per key, and only until it completes it
+      return leader == thread && !isDone();
+    }
+  }
+
+  /** Flight meters of one endpoint. */
+  private final class FlightMeters {
+
+    private final Counter led;
+    private final Counter joined;
+    private final Counter timeouts;
+
+    FlightMeters(String endpoint) {
+      this.led = flightCounter(endpoint, "led");
+      this.joined = flightCounter(endpoint, "joined");
+      this.timeouts =
+          Counter.builder(name + ".flights.timeouts")
+              .tag("endpoint", endpoint)
+              .description("Callers that gave up waiting for a load in flight")
+              .register(meterRegistry);
+      Gauge.builder(name + ".flights.coalescing.ratio", this, FlightMeters::coalescingRatio)
+          .tag("endpoint", endpoint)
+          .description("Share of misses that joined a load already in flight")
+          .register(meterRegistry);
+    }
+
+    private Counter flightCounter(String endpoint, String role) {
+      return Counter.builder(name + ".flights")
+          .tag("endpoint", endpoint)
+          .tag("role", role)
+          .description("Cache misses, by whether the caller led the load or joined one")
+          .register(meterRegistry);
+    }
+
+    private double coalescingRatio() {
+      double misses = led.count() + joined.count();
+      return misses == 0 ? 0 : joined.count() / misses;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.milestonemania.service.dedup;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open-addressing hash table from fingerprint to game ID on primitive arrays.
+ * <p>
+ * Holds one entry per game, so it avoids the two boxed {@code Long}s and the map node a
+ * {@code HashMap} would allocate per entry: 32 to 64 bytes per game depending on load, instead
+ * of roughly 100. Game IDs are positive, so a zero value marks an empty slot.
+ */
+final class FingerprintTable {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+  private static final float MAX_LOAD = 0.5f;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private long[] values = new long[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Returns the game ID stored for a fingerprint.
+   *
+   * @param fingerprint the fingerprint
+   * @return the game ID, or 0 if the fingerprint is unknown
+   */
+  long get(long fingerprint) {
+    lock.readLock().lock();
+    try {
+      int mask = keys.length - 1;
+      for (int slot = slot(fingerprint, mask); values[slot] != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == fingerprint) {
+          return values[slot];
+        }
+      }
+      return 0L;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Stores a game ID for a fingerprint unless one is already stored, so the earliest known
+   * game stays the canonical one.
+   *
+   * @param fingerprint the fingerprint
+   * @param gameId the game ID, positive
+   */
+  void putIfAbsent(long fingerprint, long gameId) {
+    lock.writeLock().lock();
+    try {
+      if (size + 1 > keys.length * MAX_LOAD) {
+        resize(keys.length * 2);
+      }
+      int mask = keys.length - 1;
+      int slot = slot(fingerprint, mask);
+      while (values[slot] != 0) {
+        if (keys[slot] == fingerprint) {
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = fingerprint;
+      values[slot] = gameId;
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    keys = new long[capacity];
+    values = new long[capacity];
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != 0) {
+        int slot = slot(oldKeys[i], mask);
+        while (values[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** Fingerprints are already well mixed, so the low bits serve as the slot directly. */
+  private static int slot(long fingerprint, int mask) {
+    return (int) fingerprint & mask;
+  }
+}
@@ -0,0 +1,250 @@
+package com.milestonemania.service.dedup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.GameMilestoneRepository;
+import com.milestonemania.repository.GameRepository;
+import com.milestonemania.repository.projection.GameFingerprintRow;
+import com.milestonemania.repository.projection.GameMilestoneIdRow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Finds existing games with the same milestone set as a game about to be created, so the
+ * existing game can be reused instead of writing another game and its game milestones.
+ * <p>
+ * Every game stores the {@link GameFingerprint} of its milestones in the indexed
+ * {@code games.fingerprint} column. This component mirrors the (fingerprint, game ID) pairs in
+ * an in-memory {@link FingerprintTable}, so the lookup on the creation path never touches the
+ * database. The table is loaded at startup and then follows games created on other nodes by
+ * periodically reading rows above the highest game ID seen so far; games created here are added
+ * once their transaction commits. A game that is missed, e.g. because it committed on another
+ * node after a higher ID was already read, is only a missed reuse, never a wrong one.
+ * <p>
+ * {@code milestone-mania.game-dedup.mode} accepts {@code off}, {@code same-slug} (hand out the
+ * existing game and its slug) and {@code alias} (hand out the existing game under a new slug).
+ * Games created before fingerprinting are backfilled at startup.
+ */
+@Component
+public class GameDeduplicator {
+
+  private static final Logger log = LoggerFactory.getLogger(GameDeduplicator.class);
+  private static final int BACKFILL_BATCH_SIZE = 500;
+
+  private enum Mode {
+    OFF,
+    SAME_SLUG,
+    ALIAS
+  }
+
+  private final GameRepository gameRepository;
+  private final GameMilestoneRepository gameMilestoneRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate newTransaction;
+  private final Mode mode;
+  private final FingerprintTable table = new FingerprintTable();
+  private final Counter hits;
+  private final Counter misses;
+
+  private long lastSyncedGameId;
+
+  public GameDeduplicator(
+      GameRepository gameRepository,
+      GameMilestoneRepository gameMilestoneRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.game-dedup.mode:same-slug}") String modeName) {
+    this.gameRepository = gameRepository;
+    this.gameMilestoneRepository = gameMilestoneRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.mode = resolve(modeName);
+
+    this.hits =
+        Counter.builder("game.dedup.lookups")
+            .tag("result", "hit")
+            .description("Game creations answered with an existing game")
+            .register(meterRegistry);
+    this.misses =
+        Counter.builder("game.dedup.lookups")
+            .tag("result", "miss")
+            .description("Game creations that wrote a new game")
+            .register(meterRegistry);
+    Gauge.builder("game.dedup.hit.ratio", this, GameDeduplicator::hitRatio)
+        .description("Fraction of game creations answered with an existing game")
+        .register(meterRegistry);
+    Gauge.builder("game.dedup.index.size", table, FingerprintTable::size)
+        .description("Fingerprints held in the in-memory game index")
+        .register(meterRegistry);
+  }
+
+  /** Returns whether game creation looks for existing games at all. */
+  public boolean isEnabled() {
+    return mode != Mode.OFF;
+  }
+
+  /** Returns whether a reused game is handed out under a new alias slug. */
+  public boolean usesAliases() {
+    return mode == Mode.ALIAS;
+  }
+
+  /**
+   * Looks up an existing game with the given milestone set fingerprint and records the outcome
+   * in the hit rate.
+   *
+   * @param fingerprint the {@link GameFingerprint} of the milestones about to be used
+   * @return the ID of a game with the same milestones, or empty if none is known or
+   *     deduplication is off
+   */
+  public OptionalLong findGameId(long fingerprint) {
+    if (!isEnabled()) {
+      return OptionalLong.empty();
+    }
+    long gameId = table.get(fingerprint);
+    if (gameId == 0) {
+      misses.increment();
+      return OptionalLong.empty();
+    }
+    hits.increment();
+    return OptionalLong.of(gameId);
+  }
+
+  /**
+   * Adds a newly written game to the index once the surrounding transaction commits, so a
+   * rolled back game is never handed out.
+   *
+   * @param fingerprint the fingerprint of the game's milestones
+   * @param gameId the game ID
+   */
+  public void register(long fingerprint, long gameId) {
+    if (!isEnabled()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      table.putIfAbsent(fingerprint, gameId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            table.putIfAbsent(fingerprint, gameId);
+          }
+        });
+  }
+
+  double hitRatio() {
+    double total = hits.count() + misses.count();
+    return total == 0 ? 0.0 : hits.count() / total;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (!isEnabled()) {
+      log.info("Game deduplication disabled");
+      return;
+    }
+    backfill();
+    sync();
+    log.info("Game deduplication in {} mode with {} known games", mode, table.size());
+  }
+
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.game-dedup.sync-interval:PT30S}",
+      initialDelayString = "${milestone-mania.game-dedup.sync-interval:PT30S}")
+  public void scheduledSync() {
+    if (isEnabled()) {
+      sync();
+    }
+  }
+
+  /** Reads fingerprints of games written since the last sync, by any node. */
+  synchronized void sync() {
+    long synced =
+        readOnlyTransaction.execute(
+            status -> {
+              long lastId = lastSyncedGameId;
+              try (Stream<GameFingerprintRow> rows =
+                  gameRepository.streamFingerprintsAfter(lastId)) {
+                for (GameFingerprintRow row : (Iterable<GameFingerprintRow>) rows::iterator) {
+                  table.putIfAbsent(row.fingerprint(), row.gameId());
+                  lastId = row.gameId();
+                }
+              }
+              return lastId;
+            });
+    if (synced != lastSyncedGameId) {
+      log.debug("Synced game fingerprints up to game {}", synced);
+      lastSyncedGameId = synced;
+    }
+  }
+
+  /** Fingerprints games created before the fingerprint column existed, in batches. */
+  void backfill() {
+    int total = 0;
+    int batch;
+    do {
+      batch = newTransaction.execute(status -> backfillBatch());
+      total += batch;
+    } while (batch == BACKFILL_BATCH_SIZE);
+    if (total > 0) {
+      log.info("Backfilled fingerprints of {} games", total);
+    }
+  }
+
+  private int backfillBatch() {
+    List<Long> gameIds =
+        gameRepository.findIdsWithoutFingerprint(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+    if (gameIds.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, List<Long>> milestoneIds =
+        gameMilestoneRepository.findMilestoneIdsByGameIds(gameIds).stream()
+            .collect(
+                Collectors.groupingBy(
+                    GameMilestoneIdRow::gameId,
+                    Collectors.mapping(GameMilestoneIdRow::milestoneId, Collectors.toList())));
+
+    for (Long gameId : gameIds) {
+      long[] ids =
+          milestoneIds.getOrDefault(gameId, List.of()).stream()
+              .mapToLong(Long::longValue)
+              .toArray();
+      gameRepository.updateFingerprint(gameId, GameFingerprint.of(ids));
+    }
+    return gameIds.size();
+  }
+
+  private static Mode resolve(String modeName) {
+    return switch (modeName.trim().toLowerCase(Locale.ROOT)) {
+      case "off" -> Mode.OFF;
+      case "same-slug" -> Mode.SAME_SLUG;
+      case "alias" -> Mode.ALIAS;
+      default -> throw new IllegalArgumentException("Unknown game dedup mode: " + modeName);
+    };
+  }
+}
@@ -0,0 +1,47 @@
+package com.milestonemania.service.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Canonical 64-bit fingerprint of a game's milestone set.
+ * <p>
+ * The milestone IDs are sorted before hashing, so the fingerprint depends only on which
+ * milestones a game contains, not on the order they were drawn or stored in. Two different
+ * sets share a fingerprint with probability around 2^-64 per pair; since reusing a colliding
+ * game would hand out the wrong milestones, callers compare the milestone sets before reusing
+ * a game found by fingerprint.
+ */
+public final class GameFingerprint {
+
+  private static final long SEED = 0x6d696c6573746f6eL;
+  private static final long MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+  private GameFingerprint() {}
+
+  /**
+   * Computes the fingerprint of a milestone set.
+   *
+   * @param milestoneIds the milestone IDs, in any order
+   * @return the fingerprint
+   */
+  public static long of(long[] milestoneIds) {
+    long[] sorted = milestoneIds.clone();
+    Arrays.sort(sorted);
+
+    long hash = SEED ^ sorted.length;
+    for (long id : sorted) {
+      hash = Long.rotateLeft(hash ^ mix(id), 29) * MULTIPLIER;
+    }
+    return mix(hash);
+  }
+
+  /** MurmurHash3 fmix64 finalizer. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
@@ -0,0 +1,613 @@
+package com.milestonemania.service.difficulty;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.MilestoneRatingRepository;
+import com.milestonemania.repository.projection.MilestonePairRatingRow;
+import com.milestonemania.repository.projection.MilestoneRatingRow;
+import com.milestonemania.repository.rating.RatingDelta;
+import com.milestonemania.repository.rating.RatingDeltaWriter;
+import com.milestonemania.service.api.dto.DifficultyBand;
+import com.milestonemania.service.api.dto.GameCreationOptions;
+import com.milestonemania.service.api.exception.InsufficientMilestonesException;
+import com.milestonemania.service.catalog.CatalogSnapshot;
+import com.milestonemania.service.catalog.MilestoneCatalog;
+import com.milestonemania.service.seen.SeenMilestones;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Elo-style difficulty ratings of milestones and milestone pairs, and difficulty-banded game
+ * sampling on top of them.
+ * <p>
+ * Every validated submission is a match between the player, at a fixed baseline rating, and
+ * the game's milestones: a milestone the player puts in the wrong position wins, one placed
+ * correctly loses. Likewise, every pair of milestones wins when the player swaps their relative
+ * order. Ratings therefore rise for milestones that are hard to place.
+ * <p>
+ * Submissions are handed over after their transaction commits and queued; a background worker
+ * applies them in batches to ratings held in a {@code float[]} indexed by catalog ordinal and a
+ * {@link PairRatingTable}, then writes the coalesced deltas of the batch with
+ * {@link RatingDeltaWriter}. A full queue drops outcomes rather than slowing down submissions.
+ * Ratings are reloaded periodically, which picks up the deltas written by other nodes.
+ * <p>
+ * After each batch the catalog is split into rating terciles, one {@link RoaringBitmap} per
+ * {@link DifficultyBand}. Banded games are drawn from these bitmaps like tag-filtered games, so
+ * creating one needs no query. The split shuffles and sorts the whole catalog, so it runs on a
+ * copy of the ratings outside the lock and the new bands replace the old ones in one swap. When
+ * the catalog changes, ratings and bands are carried over to the new ordinals in memory.
+ */
+@Component
+public class DifficultyRatings {
+
+  private static final Logger log = LoggerFactory.getLogger(DifficultyRatings.class);
+
+  static final float INITIAL_RATING = 1500f;
+  private static final double PLAYER_RATING = 1500.0;
+  private static final int BAND_COUNT = DifficultyBand.values().length;
+
+  private final MilestoneCatalog milestoneCatalog;
+  private final MilestoneRatingRepository milestoneRatingRepository;
+  private final RatingDeltaWriter ratingDeltaWriter;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate newTransaction;
+  private final double kFactor;
+  private final Duration flushInterval;
+  private final Duration reloadInterval;
+  private final BlockingQueue<Outcome> outcomes;
+  private final ScheduledExecutorService worker;
+
+  private final Counter appliedCounter;
+  private final Counter droppedCounter;
+  private final DistributionSummary generatedDifficulty;
+
+  /** Guards the ratings, pair ratings, pending deltas and the ratings generation. */
+  private final Object lock = new Object();
+
+  private CatalogSnapshot ratedSnapshot = CatalogSnapshot.EMPTY;
+  private float[] ratings = new float[0];
+  private PairRatingTable pairRatings = new PairRatingTable(0);
+  private Map<Long, PendingDelta> pendingMilestones = new HashMap<>();
+  private Map<IdPair, PendingDelta> pendingPairs = new HashMap<>();
+  private long ratingsGeneration;
+
+  private final AtomicReference<Strata> strata =
+      new AtomicReference<>(new Strata(CatalogSnapshot.EMPTY, emptyBands(), 0));
+
+  public DifficultyRatings(
+      MilestoneCatalog milestoneCatalog,
+      MilestoneRatingRepository milestoneRatingRepository,
+      RatingDeltaWriter ratingDeltaWriter,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.difficulty.k-factor:16}") double kFactor,
+      @Value("${milestone-mania.difficulty.queue-capacity:10000}") int queueCapacity,
+      @Value("${milestone-mania.difficulty.flush-interval:PT5S}") Duration flushInterval,
+      @Value("${milestone-mania.difficulty.reload-interval:PT10M}") Duration reloadInterval) {
+    this.milestoneCatalog = milestoneCatalog;
+    this.milestoneRatingRepository = milestoneRatingRepository;
+    this.ratingDeltaWriter = ratingDeltaWriter;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.kFactor = kFactor;
+    this.flushInterval = flushInterval;
+    this.reloadInterval = reloadInterval;
+    this.outcomes = new ArrayBlockingQueue<>(queueCapacity);
+    this.worker =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "difficulty-ratings");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    Gauge.builder("milestone.difficulty.queue", outcomes, BlockingQueue::size)
+        .description("Submission outcomes waiting to be applied to difficulty ratings")
+        .register(meterRegistry);
+    this.appliedCounter =
+        Counter.builder("milestone.difficulty.outcomes.applied")
+            .description("Submission outcomes applied to difficulty ratings")
+            .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("milestone.difficulty.outcomes.dropped")
+            .description("Submission outcomes dropped because the rating queue was full")
+            .register(meterRegistry);
+    this.generatedDifficulty =
+        DistributionSummary.builder("game.difficulty.estimated")
+            .description("Estimated difficulty rating of games generated for a difficulty band")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Queues the outcome of a validated submission once the surrounding transaction commits.
+   *
+   * @param correctOrder the game's milestone IDs in correct order; not modified
+   * @param submittedOrder the same milestone IDs in the order the player submitted; not
+   *     modified
+   */
+  public void record(long[] correctOrder, long[] submittedOrder) {
+    Outcome outcome = new Outcome(correctOrder, submittedOrder);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      enqueue(outcome);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            enqueue(outcome);
+          }
+        });
+  }
+
+  /**
+   * Draws milestones for a game in the requested difficulty band, honouring the other
+   * constraints of the options and preferring milestones the player has not seen.
+   *
+   * @param count number of milestones to draw
+   * @param options creation options with a difficulty band
+   * @param seen tells whether the player has probably seen a milestone
+   * @return milestone IDs in correct chronological order
+   * @throws InsufficientMilestonesException if the band holds too few matching dates
+   */
+  public long[] sampleGame(int count, GameCreationOptions options, LongPredicate seen) {
+    Strata current = currentStrata();
+    CatalogSnapshot snapshot = current.snapshot();
+    DifficultyBand band = options.getDifficulty();
+
+    RoaringBitmap candidates = current.bands()[band.ordinal()];
+    if (options.getTags() != null && !options.getTags().isEmpty()) {
+      candidates = RoaringBitmap.and(candidates, snapshot.tagCandidates(options.getTags()));
+    }
+    LocalDate fromDate = options.getFromDate();
+    LocalDate toDate = options.getToDate();
+    int fromDay = fromDate == null ? Integer.MIN_VALUE : (int) fromDate.toEpochDay();
+    int toDay = toDate == null ? Integer.MAX_VALUE : (int) toDate.toEpochDay();
+
+    int available =
+        snapshot.distinctDateCount(
+            fromDay, toDay, candidates, count * MilestoneCatalog.UNSEEN_OVERSAMPLE);
+    if (available < count) {
+      throw InsufficientMilestonesException.notEnoughMilestonesForDifficulty(
+          available, count, band);
+    }
+    int draw =
+        seen == SeenMilestones.NOTHING_SEEN
+            ? count
+            : Math.max(count, Math.min(available, count * MilestoneCatalog.UNSEEN_OVERSAMPLE));
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long[] milestoneIds = snapshot.sampleCandidates(fromDay, toDay, candidates, draw, random);
+    if (draw > count) {
+      milestoneIds = MilestoneCatalog.preferUnseen(milestoneIds, count, seen, random);
+    }
+
+    generatedDifficulty.record(estimateDifficulty(milestoneIds));
+    return milestoneIds;
+  }
+
+  /**
+   * Estimates the difficulty of a set of milestones as their mean rating, shifted by the mean
+   * deviation of their pair ratings from the initial rating.
+   *
+   * @param milestoneIds the milestone IDs
+   * @return the estimated difficulty rating
+   */
+  public double estimateDifficulty(long[] milestoneIds) {
+    synchronized (lock) {
+      int[] ordinals = new int[milestoneIds.length];
+      double milestoneSum = 0;
+      for (int i = 0; i < milestoneIds.length; i++) {
+        ordinals[i] = ratedSnapshot.ordinalOf(milestoneIds[i]);
+        milestoneSum += ordinals[i] < 0 ? INITIAL_RATING : ratings[ordinals[i]];
+      }
+      double pairDeviation = 0;
+      int pairs = 0;
+      for (int i = 0; i < ordinals.length; i++) {
+        for (int j = i + 1; j < ordinals.length; j++) {
+          if (ordinals[i] >= 0 && ordinals[j] >= 0) {
+            pairDeviation +=
+                pairRatings.get(PairRatingTable.key(ordinals[i], ordinals[j]), INITIAL_RATING)
+                    - INITIAL_RATING;
+          }
+          pairs++;
+        }
+      }
+      return milestoneSum / milestoneIds.length + (pairs == 0 ? 0 : pairDeviation / pairs);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    worker.execute(this::reload);
+    worker.scheduleWithFixedDelay(
+        this::processBatch,
+        flushInterval.toMillis(),
+        flushInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+    worker.scheduleWithFixedDelay(
+        this::reload, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    worker.shutdown();
+    try {
+      if (worker.awaitTermination(5, TimeUnit.SECONDS)) {
+        processBatch();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void enqueue(Outcome outcome) {
+    if (!outcomes.offer(outcome)) {
+      droppedCounter.increment();
+    }
+  }
+
+  /** Applies the queued outcomes, then writes the accumulated deltas. */
+  void processBatch() {
+    try {
+      List<Outcome> batch = new ArrayList<>(outcomes.size());
+      outcomes.drainTo(batch);
+      RatingsCopy changed = null;
+      synchronized (lock) {
+        boolean remapped = followCatalog();
+        for (Outcome outcome : batch) {
+          apply(outcome);
+        }
+        if (remapped || !batch.isEmpty()) {
+          changed = copyRatings();
+        }
+      }
+      if (changed != null) {
+        publishBands(changed);
+      }
+      appliedCounter.increment(batch.size());
+      writePendingDeltas();
+    } catch (RuntimeException e) {
+      log.warn("Difficulty rating batch failed: {}", e.getMessage());
+    }
+  }
+
+  /** Replaces the in-memory ratings with the stored ones, which include other nodes' deltas. */
+  void reload() {
+    try {
+      CatalogSnapshot snapshot = milestoneCatalog.snapshot();
+      float[] loaded = new float[snapshot.size()];
+      Arrays.fill(loaded, INITIAL_RATING);
+      PairRatingTable loadedPairs = new PairRatingTable(1024);
+
+      readOnlyTransaction.executeWithoutResult(
+          status -> {
+            try (Stream<MilestoneRatingRow> rows = milestoneRatingRepository.streamAllRatings()) {
+              rows.forEach(
+                  row -> {
+                    int ordinal = snapshot.ordinalOf(row.milestoneId());
+                    if (ordinal >= 0) {
+                      loaded[ordinal] = row.rating().floatValue();
+                    }
+                  });
+            }
+            try (Stream<MilestonePairRatingRow> rows =
+                milestoneRatingRepository.streamAllPairRatings()) {
+              rows.forEach(
+                  row -> {
+                    int first = snapshot.ordinalOf(row.firstMilestoneId());
+                    int second = snapshot.ordinalOf(row.secondMilestoneId());
+                    if (first >= 0 && second >= 0) {
+                      loadedPairs.put(
+                          PairRatingTable.key(first, second), row.rating().floatValue());
+                    }
+                  });
+            }
+          });
+
+      RatingsCopy reloaded;
+      synchronized (lock) {
+        ratedSnapshot = snapshot;
+        ratings = loaded;
+        pairRatings = loadedPairs;
+        reloaded = copyRatings();
+      }
+      publishBands(reloaded);
+      log.debug(
+          "Loaded difficulty ratings for {} milestones and {} pairs",
+          snapshot.size(),
+          loadedPairs.size());
+    } catch (RuntimeException e) {
+      log.warn("Could not load difficulty ratings: {}", e.getMessage());
+    }
+  }
+
+  /** Returns bands for the current catalog snapshot, carrying ratings over if it changed. */
+  private Strata currentStrata() {
+    Strata current = strata.get();
+    if (current.snapshot() == milestoneCatalog.snapshot()) {
+      return current;
+    }
+    RatingsCopy remapped;
+    synchronized (lock) {
+      if (!followCatalog()) {
+        // Another thread remapped the ratings; until it publishes, the older bands still match
+        // their own snapshot
+        return strata.get();
+      }
+      remapped = copyRatings();
+    }
+    return publishBands(remapped);
+  }
+
+  /** Copies the ratings for banding outside the lock. Must hold the lock. */
+  private RatingsCopy copyRatings() {
+    return new RatingsCopy(ratedSnapshot, ratings.clone(), ++ratingsGeneration);
+  }
+
+  /**
+   * Splits copied ratings into bands and publishes them, unless bands of newer ratings were
+   * published meanwhile.
+   *
+   * @return the bands published after this call
+   */
+  private Strata publishBands(RatingsCopy copy) {
+    Strata next = new Strata(copy.snapshot(), computeBands(copy.ratings()), copy.generation());
+    return strata.accumulateAndGet(
+        next,
+        (published, candidate) ->
+            candidate.generation() > published.generation() ? candidate : published);
+  }
+
+  /**
+   * Moves ratings to the ordinals of the current catalog snapshot, if it changed. Must hold
+   * the lock.
+   *
+   * @return whether the snapshot changed
+   */
+  private boolean followCatalog() {
+    CatalogSnapshot current = milestoneCatalog.snapshot();
+    if (current == ratedSnapshot) {
+      return false;
+    }
+    CatalogSnapshot previous = ratedSnapshot;
+    float[] moved = new float[current.size()];
+    for (int ordinal = 0; ordinal < moved.length; ordinal++) {
+      int previousOrdinal = previous.ordinalOf(current.idAt(ordinal));
+      moved[ordinal] = previousOrdinal < 0 ? INITIAL_RATING : ratings[previousOrdinal];
+    }
+    PairRatingTable movedPairs = new PairRatingTable(pairRatings.size());
+    float[] previousRatings = ratings;
+    pairRatings.forEach(
+        (key, rating) -> {
+          int low = current.ordinalOf(previous.idAt(PairRatingTable.lowOrdinal(key)));
+          int high = current.ordinalOf(previous.idAt(PairRatingTable.highOrdinal(key)));
+          if (low >= 0 && high >= 0) {
+            movedPairs.put(PairRatingTable.key(low, high), rating);
+          }
+        });
+    log.debug(
+        "Moved difficulty ratings from {} to {} milestones", previousRatings.length, moved.length);
+    ratedSnapshot = current;
+    ratings = moved;
+    pairRatings = movedPairs;
+    return true;
+  }
+
+  /** Applies one submission to the in-memory ratings and pending deltas. Must hold the lock. */
+  private void apply(Outcome outcome) {
+    long[] correct = outcome.correctOrder();
+    long[] submitted = outcome.submittedOrder();
+    int[] ordinals = new int[correct.length];
+    int[] submittedPositions = new int[correct.length];
+
+    for (int i = 0; i < correct.length; i++) {
+      ordinals[i] = ratedSnapshot.ordinalOf(correct[i]);
+      submittedPositions[i] = indexOf(submitted, correct[i]);
+      double before = ordinals[i] < 0 ? INITIAL_RATING : ratings[ordinals[i]];
+      double delta = eloDelta(before, submittedPositions[i] != i);
+      if (ordinals[i] >= 0) {
+        ratings[ordinals[i]] = (float) (before + delta);
+      }
+      pendingMilestones.computeIfAbsent(correct[i], id -> new PendingDelta()).add(delta);
+    }
+
+    for (int i = 0; i < correct.length; i++) {
+      for (int j = i + 1; j < correct.length; j++) {
+        boolean swapped = submittedPositions[i] > submittedPositions[j];
+        long pairKey =
+            ordinals[i] >= 0 && ordinals[j] >= 0
+                ? PairRatingTable.key(ordinals[i], ordinals[j])
+                : -1;
+        double before = pairKey < 0 ? INITIAL_RATING : pairRatings.get(pairKey, INITIAL_RATING);
+        double delta = eloDelta(before, swapped);
+        if (pairKey >= 0) {
+          pairRatings.put(pairKey, (float) (before + delta));
+        }
+        pendingPairs
+            .computeIfAbsent(IdPair.of(correct[i], correct[j]), pair -> new PendingDelta())
+            .add(delta);
+      }
+    }
+  }
+
+  /** Rating change of a milestone or pair that won (was misplaced) or lost against the player. */
+  private double eloDelta(double rating, boolean won) {
+    double expectedWin = 1.0 / (1.0 + Math.pow(10.0, (PLAYER_RATING - rating) / 400.0));
+    return kFactor * ((won ? 1.0 : 0.0) - expectedWin);
+  }
+
+  private void writePendingDeltas() {
+    Map<Long, PendingDelta> milestones;
+    Map<IdPair, PendingDelta> pairs;
+    synchronized (lock) {
+      if (pendingMilestones.isEmpty() && pendingPairs.isEmpty()) {
+        return;
+      }
+      milestones = pendingMilestones;
+      pairs = pendingPairs;
+      pendingMilestones = new HashMap<>();
+      pendingPairs = new HashMap<>();
+    }
+
+    List<RatingDelta> milestoneDeltas = new ArrayList<>(milestones.size());
+    milestones.forEach(
+        (id, pending) -> milestoneDeltas.add(new RatingDelta(id, 0, pending.delta, pending.games)));
+    List<RatingDelta> pairDeltas = new ArrayList<>(pairs.size());
+    pairs.forEach(
+        (pair, pending) ->
+            pairDeltas.add(
+                new RatingDelta(pair.first(), pair.second(), pending.delta, pending.games)));
+    try {
+      newTransaction.executeWithoutResult(
+          status -> {
+            ratingDeltaWriter.addMilestoneDeltas(milestoneDeltas, INITIAL_RATING);
+            ratingDeltaWriter.addPairDeltas(pairDeltas, INITIAL_RATING);
+          });
+      log.debug(
+          "Wrote {} milestone and {} pair rating deltas",
+          milestoneDeltas.size(),
+          pairDeltas.size());
+    } catch (RuntimeException e) {
+      // Typically a row inserted concurrently by another node; keep the deltas for next time
+      log.warn("Could not write rating deltas, retrying later: {}", e.getMessage());
+      synchronized (lock) {
+        milestones.forEach(
+            (id, pending) -> pendingMilestones.merge(id, pending, PendingDelta::plus));
+        pairs.forEach((pair, pending) -> pendingPairs.merge(pair, pending, PendingDelta::plus));
+      }
+    }
+  }
+
+  /**
+   * Splits the catalog into rating terciles. Ties, such as all unrated milestones, are broken
+   * randomly so they spread evenly across the bands.
+   */
+  private static RoaringBitmap[] computeBands(float[] ratings) {
+    int size = ratings.length;
+    if (size == 0) {
+      return emptyBands();
+    }
+    int[] tieOrder = new int[size];
+    for (int i = 0; i < size; i++) {
+      tieOrder[i] = i;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = tieOrder[i];
+      tieOrder[i] = tieOrder[j];
+      tieOrder[j] = swap;
+    }
+
+    // Sort (rating, tie position) pairs packed into longs
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      int bits = Float.floatToIntBits(ratings[tieOrder[i]]);
+      bits ^= (bits >> 31) & 0x7fffffff;
+      keys[i] = ((long) bits << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    int[][] members = new int[BAND_COUNT][];
+    for (int band = 0; band < BAND_COUNT; band++) {
+      int from = (int) ((long) size * band / BAND_COUNT);
+      int to = (int) ((long) size * (band + 1) / BAND_COUNT);
+      members[band] = new int[to - from];
+      for (int rank = from; rank < to; rank++) {
+        members[band][rank - from] = tieOrder[(int) keys[rank]];
+      }
+    }
+    RoaringBitmap[] bands = new RoaringBitmap[BAND_COUNT];
+    for (int band = 0; band < BAND_COUNT; band++) {
+      Arrays.sort(members[band]);
+      bands[band] = RoaringBitmap.bitmapOf(members[band]);
+      bands[band].runOptimize();
+    }
+    return bands;
+  }
+
+  private static RoaringBitmap[] emptyBands() {
+    RoaringBitmap[] bands = new RoaringBitmap[BAND_COUNT];
+    Arrays.setAll(bands, band -> new RoaringBitmap());
+    return bands;
+  }
+
+  private static int indexOf(long[] values, long value) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** A validated submission: the correct order and the submitted order of the same IDs. */
+  private record Outcome(long[] correctOrder, long[] submittedOrder) {}
+
+  /**
+   * Band bitmaps and the snapshot whose ordinals they refer to.
+   *
+   * @param generation the generation of the ratings they were computed from
+   */
+  private record Strata(CatalogSnapshot snapshot, RoaringBitmap[] bands, long generation) {}
+
+  /** Ratings copied under the lock, with the snapshot they are indexed by. */
+  private record RatingsCopy(CatalogSnapshot snapshot, float[] ratings, long generation) {}
+
+  /** Milestone pair with the lower ID first. */
+  private record IdPair(long first, long second) {
+    static IdPair of(long a, long b) {
+      return a < b ? new IdPair(a, b) : new IdPair(b, a);
+    }
+  }
+
+  private static final class PendingDelta {
+    private double delta;
+    private int games;
+
+    void add(double change) {
+      delta += change;
+      games++;
+    }
+
+    PendingDelta plus(PendingDelta other) {
+      delta += other.delta;
+      games += other.games;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.milestonemania.service.difficulty;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a milestone ordinal pair to a rating, on primitive arrays.
+ * <p>
+ * A pair is packed into one {@code long} as {@code (lowerOrdinal << 32) | higherOrdinal}.
+ * Ordinals are non-negative, so {@code -1} marks an empty slot. Only pairs that appeared in a
+ * submission are stored; all others have the initial rating.
+ */
+final class PairRatingTable {
+
+  private static final long EMPTY = -1L;
+  private static final float MAX_LOAD = 0.5f;
+
+  private long[] keys;
+  private float[] values;
+  private int size;
+
+  PairRatingTable(int expectedPairs) {
+    int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedPairs / MAX_LOAD)) - 1) << 1;
+    keys = new long[capacity];
+    values = new float[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  static long key(int ordinal, int otherOrdinal) {
+    int low = Math.min(ordinal, otherOrdinal);
+    int high = Math.max(ordinal, otherOrdinal);
+    return ((long) low << 32) | high;
+  }
+
+  static int lowOrdinal(long key) {
+    return (int) (key >>> 32);
+  }
+
+  static int highOrdinal(long key) {
+    return (int) key;
+  }
+
+  /**
+   * Returns the rating of a pair.
+   *
+   * @param key the packed pair
+   * @param defaultRating rating of a pair not in the table
+   * @return the stored or default rating
+   */
+  synchronized float get(long key, float defaultRating) {
+    int slot = find(key);
+    return keys[slot] == EMPTY ? defaultRating : values[slot];
+  }
+
+  /**
+   * Stores the rating of a pair.
+   *
+   * @param key the packed pair
+   * @param rating the new rating
+   */
+  synchronized void put(long key, float rating) {
+    if (size + 1 > keys.length * MAX_LOAD) {
+      resize(keys.length * 2);
+    }
+    int slot = find(key);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      size++;
+    }
+    values[slot] = rating;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /** Calls the consumer for every stored pair. */
+  synchronized void forEach(PairConsumer consumer) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        consumer.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  private int find(long key) {
+    int mask = keys.length - 1;
+    int slot = (int) mix(key) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    float[] oldValues = values;
+    keys = new long[capacity];
+    values = new float[capacity];
+    Arrays.fill(keys, EMPTY);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = find(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** Packed ordinals are highly regular, so they are mixed before picking a slot. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  @FunctionalInterface
+  interface PairConsumer {
+    void accept(long key, float rating);
+  }
+}
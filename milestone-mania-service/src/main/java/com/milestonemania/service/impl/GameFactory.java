@@ -0,0 +1,259 @@
+package com.milestonemania.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.milestonemania.model.entity.Game;
+import com.milestonemania.model.entity.GameMilestone;
+import com.milestonemania.model.entity.GameSlugAlias;
+import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.repository.GameAttemptRepository;
+import com.milestonemania.repository.GameMilestoneRepository;
+import com.milestonemania.repository.GameRepository;
+import com.milestonemania.repository.GameSlugAliasRepository;
+import com.milestonemania.repository.MilestoneRepository;
+import com.milestonemania.repository.projection.GameMilestoneIdRow;
+import com.milestonemania.repository.random.RandomMilestoneSelector;
+import com.milestonemania.service.api.dto.GameCreationOptions;
+import com.milestonemania.service.api.exception.InsufficientMilestonesException;
+import com.milestonemania.service.catalog.MilestoneCatalog;
+import com.milestonemania.service.dedup.GameDeduplicator;
+import com.milestonemania.service.dedup.GameFingerprint;
+import com.milestonemania.service.difficulty.DifficultyRatings;
+import com.milestonemania.service.seen.SeenMilestones;
+import com.milestonemania.service.slug.SlugAllocator;
+
+/**
+ * Creates and persists new games: milestone selection, slug allocation and the
+ * game / game milestone inserts. Shared by request-time creation and the game pool.
+ * When the selected milestones match an existing game, that game is reused instead,
+ * see {@link GameDeduplicator}.
+ */
+@Component
+@Transactional
+public class GameFactory {
+
+  private static final Logger log = LoggerFactory.getLogger(GameFactory.class);
+  public static final int MILESTONES_PER_GAME = 5;
+
+  private final MilestoneRepository milestoneRepository;
+  private final GameRepository gameRepository;
+  private final GameAttemptRepository gameAttemptRepository;
+  private final GameMilestoneRepository gameMilestoneRepository;
+  private final GameSlugAliasRepository gameSlugAliasRepository;
+  private final SlugAllocator slugAllocator;
+  private final MilestoneCatalog milestoneCatalog;
+  private final RandomMilestoneSelector randomMilestoneSelector;
+  private final GameDeduplicator gameDeduplicator;
+  private final DifficultyRatings difficultyRatings;
+
+  public GameFactory(
+      MilestoneRepository milestoneRepository,
+      GameRepository gameRepository,
+      GameAttemptRepository gameAttemptRepository,
+      GameMilestoneRepository gameMilestoneRepository,
+      GameSlugAliasRepository gameSlugAliasRepository,
+      SlugAllocator slugAllocator,
+      MilestoneCatalog milestoneCatalog,
+      RandomMilestoneSelector randomMilestoneSelector,
+      GameDeduplicator gameDeduplicator,
+      DifficultyRatings difficultyRatings) {
+    this.milestoneRepository = milestoneRepository;
+    this.gameRepository = gameRepository;
+    this.gameAttemptRepository = gameAttemptRepository;
+    this.gameMilestoneRepository = gameMilestoneRepository;
+    this.gameSlugAliasRepository = gameSlugAliasRepository;
+    this.slugAllocator = slugAllocator;
+    this.milestoneCatalog = milestoneCatalog;
+    this.randomMilestoneSelector = randomMilestoneSelector;
+    this.gameDeduplicator = gameDeduplicator;
+    this.difficultyRatings = difficultyRatings;
+  }
+
+  /**
+   * A game handed out by the factory together with the slug to hand it out under, which
+   * differs from the game's own slug when an existing game is reused under an alias.
+   *
+   * @param game the new or reused game
+   * @param slug the slug for the player's attempt
+   * @param milestoneIds the game's milestone IDs in correct order
+   */
+  public record CreatedGame(Game game, String slug, long[] milestoneIds) {}
+
+  /**
+   * Creates a game with randomly selected milestones from the catalog.
+   *
+   * @return the persisted or reused game
+   * @throws InsufficientMilestonesException if the catalog cannot supply enough milestones
+   */
+  public CreatedGame createRandomGame() {
+    return createGame(GameCreationOptions.none());
+  }
+
+  /**
+   * Creates a game with random milestones matching the given options.
+   *
+   * @param options constraints for milestone selection
+   * @return the persisted or reused game
+   * @throws InsufficientMilestonesException if too few milestones match the options
+   */
+  public CreatedGame createGame(GameCreationOptions options) {
+    return createGame(options, SeenMilestones.NOTHING_SEEN);
+  }
+
+  /**
+   * Creates a game with random milestones matching the given options, preferring milestones
+   * the player has not seen.
+   *
+   * @param options constraints for milestone selection
+   * @param seen tells whether the player has probably seen a milestone
+   * @return the persisted or reused game
+   * @throws InsufficientMilestonesException if too few milestones match the options
+   */
+  public CreatedGame createGame(GameCreationOptions options, LongPredicate seen) {
+    // Draw milestones with distinct dates, already in correct order
+    long[] milestoneIds = selectMilestoneIds(options, seen);
+    long fingerprint = GameFingerprint.of(milestoneIds);
+
+    OptionalLong existingGameId = gameDeduplicator.findGameId(fingerprint);
+    if (existingGameId.isPresent() && hasMilestones(existingGameId.getAsLong(), milestoneIds)) {
+      return reuseGame(existingGameId.getAsLong(), milestoneIds);
+    }
+
+    // Slugs are unique by construction, no existence check needed
+    String slug = slugAllocator.nextSlug();
+    return new CreatedGame(
+        createGameWithSlug(slug, milestoneReferences(milestoneIds), fingerprint),
+        slug,
+        milestoneIds);
+  }
+
+  /**
+   * Writes the game row of a procedural game, e.g. once it is shared, and attaches the
+   * attempts made so far. Must be called outside any transaction: it then runs in its own, so
+   * a concurrent materialization of the same slug only fails this call, and the caller does
+   * not hold a second connection while it runs.
+   *
+   * @param slug the procedural game slug
+   * @param milestoneIds milestone IDs derived from the slug, in correct order
+   * @return the persisted game
+   * @throws org.springframework.dao.DataIntegrityViolationException if the slug was
+   *     materialized concurrently
+   */
+  public Game materialize(String slug, long[] milestoneIds) {
+    Game game =
+        createGameWithSlug(
+            slug, milestoneReferences(milestoneIds), GameFingerprint.of(milestoneIds));
+    int attached = gameAttemptRepository.attachToGame(game, slug);
+    log.info("Materialized procedural game {} with {} earlier attempts", slug, attached);
+    return game;
+  }
+
+  /**
+   * Returns the display name of the game with the given slug.
+   *
+   * @param slug the game slug
+   * @return the game name
+   */
+  public static String gameName(String slug) {
+    return "Timeline Challenge: " + slug;
+  }
+
+  /**
+   * Checks that a game found by fingerprint holds exactly the drawn milestones, so a
+   * fingerprint collision creates a new game instead of handing out another game's milestones.
+   */
+  private boolean hasMilestones(long gameId, long[] milestoneIds) {
+    long[] stored =
+        gameMilestoneRepository.findMilestoneIdsByGameIds(List.of(gameId)).stream()
+            .mapToLong(GameMilestoneIdRow::milestoneId)
+            .sorted()
+            .toArray();
+    long[] drawn = milestoneIds.clone();
+    Arrays.sort(drawn);
+    if (Arrays.equals(stored, drawn)) {
+      return true;
+    }
+    log.warn("Game {} shares the fingerprint of a different milestone set, not reusing it", gameId);
+    return false;
+  }
+
+  private CreatedGame reuseGame(long gameId, long[] milestoneIds) {
+    Game game = gameRepository.getReferenceById(gameId);
+    if (!gameDeduplicator.usesAliases()) {
+      return new CreatedGame(game, game.getSlug(), milestoneIds);
+    }
+
+    String alias = slugAllocator.nextSlug();
+    gameSlugAliasRepository.save(new GameSlugAlias(alias, game));
+    log.info("Reused game {} under alias slug {}", gameId, alias);
+    return new CreatedGame(game, alias, milestoneIds);
+  }
+
+  private List<Milestone> milestoneReferences(long[] milestoneIds) {
+    return Arrays.stream(milestoneIds)
+        .mapToObj(milestoneRepository::getReferenceById)
+        .collect(Collectors.toList());
+  }
+
+  private long[] selectMilestoneIds(GameCreationOptions options, LongPredicate seen) {
+    if (milestoneCatalog.isEnabled()) {
+      if (options.getDifficulty() != null) {
+        return difficultyRatings.sampleGame(MILESTONES_PER_GAME, options, seen);
+      }
+      if (seen != SeenMilestones.NOTHING_SEEN) {
+        return milestoneCatalog.sampleGame(
+            MILESTONES_PER_GAME,
+            options.getFromDate(),
+            options.getToDate(),
+            options.getTags(),
+            seen);
+      }
+      return options.isConstrained()
+          ? milestoneCatalog.sampleGame(
+              MILESTONES_PER_GAME, options.getFromDate(), options.getToDate(), options.getTags())
+          : milestoneCatalog.sampleGame(MILESTONES_PER_GAME);
+    }
+
+    // Database sampling ignores the seen filter; it would need another round trip per retry
+
+    if (options.isConstrained()) {
+      throw new IllegalArgumentException(
+          "Constrained games require the in-memory milestone catalog to be enabled");
+    }
+    long[] milestoneIds = randomMilestoneSelector.selectChronological(MILESTONES_PER_GAME);
+    if (milestoneIds.length < MILESTONES_PER_GAME) {
+      throw InsufficientMilestonesException.notEnoughMilestones(
+          milestoneIds.length, MILESTONES_PER_GAME);
+    }
+    return milestoneIds;
+  }
+
+  private Game createGameWithSlug(String slug, List<Milestone> milestones, long fingerprint) {
+    Game game = new Game();
+    game.setSlug(slug);
+    game.setName(gameName(slug));
+    game.setCreatedAt(LocalDateTime.now());
+    game.setFingerprint(fingerprint);
+
+    // Game milestones cascade from the game; all inserts are batched at flush
+    for (int i = 0; i < milestones.size(); i++) {
+      game.getGameMilestones().add(new GameMilestone(game, milestones.get(i), i + 1));
+    }
+
+    game = gameRepository.save(game);
+    gameDeduplicator.register(fingerprint, game.getId());
+
+    log.info("Created game with slug: {}", slug);
+    return game;
+  }
+}
@@ -1,23 +1,47 @@
 package com.milestonemania.service.impl;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.milestonemania.model.entity.*;
+import com.milestonemania.model.id.TimeOrderedIds;
 import com.milestonemania.repository.*;
+import com.milestonemania.repository.attempt.AttemptSubmissionContext;
+import com.milestonemania.repository.attempt.AttemptSubmissionRepository;
+import com.milestonemania.repository.attempt.CompletedAttempt;
+import com.milestonemania.repository.outbox.OutboxEventRepository;
 import com.milestonemania.service.api.GameService;
 import com.milestonemania.service.api.dto.*;
 import com.milestonemania.service.api.exception.*;
-import com.milestonemania.service.util.SlugGenerator;
+import com.milestonemania.service.attempt.AnswerKey;
+import com.milestonemania.service.attempt.AttemptCommitter;
+import com.milestonemania.service.attempt.AttemptSession;
+import com.milestonemania.service.attempt.AttemptSessions;
+import com.milestonemania.service.attempt.AttemptToken;
+import com.milestonemania.service.attempt.AttemptTokens;
+import com.milestonemania.service.content.GameContent;
+import com.milestonemania.service.content.GameContents;
+import com.milestonemania.service.difficulty.DifficultyRatings;
+import com.milestonemania.service.impl.GameFactory.CreatedGame;
+import com.milestonemania.service.pool.GamePool;
+import com.milestonemania.service.procedural.ProceduralGames;
+import com.milestonemania.service.procedural.ProceduralGames.ProceduralGame;
+import com.milestonemania.service.seen.SeenMilestones;
 
 /**
  * Implementation of GameService for managing milestone ordering games.
@@ -27,80 +51,146 @@ import com.milestonemania.service.util.SlugGenerator;
 public class GameServiceImpl implements GameService {
 
   private static final Logger log = LoggerFactory.getLogger(GameServiceImpl.class);
-  private static final int MILESTONES_PER_GAME = 5;
-  private static final int MAX_SLUG_GENERATION_ATTEMPTS = 10;
 
-  private final MilestoneRepository milestoneRepository;
+  // Endpoints tagging the game content flight meters
+  private static final String GET_GAME = "GET /games/{slug}";
+  private static final String START_GAME = "POST /games/{slug}/start";
+  private static final String SUBMIT_ATTEMPT = "POST /games/attempts/submit";
+
   private final GameRepository gameRepository;
-  private final GameMilestoneRepository gameMilestoneRepository;
   private final GameAttemptRepository gameAttemptRepository;
-  private final SlugGenerator slugGenerator;
+  private final MilestoneRepository milestoneRepository;
+  private final GameFactory gameFactory;
+  private final GamePool gamePool;
+  private final ProceduralGames proceduralGames;
+  private final GameContents gameContents;
+  private final SeenMilestones seenMilestones;
+  private final DifficultyRatings difficultyRatings;
+  private final AttemptSubmissionRepository attemptSubmissionRepository;
+  private final AttemptCommitter attemptCommitter;
+  private final AttemptTokens attemptTokens;
+  private final AttemptSessions attemptSessions;
+  private final OutboxEventRepository outboxEventRepository;
+  private final TimeOrderedIds timeOrderedIds;
+  private final TransactionTemplate writeTransaction;
 
   public GameServiceImpl(
-      MilestoneRepository milestoneRepository,
       GameRepository gameRepository,
-      GameMilestoneRepository gameMilestoneRepository,
       GameAttemptRepository gameAttemptRepository,
-      SlugGenerator slugGenerator) {
-    this.milestoneRepository = milestoneRepository;
+      MilestoneRepository milestoneRepository,
+      GameFactory gameFactory,
+      GamePool gamePool,
+      ProceduralGames proceduralGames,
+      GameContents gameContents,
+      SeenMilestones seenMilestones,
+      DifficultyRatings difficultyRatings,
+      AttemptSubmissionRepository attemptSubmissionRepository,
+      AttemptCommitter attemptCommitter,
+      AttemptTokens attemptTokens,
+      AttemptSessions attemptSessions,
+      OutboxEventRepository outboxEventRepository,
+      TimeOrderedIds timeOrderedIds,
+      PlatformTransactionManager transactionManager) {
     this.gameRepository = gameRepository;
-    this.gameMilestoneRepository = gameMilestoneRepository;
     this.gameAttemptRepository = gameAttemptRepository;
-    this.slugGenerator = slugGenerator;
+    this.milestoneRepository = milestoneRepository;
+    this.gameFactory = gameFactory;
+    this.gamePool = gamePool;
+    this.proceduralGames = proceduralGames;
+    this.gameContents = gameContents;
+    this.seenMilestones = seenMilestones;
+    this.difficultyRatings = difficultyRatings;
+    this.attemptSubmissionRepository = attemptSubmissionRepository;
+    this.attemptCommitter = attemptCommitter;
+    this.attemptTokens = attemptTokens;
+    this.attemptSessions = attemptSessions;
+    this.outboxEventRepository = outboxEventRepository;
+    this.timeOrderedIds = timeOrderedIds;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
   }
 
   @Override
   public GameAttemptDto createNewGame(String playerName) {
-    log.info("Creating new game for player: {}", playerName);
-
-    // Check if we have enough milestones
-    long milestoneCount = milestoneRepository.count();
-    if (milestoneCount < MILESTONES_PER_GAME) {
-      throw new InsufficientMilestonesException(
-          String.format(
-              "Need at least %d milestones, but only %d available",
-              MILESTONES_PER_GAME, milestoneCount));
-    }
+    return createNewGame(playerName, GameCreationOptions.none());
+  }
 
-    // Get random milestones
-    List<Milestone> randomMilestones =
-        milestoneRepository.findRandomMilestones(MILESTONES_PER_GAME);
-    if (randomMilestones.size() < MILESTONES_PER_GAME) {
-      throw new InsufficientMilestonesException(
-          String.format(
-              "Expected %d milestones, but only got %d",
-              MILESTONES_PER_GAME, randomMilestones.size()));
-    }
+  @Override
+  public GameAttemptDto createNewGame(String playerName, GameCreationOptions options) {
+    log.info("Creating new game for player: {} with options: {}", playerName, options);
+
+    GameCreationOptions effectiveOptions = options == null ? GameCreationOptions.none() : options;
+    validateOptions(effectiveOptions);
 
-    // Sort milestones chronologically for correct order
-    randomMilestones.sort(Comparator.comparing(Milestone::getActualDate));
+    LongPredicate seen = seenMilestones.seenBy(playerName);
+    if (!effectiveOptions.isConstrained() && proceduralGames.isEnabled()) {
+      return createProceduralGame(playerName, seen);
+    }
 
-    // Create game with unique slug
-    Game game = createGameWithUniqueSlug(randomMilestones);
+    // Claim a pre-generated game, or create one synchronously if the pool ran empty
+    CreatedGame created =
+        effectiveOptions.isConstrained()
+            ? gameFactory.createGame(effectiveOptions, seen)
+            : gamePool
+                .claim(seen)
+                .map(
+                    pooled ->
+                        new CreatedGame(
+                            gameRepository.getReferenceById(pooled.gameId()),
+                            pooled.slug(),
+                            pooled.milestoneIds()))
+                .orElseGet(() -> gameFactory.createGame(GameCreationOptions.none(), seen));
+    seenMilestones.recordSeen(playerName, created.milestoneIds());
 
     // Create game attempt
-    GameAttempt attempt = createGameAttempt(game, playerName);
+    GameAttempt attempt = createGameAttempt(created.game(), created.slug(), playerName);
+    openSession(attempt, new AnswerKey(created.milestoneIds()));
 
     log.info(
         "Created new game {} with attempt {} for player {}",
-        game.getSlug(),
+        created.slug(),
+        attempt.getId(),
+        playerName);
+
+    // Reads milestones by ID, which does not force the pending inserts out early
+    return mapToGameAttemptDto(attempt, loadMilestones(created.milestoneIds()));
+  }
+
+  private GameAttemptDto createProceduralGame(String playerName, LongPredicate seen) {
+    // No game or game milestone rows: the slug alone determines the milestones
+    ProceduralGame game = proceduralGames.newGame(GameFactory.MILESTONES_PER_GAME, seen);
+    GameAttempt attempt = createGameAttempt(null, game.slug(), playerName);
+    openSession(attempt, new AnswerKey(game.milestoneIds()));
+    seenMilestones.recordSeen(playerName, game.milestoneIds());
+
+    log.info(
+        "Created procedural game {} with attempt {} for player {}",
+        game.slug(),
         attempt.getId(),
         playerName);
 
-    return mapToGameAttemptDto(attempt);
+    return mapToGameAttemptDto(attempt, loadMilestones(game.milestoneIds()));
   }
 
   @Override
-  @Transactional(readOnly = true)
+  // Waiting for a shared game's content must not hold a connection; the attempt is written in
+  // its own transaction once the content is known
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public GameAttemptDto startGameFromSlug(String slug, String playerName) {
     log.info("Starting game from slug {} for player: {}", slug, playerName);
 
-    Game game =
-        gameRepository
-            .findBySlug(slug)
-            .orElseThrow(() -> new GameNotFoundException("Game not found with slug: " + slug));
-
-    GameAttempt attempt = createGameAttempt(game, playerName);
+    GameContent loaded = gameContents.get(slug, START_GAME);
+    GameContent content =
+        loaded.gameId() != null ? loaded : gameContents.materialize(slug, START_GAME);
+    long[] milestoneIds = content.milestoneIds();
+    GameAttempt attempt =
+        writeTransaction.execute(
+            status -> {
+              Game game = gameRepository.getReferenceById(content.gameId());
+              GameAttempt created = createGameAttempt(game, slug, playerName);
+              seenMilestones.recordSeen(playerName, milestoneIds);
+              openSession(created, content.answerKey());
+              return created;
+            });
 
     log.info(
         "Started new attempt {} for existing game {} and player {}",
@@ -108,200 +198,279 @@ public class GameServiceImpl implements GameService {
         slug,
         playerName);
 
-    return mapToGameAttemptDto(attempt);
+    return mapToGameAttemptDto(attempt, content.milestones());
   }
 
   @Override
+  // No connection is held while AttemptCommitter waits for the update to be committed
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public SubmitAttemptResponse submitAttempt(SubmitAttemptRequest request) {
-    log.info(
-        "Submitting attempt {} with {} milestone IDs",
-        request.getAttemptId(),
-        request.getOrderedMilestoneIds().size());
+    long attemptId = request.getAttemptId();
+    long[] submittedIds = request.getOrderedMilestoneIds();
+    log.info("Submitting attempt {} with {} milestone IDs", attemptId, submittedIds.length);
+    if (request.getAttemptToken() != null) {
+      return submitWithToken(request);
+    }
+    Optional<AttemptSession> session = attemptSessions.find(attemptId);
+    if (session.isPresent()) {
+      return submitToSession(session.get(), submittedIds);
+    }
 
-    try {
-      GameAttempt attempt =
-          gameAttemptRepository
-              .findByIdAndStatus(
-                  request.getAttemptId(), com.milestonemania.model.enums.AttemptStatus.IN_PROGRESS)
-              .orElseThrow(
-                  () ->
-                      new AttemptNotFoundException(
-                          "Active attempt not found with ID: " + request.getAttemptId()));
+    AttemptSubmissionContext context = findSubmissionContext(attemptId);
+    AnswerKey answerKey = gameContents.get(context.gameSlug(), SUBMIT_ATTEMPT).answerKey();
+    if (attemptSessions.isEnabled()
+        && context.status() == com.milestonemania.model.enums.AttemptStatus.IN_PROGRESS) {
+      // Started before a restart or on another instance; held in memory from now on
+      return submitToSession(
+          attemptSessions.load(attemptId, context.gameSlug(), answerKey, context.attemptCount()),
+          submittedIds);
+    }
+
+    // Validates that the IDs are the game's milestones and checks their order
+    boolean isCorrect = answerKey.check(submittedIds);
+
+    // One conditional update, possibly committed together with other submissions
+    OptionalInt attemptCount =
+        context.status() == com.milestonemania.model.enums.AttemptStatus.IN_PROGRESS
+            ? attemptCommitter.apply(attemptId, isCorrect, LocalDateTime.now())
+            : OptionalInt.empty();
+    if (attemptCount.isEmpty()) {
+      return alreadyCompleted(attemptId, isCorrect);
+    }
+    return submitted(
+        attemptId, context.gameSlug(), isCorrect, attemptCount.getAsInt(), answerKey, submittedIds);
+  }
+
+  /** Submits an attempt held in memory; only a correct submission writes to the database. */
+  private SubmitAttemptResponse submitToSession(AttemptSession session, long[] submittedIds) {
+    boolean isCorrect = session.answerKey().check(submittedIds);
 
-      // Validate milestone IDs belong to this game
-      List<GameMilestone> correctGameMilestones =
-          gameMilestoneRepository.findByGameOrderByCorrectOrder(attempt.getGame());
+    OptionalInt attemptCount = attemptSessions.submit(session, isCorrect, LocalDateTime.now());
+    if (attemptCount.isEmpty()) {
+      return alreadyCompleted(session.attemptId(), isCorrect);
+    }
+    return submitted(
+        session.attemptId(),
+        session.gameSlug(),
+        isCorrect,
+        attemptCount.getAsInt(),
+        session.answerKey(),
+        submittedIds);
+  }
 
-      validateMilestoneIds(request.getOrderedMilestoneIds(), correctGameMilestones);
+  private SubmitAttemptResponse submitted(
+      long attemptId,
+      String gameSlug,
+      boolean isCorrect,
+      int attemptCount,
+      AnswerKey answerKey,
+      long[] submittedIds) {
+    if (isCorrect) {
+      log.info("Attempt {} completed successfully on attempt number {}", attemptId, attemptCount);
+    } else {
+      log.info("Attempt {} incorrect, now on attempt number {}", attemptId, attemptCount);
+    }
+    difficultyRatings.record(answerKey.correctOrder(), submittedIds);
+
+    return new SubmitAttemptResponse(
+        isCorrect,
+        isCorrect ? 0 : attemptCount - 1,
+        attemptCount,
+        gameSlug,
+        isCorrect ? "Congratulations!!" : "Try again!!",
+        null);
+  }
 
-      // Check if order is correct
-      boolean isCorrect = isOrderCorrect(request.getOrderedMilestoneIds(), correctGameMilestones);
+  /**
+   * Submits an attempt played without a row. An incorrect submission re-issues the token with
+   * the next attempt number; a correct one stores the attempt, already completed.
+   */
+  private SubmitAttemptResponse submitWithToken(SubmitAttemptRequest request) {
+    AttemptToken token = attemptTokens.verify(request.getAttemptToken());
+    long attemptId = request.getAttemptId();
+    if (token.attemptId() != attemptId) {
+      throw new InvalidAttemptTokenException(
+          "Attempt token does not belong to attempt " + attemptId);
+    }
 
-      String message = "Try again!!";
+    long[] submittedIds = request.getOrderedMilestoneIds();
+    AnswerKey answerKey = gameContents.get(token.gameSlug(), SUBMIT_ATTEMPT).answerKey();
+    boolean isCorrect = answerKey.check(submittedIds);
 
+    if (!attemptTokens.spend(token)) {
+      // Accepting a replayed incorrect submission would let the player reset the count
       if (isCorrect) {
-        attempt.setStatus(com.milestonemania.model.enums.AttemptStatus.COMPLETED);
-        attempt.setCompletedAt(LocalDateTime.now());
-        message = "Congratulations!!";
-        log.info(
-            "Attempt {} completed successfully on attempt number {}",
-            attempt.getId(),
-            attempt.getAttemptCount());
-      } else {
-        attempt.setAttemptCount(attempt.getAttemptCount() + 1);
-        log.info(
-            "Attempt {} incorrect, now on attempt number {}",
-            attempt.getId(),
-            attempt.getAttemptCount());
+        return alreadyCompleted(attemptId, true);
       }
+      throw new InvalidAttemptStateException(
+          "Attempt token for attempt number " + token.attemptCount() + " was already submitted");
+    }
 
-      gameAttemptRepository.save(attempt);
-
+    if (isCorrect) {
+      CompletedAttempt completed =
+          new CompletedAttempt(
+              attemptId,
+              token.gameId(),
+              token.gameSlug(),
+              token.playerName(),
+              token.attemptCount(),
+              token.startedAt(),
+              LocalDateTime.now());
+      if (!attemptSubmissionRepository.insertCompleted(completed)) {
+        return alreadyCompleted(attemptId, true);
+      }
+      log.info(
+          "Attempt {} completed successfully on attempt number {}",
+          attemptId,
+          token.attemptCount());
+      difficultyRatings.record(answerKey.correctOrder(), submittedIds);
       return new SubmitAttemptResponse(
-          isCorrect,
-          isCorrect ? 0 : attempt.getAttemptCount() - 1,
-          attempt.getAttemptCount(),
-          attempt.getGame().getSlug(),
-          message);
-
-    } catch (OptimisticLockingFailureException e) {
-      log.warn("Optimistic locking failure for attempt {}, retry required", request.getAttemptId());
-      throw new InvalidAttemptStateException(
-          "Attempt was modified by another request, please retry", e);
+          true, 0, token.attemptCount(), token.gameSlug(), "Congratulations!!", null);
     }
+
+    AttemptToken next = token.next();
+    log.info("Attempt {} incorrect, now on attempt number {}", attemptId, next.attemptCount());
+    difficultyRatings.record(answerKey.correctOrder(), submittedIds);
+    return new SubmitAttemptResponse(
+        false,
+        next.attemptCount() - 1,
+        next.attemptCount(),
+        token.gameSlug(),
+        "Try again!!",
+        attemptTokens.issue(next));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public AttemptStatusDto getAttemptStatus(long attemptId) {
+    Optional<AttemptSession> session = attemptSessions.find(attemptId);
+    if (session.isPresent()) {
+      AttemptSession current = session.get();
+      return new AttemptStatusDto(
+          attemptId,
+          current.gameSlug(),
+          current.isCompleted() ? AttemptStatus.COMPLETED : AttemptStatus.IN_PROGRESS,
+          current.attemptCount());
+    }
+
+    AttemptSubmissionContext context =
+        attemptSubmissionRepository
+            .findContext(attemptId)
+            .orElseThrow(
+                () -> new AttemptNotFoundException("Attempt not found with ID: " + attemptId));
+    return new AttemptStatusDto(
+        attemptId, context.gameSlug(), mapAttemptStatus(context.status()), context.attemptCount());
   }
 
   @Override
-  @Transactional(readOnly = true)
+  // A cache hit needs no connection; a miss reads in the repository's own transaction
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public GameDto getGameBySlug(String slug) {
     log.info("Retrieving game by slug: {}", slug);
 
-    Game game =
-        gameRepository
-            .findBySlug(slug)
-            .orElseThrow(() -> new GameNotFoundException("Game not found with slug: " + slug));
-
-    return mapToGameDto(game);
+    GameContent content = gameContents.get(slug, GET_GAME);
+    return new GameDto(
+        content.gameId(), slug, content.name(), content.createdAt(), content.milestones());
   }
 
-  private Game createGameWithUniqueSlug(List<Milestone> milestones) {
-    for (int attempt = 0; attempt < MAX_SLUG_GENERATION_ATTEMPTS; attempt++) {
-      try {
-        String slug = slugGenerator.generateSlug();
-
-        if (gameRepository.existsBySlug(slug)) {
-          log.debug("Slug {} already exists, generating new one", slug);
-          continue;
-        }
-
-        Game game = new Game();
-        game.setSlug(slug);
-        game.setName("Timeline Challenge: " + slug);
-        game.setCreatedAt(LocalDateTime.now());
-
-        game = gameRepository.save(game);
-
-        // Create game milestones with correct order
-        for (int i = 0; i < milestones.size(); i++) {
-          GameMilestone gameMilestone = new GameMilestone();
-          gameMilestone.setGame(game);
-          gameMilestone.setMilestone(milestones.get(i));
-          gameMilestone.setCorrectOrder(i + 1);
-          gameMilestoneRepository.save(gameMilestone);
-        }
-
-        log.info("Created game with slug: {}", slug);
-        return game;
-
-      } catch (DataIntegrityViolationException e) {
-        log.debug("Slug generation attempt {} failed due to collision", attempt + 1);
-        if (attempt == MAX_SLUG_GENERATION_ATTEMPTS - 1) {
-          throw new RuntimeException(
-              "Failed to generate unique slug after " + MAX_SLUG_GENERATION_ATTEMPTS + " attempts",
-              e);
-        }
-      }
+  private void validateOptions(GameCreationOptions options) {
+    if (options.getFromDate() != null
+        && options.getToDate() != null
+        && options.getFromDate().isAfter(options.getToDate())) {
+      throw new IllegalArgumentException(
+          "fromDate " + options.getFromDate() + " is after toDate " + options.getToDate());
     }
-
-    throw new RuntimeException("Failed to generate unique slug");
   }
 
-  private GameAttempt createGameAttempt(Game game, String playerName) {
+  /**
+   * Stores a new attempt with its start event, or with attempt tokens only assigns its ID;
+   * token attempts have no row, and no event, until completed.
+   */
+  private GameAttempt createGameAttempt(Game game, String gameSlug, String playerName) {
     GameAttempt attempt = new GameAttempt();
     attempt.setGame(game);
+    attempt.setGameSlug(gameSlug);
     attempt.setPlayerName(playerName);
     attempt.setStatus(com.milestonemania.model.enums.AttemptStatus.IN_PROGRESS);
     attempt.setAttemptCount(1);
     attempt.setCreatedAt(LocalDateTime.now());
-    attempt.setVersion(0L);
 
-    return gameAttemptRepository.save(attempt);
+    if (attemptTokens.isEnabled()) {
+      // The row is inserted on completion, under this ID
+      attempt.setId(timeOrderedIds.next());
+      return attempt;
+    }
+    GameAttempt saved = gameAttemptRepository.save(attempt);
+    outboxEventRepository.appendStarted(saved.getId(), gameSlug, playerName, saved.getCreatedAt());
+    return saved;
   }
 
-  private void validateMilestoneIds(
-      List<Long> submittedIds, List<GameMilestone> correctGameMilestones) {
-    List<Long> expectedIds =
-        correctGameMilestones.stream()
-            .map(gm -> gm.getMilestone().getId())
-            .collect(Collectors.toList());
-
-    if (!submittedIds.containsAll(expectedIds) || !expectedIds.containsAll(submittedIds)) {
-      throw new InvalidAttemptStateException(
-          "Submitted milestone IDs do not match the game milestones");
+  /** Keeps a stored attempt in memory; token attempts have no row to keep in sync. */
+  private void openSession(GameAttempt attempt, AnswerKey answerKey) {
+    if (!attemptTokens.isEnabled()) {
+      attemptSessions.open(attempt.getId(), gameSlug(attempt), answerKey);
     }
   }
 
-  private boolean isOrderCorrect(
-      List<Long> submittedIds, List<GameMilestone> correctGameMilestones) {
-    List<Long> correctOrder =
-        correctGameMilestones.stream()
-            .map(gm -> gm.getMilestone().getId())
-            .collect(Collectors.toList());
+  private String gameSlug(GameAttempt attempt) {
+    return attempt.getGameSlug() != null ? attempt.getGameSlug() : attempt.getGame().getSlug();
+  }
 
-    return submittedIds.equals(correctOrder);
+  private AttemptSubmissionContext findSubmissionContext(long attemptId) {
+    return attemptSubmissionRepository
+        .findContext(attemptId)
+        .orElseThrow(
+            () -> new AttemptNotFoundException("Active attempt not found with ID: " + attemptId));
   }
 
-  private GameAttemptDto mapToGameAttemptDto(GameAttempt attempt) {
-    List<GameMilestone> gameMilestones =
-        gameMilestoneRepository.findByGameOrderByCorrectOrder(attempt.getGame());
+  /**
+   * Answers a submission for an attempt that is no longer in progress. A repeated correct
+   * submission, e.g. a client retry or a concurrent double submit, gets the completed result.
+   */
+  private SubmitAttemptResponse alreadyCompleted(long attemptId, boolean isCorrect) {
+    AttemptSubmissionContext current = findSubmissionContext(attemptId);
+    boolean completed = current.status() == com.milestonemania.model.enums.AttemptStatus.COMPLETED;
+    if (!isCorrect || !completed) {
+      throw new AttemptNotFoundException("Active attempt not found with ID: " + attemptId);
+    }
+    return new SubmitAttemptResponse(
+        true, 0, current.attemptCount(), current.gameSlug(), "Congratulations!!", null);
+  }
 
-    List<MilestoneDto> milestoneDtos =
-        gameMilestones.stream()
-            .map(
-                gm ->
-                    new MilestoneDto(
-                        gm.getMilestone().getId(),
-                        gm.getMilestone().getTitle(),
-                        gm.getMilestone().getDescription()))
-            .collect(Collectors.toList());
+  private List<MilestoneDto> loadMilestones(long[] milestoneIds) {
+    Map<Long, MilestoneDto> milestonesById =
+        milestoneRepository
+            .findSummariesByIds(Arrays.stream(milestoneIds).boxed().collect(Collectors.toList()))
+            .stream()
+            .map(row -> new MilestoneDto(row.id(), row.title(), row.description()))
+            .collect(Collectors.toMap(MilestoneDto::getId, Function.identity()));
+    if (milestonesById.size() != milestoneIds.length) {
+      throw new GameNotFoundException("Game references milestones that no longer exist");
+    }
+    return Arrays.stream(milestoneIds).mapToObj(milestonesById::get).collect(Collectors.toList());
+  }
 
+  private GameAttemptDto mapToGameAttemptDto(GameAttempt attempt, List<MilestoneDto> milestones) {
     return new GameAttemptDto(
         attempt.getId(),
-        attempt.getGame().getSlug(),
+        gameSlug(attempt),
         attempt.getPlayerName(),
         mapAttemptStatus(attempt.getStatus()),
         attempt.getAttemptCount(),
         attempt.getCreatedAt(),
         attempt.getCompletedAt(),
-        milestoneDtos);
+        milestones,
+        attemptTokens.isEnabled() ? attemptTokens.issue(toToken(attempt)) : null);
   }
 
-  private GameDto mapToGameDto(Game game) {
-    List<GameMilestone> gameMilestones =
-        gameMilestoneRepository.findByGameOrderByCorrectOrder(game);
-
-    List<MilestoneDto> milestoneDtos =
-        gameMilestones.stream()
-            .map(
-                gm ->
-                    new MilestoneDto(
-                        gm.getMilestone().getId(),
-                        gm.getMilestone().getTitle(),
-                        gm.getMilestone().getDescription()))
-            .collect(Collectors.toList());
-
-    return new GameDto(
-        game.getId(), game.getSlug(), game.getName(), game.getCreatedAt(), milestoneDtos);
+  private AttemptToken toToken(GameAttempt attempt) {
+    return new AttemptToken(
+        attempt.getId(),
+        attempt.getGame() != null ? attempt.getGame().getId() : null,
+        gameSlug(attempt),
+        attempt.getPlayerName(),
+        attempt.getCreatedAt(),
+        attempt.getAttemptCount());
   }
 
   private AttemptStatus mapAttemptStatus(
@@ -0,0 +1,257 @@
+package com.milestonemania.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.model.entity.IdempotencyRecord;
+import com.milestonemania.repository.IdempotencyRecordRepository;
+import com.milestonemania.service.api.IdempotencyService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Implementation of IdempotencyService backed by a bounded in-memory cache and the
+ * {@code idempotency_records} table.
+ * <p>
+ * The cache holds up to {@code max-cached-responses} responses for {@code ttl}, evicting the
+ * oldest first. Each entry is a future, so a duplicate arriving while the first request runs
+ * waits for its result instead of running again. Responses are also written to
+ * {@code idempotency_records}, which answers retries after a restart or an eviction and is
+ * purged of records older than {@code ttl}. Duplicates running concurrently on different
+ * instances may both execute; the table then keeps the first response stored.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+  private static final int MAX_KEY_LENGTH = 100;
+  private static final long MAX_WAIT_SECONDS = 30;
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate newTransaction;
+  private final boolean persistent;
+  private final Duration ttl;
+  private final int maxCachedResponses;
+  private final Map<RequestId, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  private final Counter replayCounter;
+
+  public IdempotencyServiceImpl(
+      IdempotencyRecordRepository idempotencyRecordRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.idempotency.persistent:true}") boolean persistent,
+      @Value("${milestone-mania.idempotency.ttl:PT24H}") Duration ttl,
+      @Value("${milestone-mania.idempotency.max-cached-responses:10000}") int maxCachedResponses) {
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.persistent = persistent;
+    this.ttl = ttl;
+    this.maxCachedResponses = maxCachedResponses;
+
+    this.replayCounter =
+        Counter.builder("idempotency.replays")
+            .description("Requests answered with the response of an earlier request")
+            .register(meterRegistry);
+    Gauge.builder("idempotency.cached", entries, Map::size)
+        .description("Idempotent responses held in memory")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String execute(
+      String idempotencyKey, String endpoint, String request, Supplier<String> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+    }
+
+    RequestId id = new RequestId(idempotencyKey, endpoint);
+    String requestHash = sha256(request);
+    while (true) {
+      Entry existing = entries.get(id);
+      if (existing != null && existing.isExpired(ttl)) {
+        entries.remove(id, existing);
+        continue;
+      }
+      if (existing != null) {
+        checkSameRequest(existing.requestHash(), requestHash);
+        replayCounter.increment();
+        return await(existing);
+      }
+
+      Entry created = new Entry(id, requestHash, System.nanoTime(), new CompletableFuture<>());
+      if (entries.putIfAbsent(id, created) == null) {
+        insertionOrder.add(created);
+        evict();
+        return run(created, action);
+      }
+    }
+  }
+
+  /** Deletes stored responses older than the TTL. */
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.idempotency.purge-interval:PT1H}",
+      initialDelayString = "${milestone-mania.idempotency.purge-interval:PT1H}")
+  public void purge() {
+    if (!persistent) {
+      return;
+    }
+    Integer purged =
+        newTransaction.execute(
+            status ->
+                idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+    if (purged != null && purged > 0) {
+      log.debug("Purged {} idempotency records", purged);
+    }
+  }
+
+  private String run(Entry entry, Supplier<String> action) {
+    try {
+      Optional<IdempotencyRecord> stored = findStored(entry.id());
+      String response;
+      if (stored.isPresent()) {
+        checkSameRequest(stored.get().getRequestHash(), entry.requestHash());
+        replayCounter.increment();
+        response = stored.get().getResponseBody();
+      } else {
+        response = action.get();
+        store(entry, response);
+      }
+      entry.response().complete(response);
+      return response;
+    } catch (RuntimeException e) {
+      // Not remembered, so the client can retry; duplicates waiting meanwhile fail alike
+      entries.remove(entry.id(), entry);
+      entry.response().completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private Optional<IdempotencyRecord> findStored(RequestId id) {
+    if (!persistent) {
+      return Optional.empty();
+    }
+    LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+    return readOnlyTransaction
+        .execute(
+            status ->
+                idempotencyRecordRepository.findById(
+                    new IdempotencyRecord.RecordId(id.idempotencyKey(), id.endpoint())))
+        .filter(record -> record.getCreatedAt().isAfter(cutoff));
+  }
+
+  private void store(Entry entry, String response) {
+    if (!persistent) {
+      return;
+    }
+    IdempotencyRecord record =
+        new IdempotencyRecord(
+            entry.id().idempotencyKey(),
+            entry.id().endpoint(),
+            entry.requestHash(),
+            response,
+            LocalDateTime.now());
+    try {
+      newTransaction.executeWithoutResult(
+          status -> {
+            if (!idempotencyRecordRepository.existsById(
+                new IdempotencyRecord.RecordId(record.getIdempotencyKey(), record.getEndpoint()))) {
+              idempotencyRecordRepository.save(record);
+            }
+          });
+    } catch (RuntimeException e) {
+      // The request itself succeeded; only a retry after eviction or restart would repeat it
+      log.warn(
+          "Could not store response for idempotency key {}: {}",
+          entry.id().idempotencyKey(),
+          e.getMessage());
+    }
+  }
+
+  private String await(Entry entry) {
+    try {
+      return entry.response().get(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the original request", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Original request failed", e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Original request did not finish in time", e);
+    }
+  }
+
+  /** Drops the oldest entries while the cache is over its size or they are past the TTL. */
+  private void evict() {
+    for (Entry oldest = insertionOrder.peek();
+        oldest != null && (entries.size() > maxCachedResponses || oldest.isExpired(ttl));
+        oldest = insertionOrder.peek()) {
+      if (insertionOrder.remove(oldest)) {
+        entries.remove(oldest.id(), oldest);
+      }
+    }
+  }
+
+  private static void checkSameRequest(String storedHash, String requestHash) {
+    if (!storedHash.equals(requestHash)) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key was already used for a different request");
+    }
+  }
+
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record RequestId(String idempotencyKey, String endpoint) {}
+
+  private record Entry(
+      RequestId id, String requestHash, long createdNanos, CompletableFuture<String> response) {
+
+    boolean isExpired(Duration ttl) {
+      return System.nanoTime() - createdNanos > ttl.toNanos();
+    }
+  }
+}
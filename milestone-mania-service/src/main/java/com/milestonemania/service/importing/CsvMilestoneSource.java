@@ -0,0 +1,122 @@
+package com.milestonemania.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.milestonemania.repository.importing.NewMilestone;
+
+/**
+ * Reads milestones from CSV (RFC 4180: comma-separated, optionally double-quoted fields with
+ * {@code ""} as an escaped quote, quoted fields may span lines).
+ * <p>
+ * The header row names the columns: {@code title} and {@code date} (or {@code actual_date})
+ * are required, {@code description} and {@code tags} (separated by {@code |}) are optional,
+ * others are ignored. Blank lines are skipped.
+ */
+final class CsvMilestoneSource implements MilestoneSource {
+
+  /** Longest accepted field; guards memory against an unterminated quote. */
+  private static final int MAX_FIELD_LENGTH = 65_536;
+
+  private final Reader reader;
+  private final int titleColumn;
+  private final int descriptionColumn;
+  private final int dateColumn;
+  private final int tagsColumn;
+  private long position;
+
+  CsvMilestoneSource(Reader reader) throws IOException {
+    this.reader = reader;
+    List<String> header = readRecord();
+    if (header == null) {
+      throw new IOException("CSV input is empty");
+    }
+    List<String> columns = header.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+    this.titleColumn = columns.indexOf("title");
+    this.descriptionColumn = columns.indexOf("description");
+    this.dateColumn =
+        columns.contains("date") ? columns.indexOf("date") : columns.indexOf("actual_date");
+    this.tagsColumn = columns.indexOf("tags");
+    if (titleColumn < 0 || dateColumn < 0) {
+      throw new IOException("CSV header needs title and date columns, got " + columns);
+    }
+  }
+
+  @Override
+  public NewMilestone next() throws IOException {
+    List<String> fields;
+    do {
+      fields = readRecord();
+      if (fields == null) {
+        return null;
+      }
+    } while (fields.size() == 1 && fields.get(0).isBlank());
+
+    position++;
+    String tags = field(fields, tagsColumn);
+    return MilestoneSource.milestone(
+        field(fields, titleColumn),
+        field(fields, descriptionColumn),
+        field(fields, dateColumn),
+        tags == null ? List.of() : Arrays.asList(tags.split("\\|")));
+  }
+
+  @Override
+  public long position() {
+    return position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private static String field(List<String> fields, int column) {
+    return column >= 0 && column < fields.size() ? fields.get(column) : null;
+  }
+
+  /** Reads the fields of the next record, or returns null at the end of the input. */
+  private List<String> readRecord() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IOException("Unterminated quoted field in CSV record " + (position + 1));
+        }
+        if (c == '"') {
+          c = reader.read();
+          if (c != '"') {
+            // Closing quote; the character after it is handled unquoted
+            quoted = false;
+            continue;
+          }
+        }
+        field.append((char) c);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == -1) {
+        fields.add(field.toString());
+        return fields;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      if (field.length() > MAX_FIELD_LENGTH) {
+        throw new IOException("CSV field longer than " + MAX_FIELD_LENGTH + " characters");
+      }
+      c = reader.read();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.milestonemania.service.importing;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a {@link MilestoneImporter} run.
+ *
+ * @param resumedAt records skipped because an earlier run had committed them
+ * @param read records read by this run, valid or not
+ * @param inserted new milestones written
+ * @param duplicates records matching a stored milestone or an earlier record
+ * @param invalid records skipped as malformed
+ * @param elapsed wall-clock time of the run
+ */
+public record ImportResult(
+    long resumedAt, long read, long inserted, long duplicates, long invalid, Duration elapsed) {
+
+  /** Returns records read per second of the whole run. */
+  public double rowsPerSecond() {
+    long nanos = Math.max(1, elapsed.toNanos());
+    return read * 1e9 / nanos;
+  }
+}
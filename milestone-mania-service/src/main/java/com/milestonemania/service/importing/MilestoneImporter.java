@@ -0,0 +1,258 @@
+package com.milestonemania.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.model.entity.ImportCheckpoint;
+import com.milestonemania.repository.ImportCheckpointRepository;
+import com.milestonemania.repository.importing.MilestoneBatchWriter;
+import com.milestonemania.repository.importing.NewMilestone;
+import com.milestonemania.service.catalog.MilestoneCatalog;
+
+/**
+ * Imports milestones from CSV or NDJSON files of any size.
+ * <p>
+ * Records are streamed from the file, so memory use does not grow with its size. They are
+ * written in JDBC batches of {@code batch-size}, each preceded by one query for the content
+ * hashes already stored, so milestones with the same normalized title and date as a stored one
+ * or an earlier record are skipped. Every {@code transaction-size} records the transaction
+ * commits together with an {@link ImportCheckpoint} of the records processed; a failed or
+ * interrupted import started again on the same file resumes after the last checkpoint. The
+ * checkpoint is keyed by the file's path, size and modification time, so a different or changed
+ * file at the same path is imported from the start, and it is deleted with the last chunk, so
+ * running a finished import again reads the whole file and finds its records stored.
+ * <p>
+ * The in-memory catalog is refreshed once the import is done, not while it runs.
+ */
+@Component
+public class MilestoneImporter {
+
+  private static final Logger log = LoggerFactory.getLogger(MilestoneImporter.class);
+  private static final int MAX_LOGGED_INVALID_RECORDS = 10;
+
+  private final MilestoneBatchWriter milestoneBatchWriter;
+  private final ImportCheckpointRepository importCheckpointRepository;
+  private final MilestoneCatalog milestoneCatalog;
+  private final TransactionTemplate transaction;
+  private final int batchSize;
+  private final int transactionSize;
+
+  public MilestoneImporter(
+      MilestoneBatchWriter milestoneBatchWriter,
+      ImportCheckpointRepository importCheckpointRepository,
+      MilestoneCatalog milestoneCatalog,
+      PlatformTransactionManager transactionManager,
+      @Value("${milestone-mania.milestone-import.batch-size:500}") int batchSize,
+      @Value("${milestone-mania.milestone-import.transaction-size:10000}") int transactionSize) {
+    if (batchSize < 1 || transactionSize < batchSize) {
+      throw new IllegalArgumentException(
+          "Import batch size must be positive and at most the transaction size");
+    }
+    this.milestoneBatchWriter = milestoneBatchWriter;
+    this.importCheckpointRepository = importCheckpointRepository;
+    this.milestoneCatalog = milestoneCatalog;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.transactionSize = transactionSize;
+  }
+
+  /**
+   * Imports a file, resuming after the last checkpoint of an interrupted run on the same,
+   * unchanged file.
+   * The format follows the extension: {@code .csv}, or {@code .ndjson} / {@code .jsonl}.
+   *
+   * @param file the file
+   * @return counts and duration of this run
+   * @throws IOException if the file cannot be read or is malformed beyond single records
+   */
+  public ImportResult importFile(Path file) throws IOException {
+    String source = sourceOf(file);
+    long start = System.nanoTime();
+    backfillContentHashes();
+
+    long resumeAt =
+        importCheckpointRepository.findById(source).map(ImportCheckpoint::getPosition).orElse(0L);
+    Counts counts = new Counts();
+    try (MilestoneSource in = open(file)) {
+      if (resumeAt > 0) {
+        log.info("Resuming import of {} after record {}", file, resumeAt);
+        while (in.position() < resumeAt && skip(in)) {}
+      }
+
+      boolean more = true;
+      while (more) {
+        try {
+          more = transaction.execute(status -> importChunk(in, source, counts));
+        } catch (UncheckedIOException e) {
+          throw e.getCause();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(
+            "Imported {} records of {}: {} new, {} duplicates, {} invalid, {} rows/s",
+            in.position(),
+            file.getFileName(),
+            counts.inserted,
+            counts.duplicates,
+            counts.invalid,
+            Math.round(counts.read / seconds));
+      }
+    }
+
+    if (counts.inserted > 0 && milestoneCatalog.isEnabled()) {
+      milestoneCatalog.refresh();
+    }
+    return new ImportResult(
+        resumeAt,
+        counts.read,
+        counts.inserted,
+        counts.duplicates,
+        counts.invalid,
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Imports records until {@code transaction-size} of them are processed or the input ends,
+   * then stores the checkpoint, or deletes it once the input ended. Runs in one transaction.
+   *
+   * @return true if the input has more records
+   */
+  private boolean importChunk(MilestoneSource in, String source, Counts counts) {
+    long chunkEnd = in.position() + transactionSize;
+    boolean more = true;
+    while (more && in.position() < chunkEnd) {
+      Map<Long, NewMilestone> batch = new LinkedHashMap<>();
+      long batchEnd = Math.min(chunkEnd, in.position() + batchSize);
+      while (in.position() < batchEnd) {
+        NewMilestone milestone = read(in, counts);
+        if (milestone == null && counts.endOfInput) {
+          more = false;
+          break;
+        }
+        if (milestone != null && batch.putIfAbsent(milestone.contentHash(), milestone) != null) {
+          counts.duplicates++;
+        }
+      }
+      writeBatch(batch, counts);
+    }
+    if (more) {
+      importCheckpointRepository.save(
+          new ImportCheckpoint(source, in.position(), LocalDateTime.now()));
+    } else {
+      importCheckpointRepository.deleteById(source);
+    }
+    return more;
+  }
+
+  private void writeBatch(Map<Long, NewMilestone> batch, Counts counts) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    for (Long hash : milestoneBatchWriter.findExistingHashes(batch.keySet())) {
+      batch.remove(hash);
+      counts.duplicates++;
+    }
+    if (!batch.isEmpty()) {
+      milestoneBatchWriter.insertMilestones(new ArrayList<>(batch.values()));
+      counts.inserted += batch.size();
+    }
+  }
+
+  /** Reads a record, counting it; returns null for an invalid record or the end of input. */
+  private NewMilestone read(MilestoneSource in, Counts counts) {
+    try {
+      NewMilestone milestone = in.next();
+      if (milestone == null) {
+        counts.endOfInput = true;
+      } else {
+        counts.read++;
+      }
+      return milestone;
+    } catch (IllegalArgumentException e) {
+      counts.read++;
+      counts.invalid++;
+      if (counts.invalid <= MAX_LOGGED_INVALID_RECORDS) {
+        log.warn("Skipping invalid record {}: {}", in.position(), e.getMessage());
+      }
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Moves past a record committed by an earlier run; returns false at the end of input. */
+  private static boolean skip(MilestoneSource in) throws IOException {
+    try {
+      return in.next() != null;
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
+  }
+
+  /** Fills in content hashes of milestones written before hashing, in bounded transactions. */
+  private void backfillContentHashes() {
+    int total = 0;
+    int updated;
+    do {
+      updated =
+          transaction.execute(status -> milestoneBatchWriter.backfillContentHashes(batchSize));
+      total += updated;
+    } while (updated == batchSize);
+    if (total > 0) {
+      log.info("Computed content hashes of {} existing milestones", total);
+    }
+  }
+
+  private static MilestoneSource open(Path file) throws IOException {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    try {
+      if (name.endsWith(".csv")) {
+        return new CsvMilestoneSource(reader);
+      }
+      if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+        return new NdjsonMilestoneSource(reader);
+      }
+    } catch (IOException | RuntimeException e) {
+      reader.close();
+      throw e;
+    }
+    reader.close();
+    throw new IllegalArgumentException(
+        "Unsupported import format, expected .csv, .ndjson or .jsonl: " + file);
+  }
+
+  private static String sourceOf(Path file) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    String identity = "#" + attributes.size() + "-" + attributes.lastModifiedTime().toMillis();
+    String path = file.toAbsolutePath().normalize().toString();
+    int room = 255 - identity.length();
+    // Keeps the distinguishing end of overly long paths
+    return (path.length() <= room ? path : path.substring(path.length() - room)) + identity;
+  }
+
+  private static final class Counts {
+    long read;
+    long inserted;
+    long duplicates;
+    long invalid;
+    boolean endOfInput;
+  }
+}
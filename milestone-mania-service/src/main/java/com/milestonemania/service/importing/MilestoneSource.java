@@ -0,0 +1,89 @@
+package com.milestonemania.service.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import com.milestonemania.model.entity.Milestone;
+import com.milestonemania.repository.importing.NewMilestone;
+
+/**
+ * Reads milestone records one at a time from an import file, holding at most one record in
+ * memory.
+ */
+interface MilestoneSource extends Closeable {
+
+  int MAX_TITLE_LENGTH = 255;
+  int MAX_DESCRIPTION_LENGTH = 1000;
+  int MAX_TAG_LENGTH = 50;
+
+  /**
+   * Reads the next record.
+   *
+   * @return the milestone, or null at the end of the input
+   * @throws IllegalArgumentException if the record is invalid; the source has moved past it
+   * @throws IOException if the input cannot be read or parsed any further
+   */
+  NewMilestone next() throws IOException;
+
+  /** Returns the number of records read so far, valid or not. */
+  long position();
+
+  /**
+   * Validates the fields of a record and builds the milestone.
+   *
+   * @param title the title
+   * @param description the description; may be null or blank
+   * @param date the date as {@code yyyy-MM-dd}
+   * @param tags the tag names; may be empty
+   * @return the milestone with its content hash
+   * @throws IllegalArgumentException if a field is missing, malformed or too long
+   */
+  static NewMilestone milestone(
+      String title, String description, String date, Collection<String> tags) {
+    if (title == null || title.isBlank()) {
+      throw new IllegalArgumentException("Missing title");
+    }
+    if (date == null || date.isBlank()) {
+      throw new IllegalArgumentException("Missing date of \"" + title + "\"");
+    }
+    String trimmedTitle = title.trim();
+    if (trimmedTitle.length() > MAX_TITLE_LENGTH) {
+      throw new IllegalArgumentException("Title longer than " + MAX_TITLE_LENGTH + " characters");
+    }
+    String trimmedDescription =
+        description == null || description.isBlank() ? null : description.trim();
+    if (trimmedDescription != null && trimmedDescription.length() > MAX_DESCRIPTION_LENGTH) {
+      throw new IllegalArgumentException(
+          "Description of \"" + trimmedTitle + "\" longer than " + MAX_DESCRIPTION_LENGTH);
+    }
+    LocalDate actualDate;
+    try {
+      actualDate = LocalDate.parse(date.trim());
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid date of \"" + trimmedTitle + "\": " + date);
+    }
+
+    List<String> tagNames = new ArrayList<>(tags.size());
+    for (String tag : tags) {
+      String name = tag.trim().toLowerCase(Locale.ROOT);
+      if (name.length() > MAX_TAG_LENGTH) {
+        throw new IllegalArgumentException("Tag longer than " + MAX_TAG_LENGTH + ": " + name);
+      }
+      if (!name.isEmpty() && !tagNames.contains(name)) {
+        tagNames.add(name);
+      }
+    }
+    return new NewMilestone(
+        trimmedTitle,
+        trimmedDescription,
+        actualDate,
+        Milestone.contentHashOf(trimmedTitle, actualDate),
+        tagNames);
+  }
+}
@@ -0,0 +1,93 @@
+package com.milestonemania.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.milestonemania.repository.importing.NewMilestone;
+
+/**
+ * Reads milestones from newline-delimited JSON, one object per line, e.g.
+ * {@code {"title": "Moon Landing", "date": "1969-07-20", "tags": ["space"]}}.
+ * <p>
+ * Objects are read token by token from one streaming parser, so neither the input nor a line
+ * is buffered as a whole. {@code date} may also be named {@code actualDate} or
+ * {@code actual_date}; {@code tags} may be an array or a {@code |}-separated string. Other
+ * fields are ignored.
+ */
+final class NdjsonMilestoneSource implements MilestoneSource {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final JsonParser parser;
+  private long position;
+
+  NdjsonMilestoneSource(Reader reader) throws IOException {
+    this.parser = JSON.createParser(reader);
+  }
+
+  @Override
+  public NewMilestone next() throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null) {
+      return null;
+    }
+    position++;
+    if (token != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      throw new IllegalArgumentException("Expected a JSON object in record " + position);
+    }
+
+    String title = null;
+    String description = null;
+    String date = null;
+    List<String> tags = List.of();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (name) {
+        case "title" -> title = parser.getValueAsString();
+        case "description" -> description = parser.getValueAsString();
+        case "date", "actualDate", "actual_date" -> date = parser.getValueAsString();
+        case "tags" -> tags = readTags(value);
+        default -> parser.skipChildren();
+      }
+    }
+    return MilestoneSource.milestone(title, description, date, tags);
+  }
+
+  @Override
+  public long position() {
+    return position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  private List<String> readTags(JsonToken value) throws IOException {
+    if (value == JsonToken.VALUE_STRING) {
+      return Arrays.asList(parser.getText().split("\\|"));
+    }
+    if (value != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return List.of();
+    }
+    List<String> tags = new ArrayList<>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      if (parser.currentToken() == JsonToken.VALUE_STRING) {
+        tags.add(parser.getText());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return tags;
+  }
+}
@@ -0,0 +1,177 @@
+package com.milestonemania.service.outbox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.model.id.TimeOrderedIds;
+import com.milestonemania.repository.outbox.OutboxEntry;
+import com.milestonemania.repository.outbox.OutboxEventRepository;
+import com.milestonemania.service.api.event.GameEvent;
+import com.milestonemania.service.api.event.GameEventSubscriber;
+import com.milestonemania.service.api.event.GameEventType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Hands game events from the outbox to the {@link GameEventSubscriber} beans.
+ * <p>
+ * Every {@code poll-interval} the relay pages through the outbox in ID order, {@code batch-size}
+ * events at a time: it delivers a page, deletes the delivered events with one statement, and
+ * reads the next page after the last ID of this one until a page comes back short. Events are
+ * deleted only after delivery, so a crash in between delivers them again. When a subscriber
+ * fails, the event stays in the outbox and later events of its game are skipped for the rest of
+ * the poll, keeping each game's events in order. Since the next page starts after the events left
+ * behind, however many of them keep failing, the events of other games behind them are still
+ * delivered in the same poll.
+ * <p>
+ * Delivery runs outside the transactions of the attempt changes, so slow subscribers do not
+ * hold attempt rows or pooled connections. The relay assumes it runs on one instance: on
+ * others, {@code milestone-mania.outbox.relay-enabled} should be off, or events would be
+ * delivered once per instance.
+ */
+@Component
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectProvider<GameEventSubscriber> subscribers;
+  private final boolean enabled;
+  private final int batchSize;
+
+  private final DistributionSummary batchSizes;
+  private final Counter dispatchedCounter;
+  private final Counter failureCounter;
+
+  /** Write time of the oldest event seen by the last poll, or 0 if the outbox was empty. */
+  private volatile long oldestPendingMillis;
+
+  public OutboxRelay(
+      OutboxEventRepository outboxEventRepository,
+      ObjectProvider<GameEventSubscriber> subscribers,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.outbox.relay-enabled:true}") boolean relayEnabled,
+      @Value("${milestone-mania.outbox.batch-size:100}") int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Outbox batch size must be positive");
+    }
+    this.outboxEventRepository = outboxEventRepository;
+    this.subscribers = subscribers;
+    this.enabled = outboxEventRepository.isEnabled() && relayEnabled;
+    this.batchSize = batchSize;
+
+    this.batchSizes =
+        DistributionSummary.builder("outbox.relay.batch.size")
+            .description("Game events read from the outbox per batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.dispatchedCounter =
+        Counter.builder("outbox.relay.dispatched")
+            .description("Game events delivered to all subscribers and removed from the outbox")
+            .register(meterRegistry);
+    this.failureCounter =
+        Counter.builder("outbox.relay.failures")
+            .description("Game event deliveries a subscriber failed, to be retried")
+            .register(meterRegistry);
+    TimeGauge.builder("outbox.relay.lag", this, TimeUnit.MILLISECONDS, OutboxRelay::lagMillis)
+        .description("Age of the oldest game event waiting in the outbox")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (enabled) {
+      log.info(
+          "Relaying game events to {} subscribers in batches of up to {}",
+          subscribers.stream().count(),
+          batchSize);
+    }
+  }
+
+  /** Delivers the events in the outbox, paging past those that stay in it. */
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.outbox.poll-interval:PT0.5S}",
+      initialDelayString = "${milestone-mania.outbox.poll-interval:PT0.5S}")
+  public void relay() {
+    if (!enabled) {
+      return;
+    }
+    Set<String> heldBackGames = new HashSet<>();
+    long afterId = Long.MIN_VALUE;
+    List<OutboxEntry> batch;
+    do {
+      batch = outboxEventRepository.findOldest(afterId, batchSize);
+      if (afterId == Long.MIN_VALUE) {
+        oldestPendingMillis = batch.isEmpty() ? 0 : TimeOrderedIds.epochMillisOf(batch.get(0).id());
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+      batchSizes.record(batch.size());
+      dispatch(batch, heldBackGames);
+      afterId = batch.get(batch.size() - 1).id();
+    } while (batch.size() == batchSize);
+  }
+
+  /** Delivers a batch and removes the delivered events. */
+  private void dispatch(List<OutboxEntry> batch, Set<String> heldBackGames) {
+    List<GameEventSubscriber> targets = subscribers.orderedStream().toList();
+    List<Long> delivered = new ArrayList<>(batch.size());
+    for (OutboxEntry entry : batch) {
+      if (heldBackGames.contains(entry.gameSlug())) {
+        continue;
+      }
+      GameEvent event = toEvent(entry);
+      try {
+        targets.forEach(subscriber -> subscriber.onEvent(event));
+        delivered.add(entry.id());
+      } catch (RuntimeException e) {
+        failureCounter.increment();
+        heldBackGames.add(entry.gameSlug());
+        log.warn(
+            "Delivery of {} event {} of game {} failed, retrying later: {}",
+            entry.type(),
+            entry.id(),
+            entry.gameSlug(),
+            e.getMessage());
+      }
+    }
+    if (delivered.isEmpty()) {
+      return;
+    }
+    outboxEventRepository.delete(delivered);
+    dispatchedCounter.increment(delivered.size());
+  }
+
+  private double lagMillis() {
+    long oldest = oldestPendingMillis;
+    return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+  }
+
+  private static GameEvent toEvent(OutboxEntry entry) {
+    return GameEvent.builder()
+        .eventId(entry.id())
+        .type(GameEventType.valueOf(entry.type().name()))
+        .gameSlug(entry.gameSlug())
+        .attemptId(entry.attemptId())
+        .playerName(entry.playerName())
+        .attemptCount(entry.attemptCount())
+        .occurredAt(entry.occurredAt())
+        .build();
+  }
+}
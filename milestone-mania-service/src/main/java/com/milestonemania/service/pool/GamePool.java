@@ -0,0 +1,212 @@
+package com.milestonemania.service.pool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.service.impl.GameFactory;
+import com.milestonemania.service.impl.GameFactory.CreatedGame;
+import com.milestonemania.service.seen.SeenMilestones;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded pool of pre-generated games.
+ * <p>
+ * A single background producer keeps the pool between a low and a high watermark, so
+ * {@code createNewGame} normally only has to dequeue a game and insert the attempt. When
+ * the pool is empty, callers fall back to creating a game synchronously.
+ * <p>
+ * Pooled games live only in memory; games left in the pool at shutdown remain valid,
+ * shareable games that simply never receive an attempt.
+ */
+@Component
+public class GamePool {
+
+  private static final Logger log = LoggerFactory.getLogger(GamePool.class);
+  private static final int MAX_CLAIM_PROBES = 4;
+
+  private final GameFactory gameFactory;
+  private final boolean enabled;
+  private final int lowWatermark;
+  private final int highWatermark;
+  private final Duration refillInterval;
+  private final BlockingQueue<PooledGame> games;
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  private final ScheduledExecutorService producer;
+
+  private final Counter producedCounter;
+  private final Counter emptyCounter;
+
+  public GamePool(
+      GameFactory gameFactory,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.game-pool.enabled:true}") boolean enabled,
+      @Value("${milestone-mania.procedural-games.enabled:false}") boolean proceduralGames,
+      @Value("${milestone-mania.game-pool.low-watermark:20}") int lowWatermark,
+      @Value("${milestone-mania.game-pool.high-watermark:100}") int highWatermark,
+      @Value("${milestone-mania.game-pool.refill-interval:PT1S}") Duration refillInterval) {
+    if (lowWatermark < 0 || highWatermark < 1 || lowWatermark > highWatermark) {
+      throw new IllegalArgumentException(
+          "Game pool watermarks must satisfy 0 <= low <= high and high >= 1");
+    }
+    this.gameFactory = gameFactory;
+    // Procedural games need no game rows, so there is nothing to pre-generate
+    this.enabled = enabled && !proceduralGames;
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    this.refillInterval = refillInterval;
+    this.games = new ArrayBlockingQueue<>(highWatermark);
+    this.producer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "game-pool-producer");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    Gauge.builder("game.pool.depth", games, BlockingQueue::size)
+        .description("Number of pre-generated games waiting to be claimed")
+        .register(meterRegistry);
+    this.producedCounter =
+        Counter.builder("game.pool.produced")
+            .description("Games pre-generated by the pool producer")
+            .register(meterRegistry);
+    this.emptyCounter =
+        Counter.builder("game.pool.empty")
+            .description("Claims that found the pool empty and fell back to synchronous creation")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Claims a pre-generated game if one is available.
+   *
+   * @return the claimed game, or empty if the pool is disabled or ran empty
+   */
+  public Optional<PooledGame> claim() {
+    return claim(SeenMilestones.NOTHING_SEEN);
+  }
+
+  /**
+   * Claims a pre-generated game, preferring one without milestones the player has seen.
+   * Looks at up to {@value #MAX_CLAIM_PROBES} pooled games and puts back the ones not taken.
+   *
+   * @param seen tells whether the player has probably seen a milestone
+   * @return the claimed game, or empty if the pool is disabled or ran empty
+   */
+  public Optional<PooledGame> claim(LongPredicate seen) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+
+    PooledGame game = games.poll();
+    if (game == null) {
+      emptyCounter.increment();
+      log.debug("Game pool empty, falling back to synchronous game creation");
+    } else if (seen != SeenMilestones.NOTHING_SEEN) {
+      game = claimLeastSeen(game, seen);
+    }
+    if (games.size() < lowWatermark) {
+      try {
+        producer.execute(this::refill);
+      } catch (RejectedExecutionException e) {
+        // The pool is shutting down; claims just find it empty from now on
+        log.debug("Game pool producer is shut down, not refilling");
+      }
+    }
+    return Optional.ofNullable(game);
+  }
+
+  private PooledGame claimLeastSeen(PooledGame first, LongPredicate seen) {
+    PooledGame best = first;
+    int bestSeen = SeenMilestones.countSeen(first.milestoneIds(), seen);
+    List<PooledGame> skipped = new ArrayList<>(MAX_CLAIM_PROBES);
+    for (int probe = 1; probe < MAX_CLAIM_PROBES && bestSeen > 0; probe++) {
+      PooledGame candidate = games.poll();
+      if (candidate == null) {
+        break;
+      }
+      int candidateSeen = SeenMilestones.countSeen(candidate.milestoneIds(), seen);
+      if (candidateSeen < bestSeen) {
+        skipped.add(best);
+        best = candidate;
+        bestSeen = candidateSeen;
+      } else {
+        skipped.add(candidate);
+      }
+    }
+    // Games that are not put back are still valid games, they just never get an attempt
+    skipped.forEach(games::offer);
+    return best;
+  }
+
+  /** Returns the number of games currently waiting in the pool. */
+  public int depth() {
+    return games.size();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      log.info("Game pool disabled");
+      return;
+    }
+    log.info(
+        "Starting game pool with low watermark {} and high watermark {}",
+        lowWatermark,
+        highWatermark);
+    producer.scheduleWithFixedDelay(
+        this::refill, 0, refillInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    producer.shutdownNow();
+  }
+
+  /** Tops the pool up to the high watermark once it has dropped below the low watermark. */
+  void refill() {
+    if (games.size() >= lowWatermark && games.size() > 0) {
+      return;
+    }
+    if (!refilling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      int produced = 0;
+      while (games.size() < highWatermark && !Thread.currentThread().isInterrupted()) {
+        CreatedGame created = gameFactory.createRandomGame();
+        if (!games.offer(
+            new PooledGame(created.game().getId(), created.slug(), created.milestoneIds()))) {
+          break;
+        }
+        producedCounter.increment();
+        produced++;
+      }
+      log.debug("Game pool refilled with {} games, depth now {}", produced, games.size());
+    } catch (RuntimeException e) {
+      log.warn("Game pool refill stopped: {}", e.getMessage());
+    } finally {
+      refilling.set(false);
+    }
+  }
+}
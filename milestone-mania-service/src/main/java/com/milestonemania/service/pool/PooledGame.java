@@ -0,0 +1,11 @@
+package com.milestonemania.service.pool;
+
+/**
+ * A ready-made game waiting in the {@link GamePool}. The game row and its milestones
+ * are already persisted; only an attempt needs to be created when it is claimed.
+ *
+ * @param gameId the persisted game ID
+ * @param slug the game slug
+ * @param milestoneIds the game's milestone IDs in correct order
+ */
+public record PooledGame(long gameId, String slug, long[] milestoneIds) {}
@@ -0,0 +1,136 @@
+package com.milestonemania.service.procedural;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.milestonemania.service.api.exception.GameNotFoundException;
+import com.milestonemania.service.api.exception.InsufficientMilestonesException;
+import com.milestonemania.service.catalog.CatalogSnapshot;
+import com.milestonemania.service.catalog.MilestoneCatalog;
+import com.milestonemania.service.seen.SeenMilestones;
+
+/**
+ * Procedural games: games identified by (catalog version, seed) instead of a game row.
+ * <p>
+ * The milestones and their correct order are derived by sampling the persisted catalog
+ * version with a {@link SeededRandom}, so creating, starting and submitting a procedural game
+ * never touches {@code game_milestones}. Resolution works for any procedural slug whose
+ * catalog version exists, even after the mode is switched off again; the mode only controls
+ * whether new games are handed out procedurally.
+ */
+@Component
+public class ProceduralGames {
+
+  private static final Logger log = LoggerFactory.getLogger(ProceduralGames.class);
+  private static final int MAX_SEED_PROBES = 8;
+
+  private final MilestoneCatalog milestoneCatalog;
+  private final boolean enabled;
+
+  public ProceduralGames(
+      MilestoneCatalog milestoneCatalog,
+      @Value("${milestone-mania.procedural-games.enabled:false}") boolean enabled) {
+    if (enabled && !milestoneCatalog.isEnabled()) {
+      throw new IllegalStateException("Procedural games require the in-memory milestone catalog");
+    }
+    this.milestoneCatalog = milestoneCatalog;
+    this.enabled = enabled;
+  }
+
+  /** Returns whether new unconstrained games are handed out as procedural games. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Draws a new procedural game from the current catalog version.
+   *
+   * @param count number of milestones in the game
+   * @return the game slug and its milestone IDs in correct order
+   * @throws InsufficientMilestonesException if the catalog has fewer than {@code count} dates
+   */
+  public ProceduralGame newGame(int count) {
+    return newGame(count, SeenMilestones.NOTHING_SEEN);
+  }
+
+  /**
+   * Draws a new procedural game, preferring milestones the player has not seen. The seed fixes
+   * the whole draw, so up to {@value #MAX_SEED_PROBES} seeds are tried and the game with the
+   * fewest seen milestones is kept.
+   *
+   * @param count number of milestones in the game
+   * @param seen tells whether the player has probably seen a milestone
+   * @return the game slug and its milestone IDs in correct order
+   * @throws InsufficientMilestonesException if the catalog has fewer than {@code count} dates
+   */
+  public ProceduralGame newGame(int count, LongPredicate seen) {
+    CatalogSnapshot current = milestoneCatalog.snapshot();
+    if (current.distinctDateCount() < count) {
+      throw InsufficientMilestonesException.notEnoughMilestones(current.distinctDateCount(), count);
+    }
+    if (current.getContentVersion() == 0) {
+      throw new IllegalStateException("Current catalog version has not been persisted");
+    }
+
+    ProceduralGame best = null;
+    int bestSeen = Integer.MAX_VALUE;
+    for (int probe = 0; probe < MAX_SEED_PROBES && bestSeen > 0; probe++) {
+      ProceduralSlug slug =
+          new ProceduralSlug(current.getContentVersion(), ThreadLocalRandom.current().nextLong());
+      long[] milestoneIds = draw(current, slug.seed(), count);
+      int seenCount = SeenMilestones.countSeen(milestoneIds, seen);
+      if (seenCount < bestSeen) {
+        best = new ProceduralGame(slug.toString(), milestoneIds);
+        bestSeen = seenCount;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Derives the milestones of a procedural game.
+   *
+   * @param slug any game slug
+   * @param count number of milestones in the game
+   * @return milestone IDs in correct order, or empty if the slug is not procedural
+   * @throws GameNotFoundException if the slug is procedural but its catalog version is unknown
+   */
+  public Optional<long[]> milestoneIds(String slug, int count) {
+    return ProceduralSlug.parse(slug)
+        .map(
+            parsed -> {
+              CatalogSnapshot snapshot =
+                  milestoneCatalog
+                      .snapshotForVersion(parsed.catalogVersion())
+                      .orElseThrow(
+                          () -> new GameNotFoundException("Game not found with slug: " + slug));
+              if (snapshot.distinctDateCount() < count) {
+                log.warn("Catalog version {} cannot back game {}", parsed.catalogVersion(), slug);
+                throw new GameNotFoundException("Game not found with slug: " + slug);
+              }
+              return draw(snapshot, parsed.seed(), count);
+            });
+  }
+
+  /**
+   * The milestone draw is part of the slug format: the same snapshot and seed must always
+   * give the same milestones.
+   */
+  private static long[] draw(CatalogSnapshot snapshot, long seed, int count) {
+    return snapshot.sample(count, new SeededRandom(seed));
+  }
+
+  /**
+   * A freshly drawn procedural game.
+   *
+   * @param slug the game slug
+   * @param milestoneIds milestone IDs in correct order
+   */
+  public record ProceduralGame(String slug, long[] milestoneIds) {}
+}
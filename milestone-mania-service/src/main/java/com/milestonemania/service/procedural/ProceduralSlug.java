@@ -0,0 +1,52 @@
+package com.milestonemania.service.procedural;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Slug of a procedural game: {@code p<catalogVersion>-<seed>}, both in base 36.
+ * <p>
+ * Word slugs always have at least three segments, so the two-segment procedural format can
+ * never collide with them.
+ *
+ * @param catalogVersion ID of the persisted catalog version the game is drawn from
+ * @param seed seed of the deterministic milestone draw
+ */
+public record ProceduralSlug(long catalogVersion, long seed) {
+
+  private static final Pattern FORMAT = Pattern.compile("p([0-9a-z]{1,13})-([0-9a-z]{1,13})");
+
+  /**
+   * Parses a slug if it has the procedural format.
+   *
+   * @param slug any game slug
+   * @return the parsed slug, or empty for word slugs, malformed and non-canonical input
+   */
+  public static Optional<ProceduralSlug> parse(String slug) {
+    Matcher matcher = FORMAT.matcher(slug);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    ProceduralSlug parsed;
+    try {
+      parsed =
+          new ProceduralSlug(
+              Long.parseLong(matcher.group(1), 36), Long.parseUnsignedLong(matcher.group(2), 36));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+    // Reject leading zeros, so each game has exactly one slug
+    return parsed.toString().equals(slug) ? Optional.of(parsed) : Optional.empty();
+  }
+
+  /** Returns whether the slug has the procedural format. */
+  public static boolean isProcedural(String slug) {
+    return parse(slug).isPresent();
+  }
+
+  @Override
+  public String toString() {
+    return "p" + Long.toString(catalogVersion, 36) + "-" + Long.toUnsignedString(seed, 36);
+  }
+}
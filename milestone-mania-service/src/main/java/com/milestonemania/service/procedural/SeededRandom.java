@@ -0,0 +1,37 @@
+package com.milestonemania.service.procedural;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64 generator with a fixed bounded-int algorithm.
+ * <p>
+ * Procedural games are re-derived from their seed on every request, possibly by another JVM
+ * version than the one that created them, so neither the generator nor the way bounded values
+ * are drawn may depend on JDK implementation details. Changing this class changes the
+ * milestones of every procedural game ever handed out.
+ */
+final class SeededRandom implements RandomGenerator {
+
+  private long state;
+
+  SeededRandom(long seed) {
+    this.state = seed;
+  }
+
+  @Override
+  public long nextLong() {
+    long z = (state += 0x9E3779B97F4A7C15L);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Multiply-shift reduction of the upper 32 bits; the bias is below 2^-12 for any catalog. */
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    return (int) (((nextLong() >>> 32) * bound) >>> 32);
+  }
+}
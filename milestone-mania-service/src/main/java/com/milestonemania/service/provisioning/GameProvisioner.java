@@ -0,0 +1,190 @@
+package com.milestonemania.service.provisioning;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.repository.provisioning.GameBatchWriter;
+import com.milestonemania.repository.provisioning.NewGame;
+import com.milestonemania.service.catalog.MilestoneCatalog;
+import com.milestonemania.service.dedup.GameDeduplicator;
+import com.milestonemania.service.dedup.GameFingerprint;
+import com.milestonemania.service.impl.GameFactory;
+import com.milestonemania.service.slug.SlugAllocator;
+
+/**
+ * Creates large numbers of games ahead of time, e.g. for tournaments and classrooms.
+ * <p>
+ * Unlike repeated {@code createNewGame} calls, which cost a transaction and several round trips
+ * per game, a run draws all milestone sets up front from the in-memory catalog, in parallel on
+ * a fork/join pool, and drops repeated sets so every game is distinct. Games are then written
+ * in chunks of {@code batch-size}: one slug reservation and one transaction with two JDBC
+ * batches per chunk. Progress is logged after every chunk. New games are registered with the
+ * {@link GameDeduplicator} like any other.
+ */
+@Component
+public class GameProvisioner {
+
+  private static final Logger log = LoggerFactory.getLogger(GameProvisioner.class);
+  private static final int SAMPLES_PER_TASK = 1024;
+  private static final int MAX_SAMPLING_ROUNDS = 10;
+
+  private final MilestoneCatalog milestoneCatalog;
+  private final SlugAllocator slugAllocator;
+  private final GameDeduplicator gameDeduplicator;
+  private final GameBatchWriter gameBatchWriter;
+  private final TransactionTemplate transaction;
+  private final int batchSize;
+  private final int parallelism;
+
+  public GameProvisioner(
+      MilestoneCatalog milestoneCatalog,
+      SlugAllocator slugAllocator,
+      GameDeduplicator gameDeduplicator,
+      GameBatchWriter gameBatchWriter,
+      PlatformTransactionManager transactionManager,
+      @Value("${milestone-mania.provisioning.batch-size:2000}") int batchSize,
+      @Value("${milestone-mania.provisioning.parallelism:0}") int parallelism) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Provisioning batch size must be positive");
+    }
+    this.milestoneCatalog = milestoneCatalog;
+    this.slugAllocator = slugAllocator;
+    this.gameDeduplicator = gameDeduplicator;
+    this.gameBatchWriter = gameBatchWriter;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Creates games with distinct random milestone sets.
+   *
+   * @param count the number of games
+   * @param committed receives the slugs of each chunk once its transaction has committed, so
+   *     the games of a run that fails later are still accounted for
+   * @return the slugs of the games and the run's duration
+   * @throws IllegalStateException if the catalog is disabled or has too few milestones for
+   *     that many distinct games
+   */
+  public ProvisioningResult provision(int count, Consumer<List<String>> committed) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Game count must be positive");
+    }
+    if (!milestoneCatalog.isEnabled()) {
+      throw new IllegalStateException("Provisioning requires the in-memory milestone catalog");
+    }
+    long start = System.nanoTime();
+    List<long[]> milestoneSets = sampleDistinct(count);
+    log.info(
+        "Drew {} distinct milestone sets on {} threads in {}",
+        count,
+        parallelism,
+        Duration.ofNanos(System.nanoTime() - start));
+
+    List<String> slugs = new ArrayList<>(count);
+    for (int from = 0; from < count; from += batchSize) {
+      List<long[]> chunk = milestoneSets.subList(from, Math.min(count, from + batchSize));
+      List<String> written = writeChunk(chunk);
+      committed.accept(written);
+      slugs.addAll(written);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      log.info(
+          "Provisioned {}/{} games ({}%), {} games/s",
+          slugs.size(), count, slugs.size() * 100 / count, Math.round(slugs.size() / seconds));
+    }
+    return new ProvisioningResult(slugs, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /** Draws milestone sets in parallel, redrawing for sets that came up more than once. */
+  private List<long[]> sampleDistinct(int count) {
+    Set<Long> fingerprints = new HashSet<>(count * 2);
+    List<long[]> distinct = new ArrayList<>(count);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      for (int round = 0; distinct.size() < count; round++) {
+        if (round == MAX_SAMPLING_ROUNDS) {
+          throw new IllegalStateException(
+              "Catalog has too few milestones for "
+                  + count
+                  + " distinct games, got "
+                  + distinct.size());
+        }
+        long[][] drawn = new long[count - distinct.size()][];
+        pool.invoke(new SampleTask(drawn, 0, drawn.length));
+        for (long[] milestoneIds : drawn) {
+          if (fingerprints.add(GameFingerprint.of(milestoneIds))) {
+            distinct.add(milestoneIds);
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return distinct;
+  }
+
+  private List<String> writeChunk(List<long[]> milestoneSets) {
+    List<String> slugs = slugAllocator.nextSlugs(milestoneSets.size());
+    LocalDateTime now = LocalDateTime.now();
+    List<NewGame> games = new ArrayList<>(milestoneSets.size());
+    for (int i = 0; i < milestoneSets.size(); i++) {
+      long[] milestoneIds = milestoneSets.get(i);
+      games.add(
+          new NewGame(
+              slugs.get(i),
+              GameFactory.gameName(slugs.get(i)),
+              now,
+              GameFingerprint.of(milestoneIds),
+              milestoneIds));
+    }
+
+    transaction.executeWithoutResult(
+        status -> {
+          long[] gameIds = gameBatchWriter.insertGames(games);
+          for (int i = 0; i < games.size(); i++) {
+            gameDeduplicator.register(games.get(i).fingerprint(), gameIds[i]);
+          }
+        });
+    return slugs;
+  }
+
+  /** Fills a range of the result array, splitting it in halves down to a fixed size. */
+  private final class SampleTask extends RecursiveAction {
+
+    private final long[][] target;
+    private final int from;
+    private final int to;
+
+    SampleTask(long[][] target, int from, int to) {
+      this.target = target;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SAMPLES_PER_TASK) {
+        for (int i = from; i < to; i++) {
+          target[i] = milestoneCatalog.sampleGame(GameFactory.MILESTONES_PER_GAME);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new SampleTask(target, from, middle), new SampleTask(target, middle, to));
+    }
+  }
+}
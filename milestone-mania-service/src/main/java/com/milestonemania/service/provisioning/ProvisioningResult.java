@@ -0,0 +1,24 @@
+package com.milestonemania.service.provisioning;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link GameProvisioner} run.
+ *
+ * @param slugs slugs of the created games, in creation order
+ * @param elapsed wall-clock time of the whole run
+ */
+public record ProvisioningResult(List<String> slugs, Duration elapsed) {
+
+  /** Returns the number of created games. */
+  public int games() {
+    return slugs.size();
+  }
+
+  /** Returns created games per second of the whole run. */
+  public double gamesPerSecond() {
+    long nanos = Math.max(1, elapsed.toNanos());
+    return games() * 1e9 / nanos;
+  }
+}
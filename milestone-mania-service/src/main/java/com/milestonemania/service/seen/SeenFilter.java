@@ -0,0 +1,162 @@
+package com.milestonemania.service.seen;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-size Bloom filter over milestone IDs.
+ * <p>
+ * Bit positions come from double hashing one 64-bit mix of the ID, so a lookup costs a single
+ * hash and {@code hashCount} word reads. The false-positive rate is estimated from the fraction
+ * of set bits rather than from an insertion count, which keeps the estimate right when a player
+ * is dealt the same milestone again. All methods synchronize on the filter, since concurrent
+ * requests of one player share it.
+ */
+final class SeenFilter {
+
+  private final long[] words;
+  private final int bitCount;
+  private final int hashCount;
+  private int generation;
+  private int setBits;
+
+  /**
+   * Creates an empty filter.
+   *
+   * @param bitCount number of bits, a positive multiple of 64
+   * @param hashCount number of bit positions per milestone
+   */
+  SeenFilter(int bitCount, int hashCount) {
+    this(new long[bitCount / Long.SIZE], hashCount, 0);
+  }
+
+  private SeenFilter(long[] words, int hashCount, int generation) {
+    this.words = words;
+    this.bitCount = words.length * Long.SIZE;
+    this.hashCount = hashCount;
+    this.generation = generation;
+    this.setBits = countSetBits(words);
+  }
+
+  /**
+   * Restores a filter from its persisted form.
+   *
+   * @param bits the persisted bits; must match {@code bitCount}
+   * @param hashCount number of bit positions per milestone
+   * @param generation the persisted generation
+   * @return the filter, or an empty filter of the current size if the persisted size differs
+   */
+  static SeenFilter fromBytes(byte[] bits, int bitCount, int hashCount, int generation) {
+    if (bits.length * Byte.SIZE != bitCount) {
+      // Filter size was reconfigured; hash positions are no longer comparable
+      SeenFilter resized = new SeenFilter(bitCount, hashCount);
+      resized.generation = generation + 1;
+      return resized;
+    }
+    long[] words = new long[bitCount / Long.SIZE];
+    ByteBuffer.wrap(bits).asLongBuffer().get(words);
+    return new SeenFilter(words, hashCount, generation);
+  }
+
+  /** Returns the bits in their persisted form. */
+  synchronized byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+    buffer.asLongBuffer().put(words);
+    return buffer.array();
+  }
+
+  synchronized int generation() {
+    return generation;
+  }
+
+  /**
+   * Returns whether the milestone may have been added. False positives happen at about
+   * {@link #falsePositiveRate()}; false negatives never do.
+   */
+  synchronized boolean mightContain(long milestoneId) {
+    long hash = mix(milestoneId);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      int bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  synchronized void add(long milestoneId) {
+    long hash = mix(milestoneId);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      int bit = Math.floorMod(h1 + i * h2, bitCount);
+      long mask = 1L << bit;
+      if ((words[bit >>> 6] & mask) == 0) {
+        words[bit >>> 6] |= mask;
+        setBits++;
+      }
+    }
+  }
+
+  /** Clears all bits and starts a new generation. */
+  synchronized void clear() {
+    Arrays.fill(words, 0L);
+    setBits = 0;
+    generation++;
+  }
+
+  /**
+   * Folds a persisted copy of this player's filter into this one: bits of the same generation
+   * are combined, a newer generation replaces these bits, an older one is ignored.
+   *
+   * @param other the persisted copy
+   */
+  synchronized void merge(SeenFilter other) {
+    long[] otherWords;
+    int otherGeneration;
+    synchronized (other) {
+      otherWords = other.words.clone();
+      otherGeneration = other.generation;
+    }
+    if (otherWords.length != words.length || otherGeneration < generation) {
+      return;
+    }
+    if (otherGeneration > generation) {
+      Arrays.fill(words, 0L);
+      generation = otherGeneration;
+    }
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= otherWords[i];
+    }
+    setBits = countSetBits(words);
+  }
+
+  synchronized boolean isEmpty() {
+    return setBits == 0;
+  }
+
+  /** Estimated probability that an unseen milestone is reported as seen. */
+  synchronized double falsePositiveRate() {
+    return Math.pow((double) setBits / bitCount, hashCount);
+  }
+
+  private static int countSetBits(long[] words) {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /** MurmurHash3 fmix64 finalizer. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
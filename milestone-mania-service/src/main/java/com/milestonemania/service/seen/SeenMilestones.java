@@ -0,0 +1,253 @@
+package com.milestonemania.service.seen;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.model.entity.PlayerSeenFilter;
+import com.milestonemania.repository.PlayerSeenFilterRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Remembers which milestones each player has been dealt, so new games can avoid repeats
+ * without reading the player's attempt history.
+ * <p>
+ * Each player has a {@link SeenFilter} of {@code bits-per-player} bits, stored as a small blob
+ * in {@code player_seen_filters}. Filters are loaded on first use into an LRU cache of
+ * {@code max-cached-players} entries, so memory is bounded by the product of the two. Changes
+ * are written back in the background every {@code flush-interval}; losing the last few seconds
+ * of a filter on a crash only makes a repeat slightly more likely.
+ * <p>
+ * The number of hash functions follows from {@code max-false-positive-rate}. Once a filter's
+ * estimated false-positive rate exceeds it, i.e. the player has seen roughly as many
+ * milestones as the filter was sized for, the filter is cleared and the player starts over.
+ * The estimated rate of the filters used for sampling is reported as
+ * {@code player.seen.filter.false.positive.rate}.
+ */
+@Component
+public class SeenMilestones {
+
+  /** Predicate for players without history, or when the filter is disabled. */
+  public static final LongPredicate NOTHING_SEEN = milestoneId -> false;
+
+  private static final Logger log = LoggerFactory.getLogger(SeenMilestones.class);
+
+  private final PlayerSeenFilterRepository playerSeenFilterRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate newTransaction;
+  private final boolean enabled;
+  private final int bitCount;
+  private final int hashCount;
+  private final double maxFalsePositiveRate;
+  private final Map<String, SeenFilter> cache;
+  private final Map<String, SeenFilter> dirty = new ConcurrentHashMap<>();
+
+  private final DistributionSummary falsePositiveRates;
+  private final Counter resetCounter;
+
+  public SeenMilestones(
+      PlayerSeenFilterRepository playerSeenFilterRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.seen-filter.enabled:true}") boolean enabled,
+      @Value("${milestone-mania.seen-filter.bits-per-player:8192}") int bitsPerPlayer,
+      @Value("${milestone-mania.seen-filter.max-false-positive-rate:0.05}")
+          double maxFalsePositiveRate,
+      @Value("${milestone-mania.seen-filter.max-cached-players:10000}") int maxCachedPlayers) {
+    if (bitsPerPlayer < Long.SIZE || maxFalsePositiveRate <= 0 || maxFalsePositiveRate >= 1) {
+      throw new IllegalArgumentException(
+          "Seen filter needs at least 64 bits per player and a false-positive rate in (0, 1)");
+    }
+    this.playerSeenFilterRepository = playerSeenFilterRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.enabled = enabled;
+    this.bitCount = bitsPerPlayer / Long.SIZE * Long.SIZE;
+    // Optimal hash count for a filter filled up to the target false-positive rate
+    this.hashCount = Math.max(1, (int) Math.round(-Math.log(maxFalsePositiveRate) / Math.log(2)));
+    this.maxFalsePositiveRate = maxFalsePositiveRate;
+    this.cache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, SeenFilter> eldest) {
+            // Dirty filters stay reachable through the dirty map until flushed
+            return size() > maxCachedPlayers;
+          }
+        };
+
+    this.falsePositiveRates =
+        DistributionSummary.builder("player.seen.filter.false.positive.rate")
+            .description("Estimated false-positive rate of the seen filters used for sampling")
+            .register(meterRegistry);
+    this.resetCounter =
+        Counter.builder("player.seen.filter.resets")
+            .description("Seen filters cleared after reaching the false-positive rate limit")
+            .register(meterRegistry);
+    Gauge.builder("player.seen.filter.cached", this, SeenMilestones::cachedCount)
+        .description("Player seen filters held in memory")
+        .register(meterRegistry);
+  }
+
+  /** Returns whether new games avoid milestones players have already seen. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns a predicate telling whether the player has probably been dealt a milestone.
+   * Loads the player's filter if it is not cached yet.
+   *
+   * @param playerName the player name; null for anonymous players, who have seen nothing
+   * @return predicate over milestone IDs; may report false positives, never false negatives
+   */
+  public LongPredicate seenBy(String playerName) {
+    if (!enabled || playerName == null) {
+      return NOTHING_SEEN;
+    }
+    SeenFilter filter = filterFor(playerName);
+    if (filter.isEmpty()) {
+      return NOTHING_SEEN;
+    }
+    falsePositiveRates.record(filter.falsePositiveRate());
+    return filter::mightContain;
+  }
+
+  /**
+   * Records that a player has been dealt the given milestones.
+   *
+   * @param playerName the player name; null for anonymous players, which records nothing
+   * @param milestoneIds the milestones of the game the player started
+   */
+  public void recordSeen(String playerName, long[] milestoneIds) {
+    if (!enabled || playerName == null) {
+      return;
+    }
+    SeenFilter filter = filterFor(playerName);
+    if (filter.falsePositiveRate() > maxFalsePositiveRate) {
+      filter.clear();
+      resetCounter.increment();
+      log.debug("Cleared seen filter of player {}", playerName);
+    }
+    for (long milestoneId : milestoneIds) {
+      filter.add(milestoneId);
+    }
+    dirty.put(playerName, filter);
+  }
+
+  /**
+   * Counts the milestones of a game the player has probably seen.
+   *
+   * @param milestoneIds the game's milestone IDs
+   * @param seen the player's seen predicate
+   * @return number of seen milestones
+   */
+  public static int countSeen(long[] milestoneIds, LongPredicate seen) {
+    int count = 0;
+    for (long milestoneId : milestoneIds) {
+      if (seen.test(milestoneId)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Writes changed filters back, merging changes made on other nodes in the meantime. */
+  @Scheduled(
+      fixedDelayString = "${milestone-mania.seen-filter.flush-interval:PT10S}",
+      initialDelayString = "${milestone-mania.seen-filter.flush-interval:PT10S}")
+  public void flush() {
+    int flushed = 0;
+    for (String playerName : dirty.keySet()) {
+      SeenFilter filter = dirty.remove(playerName);
+      if (filter == null) {
+        continue;
+      }
+      try {
+        newTransaction.executeWithoutResult(status -> write(playerName, filter));
+        flushed++;
+      } catch (RuntimeException e) {
+        // Typically a concurrent first insert by another node; retried on the next flush
+        log.warn("Could not write seen filter of player {}: {}", playerName, e.getMessage());
+        dirty.putIfAbsent(playerName, filter);
+      }
+    }
+    if (flushed > 0) {
+      log.debug("Flushed {} player seen filters", flushed);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (enabled) {
+      flush();
+    }
+  }
+
+  private void write(String playerName, SeenFilter filter) {
+    PlayerSeenFilter row =
+        playerSeenFilterRepository
+            .findByPlayerNameForUpdate(playerName)
+            .map(
+                stored -> {
+                  filter.merge(restore(stored));
+                  return stored;
+                })
+            .orElseGet(() -> new PlayerSeenFilter(playerName, null, 0, null));
+    row.setBits(filter.toBytes());
+    row.setGeneration(filter.generation());
+    row.setUpdatedAt(LocalDateTime.now());
+    playerSeenFilterRepository.save(row);
+  }
+
+  private SeenFilter filterFor(String playerName) {
+    synchronized (cache) {
+      SeenFilter cached = cache.get(playerName);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    SeenFilter pending = dirty.get(playerName);
+    SeenFilter loaded =
+        pending != null
+            ? pending
+            : readOnlyTransaction.execute(
+                status ->
+                    playerSeenFilterRepository
+                        .findById(playerName)
+                        .map(this::restore)
+                        .orElseGet(() -> new SeenFilter(bitCount, hashCount)));
+    synchronized (cache) {
+      // A concurrent request of the same player may have loaded it first
+      SeenFilter existing = cache.putIfAbsent(playerName, loaded);
+      return existing != null ? existing : loaded;
+    }
+  }
+
+  private SeenFilter restore(PlayerSeenFilter stored) {
+    return SeenFilter.fromBytes(stored.getBits(), bitCount, hashCount, stored.getGeneration());
+  }
+
+  private int cachedCount() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.milestonemania.service.slug;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.milestonemania.model.entity.SlugCounter;
+import com.milestonemania.repository.GameRepository;
+import com.milestonemania.repository.SlugCounterRepository;
+import com.milestonemania.service.util.SlugGenerator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Allocates game slugs that are unique by construction.
+ * <p>
+ * Each slug comes from a counter value {@code c}: the generation {@code c / spaceSize} selects
+ * a suffix segment ({@code "", "-2", "-3", ...}) and the offset {@code c % spaceSize} is sent
+ * through a keyed {@link KeyedPermutation} onto the "adverb-verb-animal" word space. Distinct
+ * counter values therefore give distinct slugs without checking the games table, and
+ * consecutive values still look random. Once a generation is used up, allocation moves on to
+ * the next suffix automatically.
+ * <p>
+ * Nodes reserve blocks of counter values from the shared {@link SlugCounter} row under a row
+ * lock and hand them out from memory, so several instances never allocate the same value and
+ * only one database round trip is needed per block. The next block is reserved on a background
+ * thread once half of the current one is handed out: game creation calls {@link #nextSlug}
+ * inside its transaction, and waiting there for a second connection could exhaust the pool.
+ * Callers only wait for a reservation when they use up a block before the next one arrives, and
+ * never while holding the allocator's monitor. Bulk creation reserves a block sized to the
+ * request instead, see {@link #nextSlugs}. Values left in a block at shutdown are skipped.
+ * When the counter row is first created in a database that already holds games with randomly
+ * drawn slugs, counting starts at the first suffix generation, which those legacy slugs can
+ * never occupy.
+ */
+@Component
+public class SlugAllocator {
+
+  private static final Logger log = LoggerFactory.getLogger(SlugAllocator.class);
+  private static final String GAME_COUNTER = "game";
+  private static final double OCCUPANCY_WARNING_THRESHOLD = 0.9;
+  private static final int MAX_COUNTER_CREATION_ATTEMPTS = 3;
+
+  private final SlugGenerator slugGenerator;
+  private final SlugCounterRepository slugCounterRepository;
+  private final GameRepository gameRepository;
+  private final TransactionTemplate newTransaction;
+  private final int blockSize;
+  private final long spaceSize;
+  private final Counter blocksCounter;
+  private final Executor reserver =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "slug-block-reserver");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private long next;
+  private long blockEnd;
+  private Block reservedBlock;
+  private CompletableFuture<Void> reservation;
+  private long permutationKey;
+  private long reservedUpTo;
+  private long permutationGeneration = -1;
+  private KeyedPermutation permutation;
+
+  public SlugAllocator(
+      SlugGenerator slugGenerator,
+      SlugCounterRepository slugCounterRepository,
+      GameRepository gameRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${milestone-mania.slugs.block-size:1000}") int blockSize) {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("Slug block size must be positive");
+    }
+    this.slugGenerator = slugGenerator;
+    this.slugCounterRepository = slugCounterRepository;
+    this.gameRepository = gameRepository;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.blockSize = blockSize;
+    this.spaceSize = slugGenerator.spaceSize();
+
+    Gauge.builder("game.slug.occupancy", this, SlugAllocator::occupancy)
+        .description("Fraction of the current slug generation reserved so far")
+        .register(meterRegistry);
+    Gauge.builder("game.slug.generation", this, SlugAllocator::generation)
+        .description("Current slug suffix generation (0 = no suffix)")
+        .register(meterRegistry);
+    this.blocksCounter =
+        Counter.builder("game.slug.blocks.reserved")
+            .description("Slug counter blocks reserved by this node")
+            .register(meterRegistry);
+  }
+
+  /** Reserves the first block ahead of the first game. */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void reserveFirstBlock() {
+    reserveAhead();
+  }
+
+  /**
+   * Allocates the next slug. Switches to the block reserved ahead when the current one is used
+   * up, waiting for its reservation if it is still running.
+   *
+   * @return a slug no other allocation returns
+   */
+  public String nextSlug() {
+    while (true) {
+      CompletableFuture<Void> pending;
+      synchronized (this) {
+        if (next == blockEnd && reservedBlock != null) {
+          next = reservedBlock.start();
+          blockEnd = reservedBlock.end();
+          reservedBlock = null;
+          log.debug("Switched to slug counter block [{}, {})", next, blockEnd);
+        }
+        if (next < blockEnd) {
+          String slug = slugAt(next++);
+          if (blockEnd - next <= blockSize / 2) {
+            reserveAhead();
+          }
+          return slug;
+        }
+        pending = reserveAhead();
+      }
+      await(pending);
+    }
+  }
+
+  /**
+   * Allocates many slugs with one reservation of exactly that many counter values, leaving the
+   * node's current block to {@link #nextSlug}. Reserves in the caller's thread, so it must be
+   * called outside a transaction.
+   *
+   * @param count the number of slugs
+   * @return distinct slugs no other allocation returns
+   */
+  public List<String> nextSlugs(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Slug count must be positive");
+    }
+    Block block = reserve(count);
+    synchronized (this) {
+      List<String> slugs = new ArrayList<>(count);
+      for (long counter = block.start(); counter < block.end(); counter++) {
+        slugs.add(slugAt(counter));
+      }
+      return slugs;
+    }
+  }
+
+  /** Returns the fraction of the current generation reserved cluster-wide, as seen here. */
+  synchronized double occupancy() {
+    return reservedUpTo == 0 ? 0.0 : (double) (reservedUpTo % spaceSize) / spaceSize;
+  }
+
+  synchronized long generation() {
+    return reservedUpTo / spaceSize;
+  }
+
+  private String slugAt(long counter) {
+    long generation = counter / spaceSize;
+    int index = (int) permutationFor(generation).apply(counter % spaceSize);
+
+    String slug = slugGenerator.slugAt(index);
+    return generation == 0 ? slug : slug + "-" + (generation + 1);
+  }
+
+  private KeyedPermutation permutationFor(long generation) {
+    if (generation != permutationGeneration) {
+      permutation = new KeyedPermutation(spaceSize, permutationKey ^ generation);
+      permutationGeneration = generation;
+    }
+    return permutation;
+  }
+
+  /**
+   * Starts reserving the next block on the background thread unless one is already reserved or
+   * being reserved. Must hold the monitor.
+   *
+   * @return completes once a block is reserved or the reservation failed
+   */
+  private CompletableFuture<Void> reserveAhead() {
+    if (reservedBlock != null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    if (reservation == null) {
+      reservation = CompletableFuture.runAsync(this::reserveBlock, reserver);
+    }
+    return reservation;
+  }
+
+  private void reserveBlock() {
+    Block block = null;
+    try {
+      block = reserve(blockSize);
+      log.debug("Reserved slug counter block [{}, {})", block.start(), block.end());
+    } finally {
+      // Published before the reservation completes, so a waiting caller finds the block
+      synchronized (this) {
+        reservedBlock = block;
+        reservation = null;
+      }
+    }
+  }
+
+  private static void await(CompletableFuture<Void> pending) {
+    try {
+      pending.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /** Reserves counter values from the shared row. Must not hold the monitor. */
+  private Block reserve(int size) {
+    SlugCounter counter = null;
+    for (int attempt = 1; counter == null; attempt++) {
+      try {
+        counter = newTransaction.execute(status -> reserveInTransaction(size));
+      } catch (DataIntegrityViolationException e) {
+        // Another node created the counter row concurrently; lock the existing row instead
+        if (attempt == MAX_COUNTER_CREATION_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+
+    blocksCounter.increment();
+    synchronized (this) {
+      reservedUpTo = Math.max(reservedUpTo, counter.getNextValue());
+      if (permutationKey != counter.getPermutationKey()) {
+        permutationKey = counter.getPermutationKey();
+        permutationGeneration = -1;
+      }
+      if (occupancy() >= OCCUPANCY_WARNING_THRESHOLD) {
+        log.warn(
+            "Slug generation {} is {}% reserved; new games will soon get suffix -{}",
+            generation(), Math.round(occupancy() * 100), generation() + 2);
+      }
+    }
+    return new Block(counter.getNextValue() - size, counter.getNextValue());
+  }
+
+  private SlugCounter reserveInTransaction(int size) {
+    SlugCounter counter =
+        slugCounterRepository.findByNameForUpdate(GAME_COUNTER).orElseGet(this::createGameCounter);
+    counter.setNextValue(counter.getNextValue() + size);
+    return counter;
+  }
+
+  private SlugCounter createGameCounter() {
+    long initialValue = gameRepository.count() > 0 ? spaceSize : 0L;
+    log.info("Creating slug counter starting at generation {}", initialValue / spaceSize);
+    return slugCounterRepository.saveAndFlush(
+        new SlugCounter(GAME_COUNTER, initialValue, new SecureRandom().nextLong()));
+  }
+
+  /** Counter values {@code [start, end)} reserved for this node. */
+  private record Block(long start, long end) {}
+}
@@ -1,19 +1,21 @@
 package com.milestonemania.service.util;
 
-import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 
 /**
- * Utility class for generating unique game slugs in "adverb-verb-animal" format.
+ * Word space for game slugs in "adverb-verb-animal" format.
+ * <p>
+ * Every index in {@code [0, spaceSize())} maps to exactly one slug, so unique indexes give
+ * unique slugs; see {@link com.milestonemania.service.slug.SlugAllocator}. The word lists are
+ * part of that mapping: reordering, removing or inserting words would map already issued
+ * indexes to different slugs, so the space is extended with numeric suffix generations instead.
  */
 @Component
 public class SlugGenerator {
 
-  private final SecureRandom random = new SecureRandom();
-
   private static final List<String> ADVERBS =
       Arrays.asList(
           "boldly",
@@ -73,13 +75,10 @@ public class SlugGenerator {
           "energetically",
           "enthusiastically",
           "graciously",
-          "magnificently",
           "marvelously",
           "spectacularly",
           "triumphantly",
-          "victoriously"
-          // Add more adverbs to reach 500...
-          );
+          "victoriously");
 
   private static final List<String> VERBS =
       Arrays.asList(
@@ -146,9 +145,7 @@ public class SlugGenerator {
           "guiding",
           "leading",
           "following",
-          "cooperating"
-          // Add more verbs to reach 500...
-          );
+          "cooperating");
 
   private static final List<String> ANIMALS =
       Arrays.asList(
@@ -215,20 +212,32 @@ public class SlugGenerator {
           "crane",
           "stork",
           "pelican",
-          "albatross"
-          // Add more animals to reach 500...
-          );
+          "albatross");
+
+  /**
+   * Returns the number of distinct slugs in the word space.
+   *
+   * @return adverbs x verbs x animals
+   */
+  public int spaceSize() {
+    return ADVERBS.size() * VERBS.size() * ANIMALS.size();
+  }
 
   /**
-   * Generates a random slug in "adverb-verb-animal" format.
+   * Returns the slug at the given index of the word space.
    *
-   * @return a randomly generated slug
+   * @param index position in {@code [0, spaceSize())}
+   * @return the slug in "adverb-verb-animal" format
    */
-  public String generateSlug() {
-    String adverb = ADVERBS.get(random.nextInt(ADVERBS.size()));
-    String verb = VERBS.get(random.nextInt(VERBS.size()));
-    String animal = ANIMALS.get(random.nextInt(ANIMALS.size()));
+  public String slugAt(int index) {
+    if (index < 0 || index >= spaceSize()) {
+      throw new IllegalArgumentException("Slug index out of range: " + index);
+    }
+    int animal = index % ANIMALS.size();
+    int rest = index / ANIMALS.size();
+    int verb = rest % VERBS.size();
+    int adverb = rest / VERBS.size();
 
-    return adverb + "-" + verb + "-" + animal;
+    return ADVERBS.get(adverb) + "-" + VERBS.get(verb) + "-" + ANIMALS.get(animal);
   }
 }
@@ -0,0 +1,111 @@
+package com.milestonemania.service.attempt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Allocation and latency benchmark for checking a submission against its game.
+ * <p>
+ * Compares the boxed check that {@link AnswerKey} replaced (the submitted IDs bound as a
+ * {@code List<Long>}, the correct order rebuilt as a list, {@code containsAll} both ways,
+ * {@code equals}, and both lists copied to arrays again for the difficulty ratings) with
+ * {@link AnswerKey#check}. Reports bytes allocated and nanoseconds per submission, measured on
+ * the current thread. Disabled by default; run with:
+ *
+ * <pre>
+ * mvn -pl milestone-mania-service test -Dtest=AnswerKeyBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AnswerKeyBenchmarkTest {
+
+  private static final int GAME_SIZE = 5;
+  private static final int GAMES = 1024;
+
+  private final int warmupIterations = Integer.getInteger("benchmark.warmup", 2_000_000);
+  private final int measuredIterations = Integer.getInteger("benchmark.iterations", 5_000_000);
+
+  @Test
+  void reportAllocationPerSubmission() {
+    SplittableRandom random = new SplittableRandom(42);
+    long[][] correctOrders = new long[GAMES][];
+    long[][] submissions = new long[GAMES][];
+    AnswerKey[] keys = new AnswerKey[GAMES];
+    for (int game = 0; game < GAMES; game++) {
+      // Time-ordered IDs are far outside the Long.valueOf cache
+      correctOrders[game] = random.longs(GAME_SIZE, 1L << 40, 1L << 52).toArray();
+      keys[game] = new AnswerKey(correctOrders[game]);
+      submissions[game] = correctOrders[game].clone();
+      if (game % 2 == 1) {
+        // Every other submission swaps two milestones
+        long first = submissions[game][0];
+        submissions[game][0] = submissions[game][GAME_SIZE - 1];
+        submissions[game][GAME_SIZE - 1] = first;
+      }
+    }
+    for (int game = 0; game < GAMES; game++) {
+      assertThat(keys[game].check(submissions[game]))
+          .isEqualTo(boxedCheck(correctOrders[game], submissions[game]) == 1);
+    }
+
+    System.out.printf(Locale.ROOT, "%n== Submission check, %d milestones per game ==%n", GAME_SIZE);
+    measure("List<Long> containsAll", game -> boxedCheck(correctOrders[game], submissions[game]));
+    measure("AnswerKey.check", game -> keys[game].check(submissions[game]) ? 1 : 0);
+  }
+
+  private void measure(String name, IntUnaryOperator check) {
+    run(check, warmupIterations);
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+    long started = System.nanoTime();
+    int correct = run(check, measuredIterations);
+    long elapsed = System.nanoTime() - started;
+    long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    System.out.printf(
+        Locale.ROOT,
+        "%-24s %8.1f bytes/op %8.1f ns/op (%d correct)%n",
+        name,
+        (double) allocated / measuredIterations,
+        (double) elapsed / measuredIterations,
+        correct);
+  }
+
+  private static int run(IntUnaryOperator check, int iterations) {
+    int correct = 0;
+    for (int i = 0; i < iterations; i++) {
+      correct += check.applyAsInt(i & (GAMES - 1));
+    }
+    return correct;
+  }
+
+  /** The check before answer keys; returns 1 if correct, throws on a mismatch. */
+  private static int boxedCheck(long[] correctOrder, long[] submission) {
+    // What request binding and AttemptSession.correctOrder() produced
+    List<Long> submittedIds = new ArrayList<>(submission.length);
+    for (long id : submission) {
+      submittedIds.add(id);
+    }
+    List<Long> expectedIds = new ArrayList<>(correctOrder.length);
+    for (long id : correctOrder) {
+      expectedIds.add(id);
+    }
+    if (!submittedIds.containsAll(expectedIds) || !expectedIds.containsAll(submittedIds)) {
+      throw new IllegalStateException("Submitted milestone IDs do not match the game milestones");
+    }
+    boolean correct = submittedIds.equals(expectedIds);
+    // DifficultyRatings.record copied both lists back to arrays
+    long[] correctCopy = expectedIds.stream().mapToLong(Long::longValue).toArray();
+    long[] submittedCopy = submittedIds.stream().mapToLong(Long::longValue).toArray();
+    return correct && correctCopy.length == submittedCopy.length ? 1 : 0;
+  }
+}
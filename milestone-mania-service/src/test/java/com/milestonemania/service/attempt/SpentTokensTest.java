@@ -0,0 +1,92 @@
+package com.milestonemania.service.attempt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SpentTokensTest {
+
+  private static final long RETENTION = 1_000;
+  private static final long START = 5_000;
+
+  private final SpentTokens spentTokens = new SpentTokens(1 << 16, 8, RETENTION, START);
+
+  @Test
+  void spend_ShouldAcceptFirstSubmissionAndRejectReplay() {
+    // When / Then
+    assertThat(spentTokens.spend(42, 1, START)).isTrue();
+    assertThat(spentTokens.spend(42, 1, START + 1)).isFalse();
+    assertThat(spentTokens.spend(42, 2, START + 2)).isTrue();
+    assertThat(spentTokens.spend(43, 1, START + 3)).isTrue();
+  }
+
+  @Test
+  void spend_ShouldRejectReplayFromPreviousGeneration() {
+    // Given
+    spentTokens.spend(42, 1, START);
+
+    // When: one rotation moves the token into the previous generation
+    boolean replayed = spentTokens.spend(42, 1, START + RETENTION);
+
+    // Then
+    assertThat(replayed).isFalse();
+  }
+
+  @Test
+  void spend_ShouldKeepReplayedTokenForAnotherGeneration() {
+    // Given
+    spentTokens.spend(42, 1, START);
+    spentTokens.spend(42, 1, START + RETENTION);
+
+    // When: the replay copied it into the current generation before the next rotation
+    boolean replayed = spentTokens.spend(42, 1, START + 2 * RETENTION);
+
+    // Then
+    assertThat(replayed).isFalse();
+  }
+
+  @Test
+  void spend_ShouldForgetTokenAfterTwoRotations() {
+    // Given
+    spentTokens.spend(42, 1, START);
+    spentTokens.spend(7, 1, START + RETENTION);
+
+    // When
+    boolean fresh = spentTokens.spend(42, 1, START + 2 * RETENTION);
+
+    // Then
+    assertThat(fresh).isTrue();
+  }
+
+  @Test
+  void spend_ShouldClearBothGenerationsAfterIdlingTwoPeriods() {
+    // Given
+    spentTokens.spend(42, 1, START);
+    spentTokens.spend(43, 1, START + RETENTION - 1);
+
+    // When: the next spend comes two periods after the last rotation
+    boolean fresh = spentTokens.spend(43, 1, START + 2 * RETENTION);
+
+    // Then
+    assertThat(fresh).isTrue();
+    assertThat(spentTokens.spend(42, 1, START + 2 * RETENTION + 1)).isTrue();
+  }
+
+  @Test
+  void falsePositiveRate_ShouldGrowWithSpentTokensAndDropAfterRotations() {
+    // Given
+    assertThat(spentTokens.falsePositiveRate()).isZero();
+    for (int attempt = 0; attempt < 2_000; attempt++) {
+      spentTokens.spend(attempt, 1, START);
+    }
+
+    // When
+    double filled = spentTokens.falsePositiveRate();
+    spentTokens.spend(0, 2, START + 2 * RETENTION);
+    double idled = spentTokens.falsePositiveRate();
+
+    // Then
+    assertThat(filled).isPositive().isLessThan(0.01);
+    assertThat(idled).isLessThan(filled);
+  }
+}
@@ -0,0 +1,82 @@
+package com.milestonemania.service.attempt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+  /** 63 slots of the top level, each spanning 64³ ticks. */
+  private static final long MAX_DELAY = 63L << 18;
+
+  @Test
+  void advance_ShouldFireItemsAtDeadlineAfterCascadingAcrossLevels() {
+    // Given: a start just short of level boundaries, so deadlines cross into higher digits
+    long start = (1L << 18) - 70;
+    TimingWheel<Long> wheel = new TimingWheel<>(start);
+    List<Long> delays = List.of(1L, 63L, 64L, 65L, 70L, 4095L, 4096L, 4097L, 262_144L, 300_000L);
+    for (long delay : delays) {
+      wheel.schedule(start + delay, start + delay);
+    }
+
+    // When
+    Map<Long, Long> firedAt = new HashMap<>();
+    for (long tick = start + 1; tick <= start + 300_000; tick++) {
+      for (long item : wheel.advance(tick)) {
+        firedAt.put(item, tick);
+      }
+    }
+
+    // Then
+    assertThat(firedAt).hasSize(delays.size());
+    firedAt.forEach((deadline, tick) -> assertThat(tick).as("deadline").isEqualTo(deadline));
+  }
+
+  @Test
+  void advance_ShouldFireAllPassedDeadlinesInOneCall() {
+    // Given
+    TimingWheel<String> wheel = new TimingWheel<>(0);
+    wheel.schedule("soon", 10);
+    wheel.schedule("later", 5_000);
+    wheel.schedule("after", 5_001);
+
+    // When
+    List<String> due = wheel.advance(5_000);
+
+    // Then
+    assertThat(due).containsExactly("soon", "later");
+    assertThat(wheel.advance(5_001)).containsExactly("after");
+  }
+
+  @Test
+  void schedule_ShouldFirePastDeadlineAtNextTick() {
+    // Given
+    TimingWheel<String> wheel = new TimingWheel<>(100);
+
+    // When
+    wheel.schedule("overdue", 40);
+
+    // Then
+    assertThat(wheel.advance(100)).isEmpty();
+    assertThat(wheel.advance(101)).containsExactly("overdue");
+  }
+
+  @Test
+  void schedule_ShouldCapDeadlineBeyondWheelAndFireEarly() {
+    // Given
+    long start = 12_345;
+    TimingWheel<String> wheel = new TimingWheel<>(start);
+
+    // When
+    wheel.schedule("far", start + MAX_DELAY * 10);
+
+    // Then: handed back at the cap, for the caller to schedule again
+    assertThat(wheel.advance(start + MAX_DELAY - 1)).isEmpty();
+    assertThat(wheel.advance(start + MAX_DELAY)).containsExactly("far");
+    assertThat(wheel.advance(start + MAX_DELAY * 10)).isEmpty();
+  }
+}
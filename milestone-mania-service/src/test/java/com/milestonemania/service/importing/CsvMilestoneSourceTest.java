@@ -0,0 +1,116 @@
+package com.milestonemania.service.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.milestonemania.repository.importing.NewMilestone;
+
+class CsvMilestoneSourceTest {
+
+  @Test
+  void next_ShouldReadQuotedFieldSpanningLines() throws IOException {
+    // Given
+    CsvMilestoneSource source =
+        source(
+            "title,date,description\r\n"
+                + "\"Moon landing\",1969-07-20,\"One small step,\n"
+                + "for man\"\r\n");
+
+    // When
+    NewMilestone milestone = source.next();
+
+    // Then
+    assertThat(milestone.title()).isEqualTo("Moon landing");
+    assertThat(milestone.actualDate()).isEqualTo(LocalDate.of(1969, 7, 20));
+    assertThat(milestone.description()).isEqualTo("One small step,\nfor man");
+    assertThat(source.next()).isNull();
+  }
+
+  @Test
+  void next_ShouldUnescapeDoubledQuotes() throws IOException {
+    // Given
+    CsvMilestoneSource source = source("title,date\n\"The \"\"Eagle\"\" has landed\",1969-07-20\n");
+
+    // When
+    NewMilestone milestone = source.next();
+
+    // Then
+    assertThat(milestone.title()).isEqualTo("The \"Eagle\" has landed");
+  }
+
+  @Test
+  void next_ShouldSkipBlankLinesAndCountOnlyRecords() throws IOException {
+    // Given
+    CsvMilestoneSource source =
+        source(
+            "title,date,tags\n\nFirst flight,1903-12-17,Aviation|aviation| Firsts\n\r\n\n"
+                + "Sputnik,1957-10-04,\n");
+
+    // When
+    NewMilestone first = source.next();
+    NewMilestone second = source.next();
+
+    // Then
+    assertThat(first.title()).isEqualTo("First flight");
+    assertThat(first.tags()).isEqualTo(List.of("aviation", "firsts"));
+    assertThat(second.title()).isEqualTo("Sputnik");
+    assertThat(second.tags()).isEmpty();
+    assertThat(source.next()).isNull();
+    assertThat(source.position()).isEqualTo(2);
+  }
+
+  @Test
+  void next_ShouldReadLastRecordWithoutTrailingNewline() throws IOException {
+    // Given
+    CsvMilestoneSource source = source("actual_date,title\n1957-10-04,Sputnik");
+
+    // When
+    NewMilestone milestone = source.next();
+
+    // Then
+    assertThat(milestone.title()).isEqualTo("Sputnik");
+    assertThat(source.next()).isNull();
+  }
+
+  @Test
+  void next_ShouldRejectUnterminatedQuote() throws IOException {
+    // Given
+    CsvMilestoneSource source =
+        source("title,date\nSputnik,1957-10-04\n\"Never closed,1969-07-20\n");
+    source.next();
+
+    // When / Then
+    assertThatThrownBy(source::next)
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Unterminated quoted field in CSV record 2");
+  }
+
+  @Test
+  void next_ShouldMovePastInvalidRecord() throws IOException {
+    // Given
+    CsvMilestoneSource source = source("title,date\nSputnik,October 1957\nApollo 11,1969-07-20\n");
+
+    // When / Then
+    assertThatThrownBy(source::next).isInstanceOf(IllegalArgumentException.class);
+    assertThat(source.next().title()).isEqualTo("Apollo 11");
+    assertThat(source.position()).isEqualTo(2);
+  }
+
+  @Test
+  void constructor_ShouldRejectHeaderWithoutDate() {
+    assertThatThrownBy(() -> source("title,description\nSputnik,First satellite\n"))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("title and date");
+  }
+
+  private static CsvMilestoneSource source(String csv) throws IOException {
+    return new CsvMilestoneSource(new StringReader(csv));
+  }
+}
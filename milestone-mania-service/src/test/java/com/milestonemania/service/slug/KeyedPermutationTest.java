@@ -0,0 +1,62 @@
+package com.milestonemania.service.slug;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeyedPermutationTest {
+
+  private static final long[] KEYS = {0L, 1L, -1L, 0x5DEECE66DL, Long.MIN_VALUE};
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3, 4, 5, 17, 64, 65, 100, 1_000, 4_097})
+  void apply_ShouldMapDomainOntoItselfWithoutCollisions(long domainSize) {
+    for (long key : KEYS) {
+      // Given: sizes just above a power of four make most encryptions land outside the domain
+      KeyedPermutation permutation = new KeyedPermutation(domainSize, key);
+      BitSet hit = new BitSet((int) domainSize);
+
+      // When
+      for (long value = 0; value < domainSize; value++) {
+        long permuted = permutation.apply(value);
+
+        // Then: cycle-walking only ever returns values inside the domain, each once
+        assertThat(permuted).isBetween(0L, domainSize - 1);
+        assertThat(hit.get((int) permuted)).as("collision for key %d", key).isFalse();
+        hit.set((int) permuted);
+      }
+      assertThat(hit.cardinality()).isEqualTo((int) domainSize);
+    }
+  }
+
+  @Test
+  void apply_ShouldPermuteDifferentlyPerKey() {
+    // Given
+    KeyedPermutation first = new KeyedPermutation(1_000, 1);
+    KeyedPermutation second = new KeyedPermutation(1_000, 2);
+
+    // When
+    int differing = 0;
+    for (long value = 0; value < 1_000; value++) {
+      if (first.apply(value) != second.apply(value)) {
+        differing++;
+      }
+    }
+
+    // Then
+    assertThat(differing).isGreaterThan(900);
+  }
+
+  @Test
+  void apply_ShouldRejectValueOutsideDomain() {
+    KeyedPermutation permutation = new KeyedPermutation(10, 42);
+
+    assertThatThrownBy(() -> permutation.apply(10)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> permutation.apply(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}